@@ -2,12 +2,18 @@ package com.frontdash.backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class FrontdashBackendApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(FrontdashBackendApplication.class, args);
+		SpringApplication app = new SpringApplication(FrontdashBackendApplication.class);
+		// Records startup steps so StartupTimingsReporter can print per-phase timings
+		app.setApplicationStartup(new BufferingApplicationStartup(8192));
+		app.run(args);
 	}
 
 }
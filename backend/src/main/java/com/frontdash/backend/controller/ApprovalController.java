@@ -2,11 +2,14 @@ package com.frontdash.backend.controller;
 
 import com.frontdash.backend.entity.ApprovalDecisionRequest;
 import com.frontdash.backend.entity.ApprovalRequest;
+import com.frontdash.backend.entity.BulkApprovalDecisionRequest;
 import com.frontdash.backend.service.ApprovalService;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
+@Lazy
 @RequestMapping("/api/approval")
 @CrossOrigin
 public class ApprovalController {
@@ -23,8 +26,42 @@ public class ApprovalController {
         return ResponseEntity.ok(service.decide(req.restaurantId, req.status, req.adminId));
     }
 
+    // Same decision for many restaurants; each one's outcome is reported, refused ones do not stop the rest
+    @PostMapping("/decide/bulk")
+    public ResponseEntity<?> decideBulk(@RequestBody BulkApprovalDecisionRequest req) {
+        try {
+            return ResponseEntity.ok(service.decideAll(req.restaurantIds, req.status, req.adminId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error deciding registrations: " + e.getMessage());
+        }
+    }
+
+    // Oldest pending requests first, as a plain list (the admin dashboards); see /queue for paging
     @GetMapping("/pending")
-    public ResponseEntity<?> pending() {
-        return ResponseEntity.ok(service.getPending());
+    public ResponseEntity<?> pending(@RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > 500) {
+            return ResponseEntity.badRequest().body("limit must be between 1 and 500");
+        }
+        return ResponseEntity.ok(service.getPending(limit));
+    }
+
+    // Keyset-paginated pending queue, oldest first: pass nextCursor from the previous page as "after"
+    @GetMapping("/queue")
+    public ResponseEntity<?> queue(@RequestParam(required = false) String after,
+                                   @RequestParam(defaultValue = "50") int size) {
+        if (size < 1 || size > 500) {
+            return ResponseEntity.badRequest().body("size must be between 1 and 500");
+        }
+        try {
+            return ResponseEntity.ok(service.getPendingPage(after, size));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Pending requests by time waiting, from memory
+    @GetMapping("/queue/stats")
+    public ResponseEntity<?> queueStats() {
+        return ResponseEntity.ok(service.getQueueStats());
     }
 }
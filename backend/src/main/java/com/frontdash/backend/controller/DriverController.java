@@ -2,16 +2,29 @@ package com.frontdash.backend.controller;
 
 import com.frontdash.backend.entity.CreateDriverRequest;
 import com.frontdash.backend.entity.InactivateRequest;
+import com.frontdash.backend.service.BulkOnboardingService;
+import com.frontdash.backend.service.BulkOnboardingService.BulkResult;
 import com.frontdash.backend.service.DriverService;
+import com.frontdash.backend.service.MenuImportService.Format;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+
 @RestController
+@Lazy
 @RequestMapping("/api/drivers")
 @CrossOrigin
 public class DriverController {
     private final DriverService service;
-    public DriverController(DriverService service) { this.service = service; }
+    private final BulkOnboardingService bulkService;
+    public DriverController(DriverService service, BulkOnboardingService bulkService) {
+        this.service = service;
+        this.bulkService = bulkService;
+    }
 
     @PostMapping
     public ResponseEntity<?> create(@RequestBody CreateDriverRequest req) {
@@ -22,4 +35,28 @@ public class DriverController {
     public ResponseEntity<?> inactivate(@RequestBody InactivateRequest req) {
         return ResponseEntity.ok(service.inactivate(req.id));
     }
+
+    // Bulk onboarding: CSV with a header row or a JSON array of the same fields; answers with per-row outcomes
+    @PostMapping(value = "/bulk", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> bulkCreate(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+        try {
+            BulkResult result = bulkService.createDrivers(body, Format.of(contentType));
+            // Malformed upload: the rows before it were applied and are in the result
+            return result.error() == null ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error creating drivers: " + e.getMessage());
+        }
+    }
+
+    // Bulk inactivation: one "id" per row
+    @PostMapping(value = "/bulk/inactivate", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> bulkInactivate(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+        try {
+            BulkResult result = bulkService.inactivateDrivers(body, Format.of(contentType));
+            // Malformed upload: the rows before it were applied and are in the result
+            return result.error() == null ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error inactivating drivers: " + e.getMessage());
+        }
+    }
 }
@@ -0,0 +1,74 @@
+package com.frontdash.backend.controller;
+
+import com.frontdash.backend.entity.DriverLocationUpdate;
+import com.frontdash.backend.entity.GeoPoint;
+import com.frontdash.backend.service.DriverLocationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/drivers")
+@CrossOrigin
+public class DriverLocationController {
+    private static final int MAX_BATCH = 10_000;
+
+    private final DriverLocationService service;
+
+    public DriverLocationController(DriverLocationService service) {
+        this.service = service;
+    }
+
+    // Position report from a driver's device, every few seconds while on shift
+    @PostMapping("/{driverId}/location")
+    public ResponseEntity<?> report(@PathVariable String driverId, @RequestBody DriverLocationUpdate update) {
+        try {
+            update.driverId = driverId;
+            service.record(update);
+            return ResponseEntity.noContent().build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error recording location: " + e.getMessage());
+        }
+    }
+
+    // Many reports in one request (e.g. from a fleet gateway); bad rows are listed, the rest are kept
+    @PostMapping("/locations")
+    public ResponseEntity<?> reportMany(@RequestBody List<DriverLocationUpdate> updates) {
+        if (updates.size() > MAX_BATCH) {
+            return ResponseEntity.badRequest().body("Error: at most " + MAX_BATCH + " locations per request");
+        }
+        List<Map<String, Object>> rejected = new ArrayList<>();
+        for (int i = 0; i < updates.size(); i++) {
+            try {
+                service.record(updates.get(i));
+            } catch (RuntimeException e) {
+                rejected.add(Map.of("index", i, "error", String.valueOf(e.getMessage())));
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("accepted", updates.size() - rejected.size());
+        result.put("rejected", rejected);
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/{driverId}/location")
+    public ResponseEntity<?> latest(@PathVariable String driverId) {
+        return service.latest(driverId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Closest active drivers not on an order, e.g. /api/drivers/nearest?lat=42.35&lng=-71.06&limit=5
+    @GetMapping("/nearest")
+    public ResponseEntity<?> nearest(@RequestParam double lat, @RequestParam double lng,
+                                     @RequestParam(defaultValue = "5") int limit) {
+        if (!(lat >= -90 && lat <= 90) || !(lng >= -180 && lng <= 180) || limit < 1 || limit > 100) {
+            return ResponseEntity.badRequest().body("Error: lat/lng out of range or limit not in 1-100");
+        }
+        return ResponseEntity.ok(service.nearestAvailable(new GeoPoint(lat, lng), limit));
+    }
+}
@@ -0,0 +1,171 @@
+package com.frontdash.backend.controller;
+
+import com.frontdash.backend.service.ImageStore;
+import com.frontdash.backend.service.ImageStore.ImageFile;
+import com.frontdash.backend.service.ImageStore.StoredImage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/images")
+@CrossOrigin(origins = "http://localhost:5173")
+public class ImageController {
+
+    // Content-addressed files never change, so clients may keep them for a year
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    // Served while a thumbnail is still being generated
+    private static final String SHORT_LIVED = "public, max-age=60";
+
+    @Autowired
+    private ImageStore imageStore;
+
+    // Upload an image (multipart field "file"); returns its hash to use as a picture ref
+    @PostMapping
+    public ResponseEntity<?> upload(@RequestParam("file") MultipartFile file) {
+        try (InputStream in = file.getInputStream()) {
+            StoredImage stored = imageStore.store(in);
+            return ResponseEntity.ok(describe(stored));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error uploading image: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{hash}")
+    public void getOriginal(@PathVariable String hash, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(imageStore.original(hash), "\"" + hash + "\"", IMMUTABLE, request, response);
+    }
+
+    // Thumbnail, or the original while the thumbnail cannot be made yet (e.g. WebP sources)
+    @GetMapping("/{hash}/thumb")
+    public void getThumbnail(@PathVariable String hash, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<ImageFile> thumb = imageStore.thumbnail(hash);
+        if (thumb.isPresent()) {
+            serve(thumb, "\"" + hash + "-thumb\"", IMMUTABLE, request, response);
+        } else {
+            serve(imageStore.original(hash), "\"" + hash + "\"", SHORT_LIVED, request, response);
+        }
+    }
+
+    public static Map<String, Object> describe(StoredImage stored) {
+        return Map.of(
+            "hash", stored.hash(),
+            "url", "/api/images/" + stored.hash(),
+            "thumbnailUrl", "/api/images/" + stored.hash() + "/thumb",
+            "size", stored.size(),
+            "contentType", stored.contentType());
+    }
+
+    // Single-range aware file response. Body bytes go out through Tomcat's sendfile when the
+    // connector supports it, otherwise through FileChannel.transferTo; neither copies via the heap.
+    private static void serve(Optional<ImageFile> found, String etag, String cacheControl,
+                              HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (found.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        ImageFile file = found.get();
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setContentType(file.contentType());
+
+        long length = file.length();
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+            request.setAttribute("org.apache.tomcat.sendfile.filename", file.path().toString());
+            request.setAttribute("org.apache.tomcat.sendfile.start", start);
+            request.setAttribute("org.apache.tomcat.sendfile.end", end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (count > 0) {
+                long sent = channel.transferTo(position, count, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                count -= sent;
+            }
+        }
+    }
+
+    // {start, end} for a satisfiable single range, {} to ignore the header (multi-range or
+    // malformed: the full file is sent), or null when the range is not satisfiable
+    private static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                // Suffix range: the last N bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            }
+            if (start >= length || start > end) {
+                return null;
+            }
+            return new long[] {start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
@@ -1,12 +1,23 @@
 package com.frontdash.backend.controller;
 
+import com.frontdash.backend.entity.BulkAvailabilityRequest;
 import com.frontdash.backend.entity.MenuItem;
+import com.frontdash.backend.service.MenuImportService;
+import com.frontdash.backend.service.MenuImportService.Format;
+import com.frontdash.backend.service.MenuImportService.ImportResult;
 import com.frontdash.backend.service.MenuService;
+import com.frontdash.backend.service.ImageStore;
+import com.frontdash.backend.service.ImageStore.StoredImage;
 import com.frontdash.backend.repository.MenuItemRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -20,6 +31,10 @@ public class MenuController {
     private MenuService menuService;
     @Autowired
     private MenuItemRepository menuRepository;
+    @Autowired
+    private MenuImportService menuImportService;
+    @Autowired
+    private ImageStore imageStore;
 
     // Get all menu items for a restaurant
     @GetMapping("/restaurant/{restaurantId}")
@@ -28,6 +43,19 @@ public class MenuController {
         return ResponseEntity.ok(menuItems);
     }
 
+    // Menu changes since the given version (omit since to get the full menu and its version)
+    @GetMapping("/restaurant/{restaurantId}/changes")
+    public ResponseEntity<?> getMenuChanges(
+            @PathVariable String restaurantId,
+            @RequestParam(defaultValue = "0") long since) {
+
+        try {
+            return ResponseEntity.ok(menuService.getMenuChanges(restaurantId, since));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error loading menu changes: " + e.getMessage());
+        }
+    }
+
     // Get a specific menu item
     @GetMapping("/{menuItemId}")
     public ResponseEntity<MenuItem> getMenuItem(@PathVariable String menuItemId) {
@@ -109,6 +137,25 @@ public class MenuController {
                          .orElse(ResponseEntity.notFound().build());
     }
 
+    // Upload a menu item image (multipart field "file"); the item's ref becomes the image hash
+    @PostMapping("/{menuItemId}/image")
+    public ResponseEntity<?> uploadMenuItemImage(
+            @PathVariable String menuItemId,
+            @RequestParam("file") MultipartFile file) {
+
+        if (menuService.getMenuItem(menuItemId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try (InputStream in = file.getInputStream()) {
+            StoredImage stored = imageStore.store(in);
+            Optional<MenuItem> updatedItem = menuService.updateMenuItemImage(menuItemId, stored.hash());
+            return updatedItem.map(ResponseEntity::ok)
+                             .orElse(ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error uploading image: " + e.getMessage());
+        }
+    }
+
     // Remove menu item image
     @DeleteMapping("/{menuItemId}/image")
     public ResponseEntity<MenuItem> removeMenuItemImage(@PathVariable String menuItemId) {
@@ -127,4 +174,56 @@ public class MenuController {
             return ResponseEntity.badRequest().build();
         }
     }
-}
\ No newline at end of file
+
+    // Set availability for many items at once: by menuItemIds, category or allergen
+    @PutMapping("/restaurant/{restaurantId}/availability")
+    public ResponseEntity<?> setAvailabilityBulk(
+            @PathVariable String restaurantId,
+            @RequestBody BulkAvailabilityRequest request) {
+
+        try {
+            int updated = menuService.setAvailabilityBulk(restaurantId, request);
+            return ResponseEntity.ok(Map.of("updated", updated));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error updating availability: " + e.getMessage());
+        }
+    }
+
+    // Bulk import: body is CSV (text/csv, header row required) or a JSON array of menu items.
+    // Valid rows are imported; invalid ones come back in "errors" with their row number.
+    @PostMapping(value = "/restaurant/{restaurantId}/import", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> importMenu(
+            @PathVariable String restaurantId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+
+        try {
+            ImportResult result = menuImportService.importMenu(restaurantId, body, Format.of(contentType));
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error importing menu: " + e.getMessage());
+        }
+    }
+
+    // Bulk export in the same format the import accepts (format=csv or json)
+    @GetMapping("/restaurant/{restaurantId}/export")
+    public ResponseEntity<StreamingResponseBody> exportMenu(
+            @PathVariable String restaurantId,
+            @RequestParam(defaultValue = "csv") String format) {
+
+        Format exportFormat;
+        try {
+            exportFormat = Format.of(format);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!menuImportService.restaurantExists(restaurantId)) {
+            return ResponseEntity.notFound().build();
+        }
+        String extension = exportFormat == Format.CSV ? "csv" : "json";
+        return ResponseEntity.ok()
+            .contentType(exportFormat == Format.CSV ? new MediaType("text", "csv") : MediaType.APPLICATION_JSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"menu-" + restaurantId + "." + extension + "\"")
+            .body(out -> menuImportService.exportMenu(restaurantId, exportFormat, out));
+    }
+}
@@ -0,0 +1,68 @@
+package com.frontdash.backend.controller;
+
+import com.frontdash.backend.repository.NotificationDeadLetterRepository;
+import com.frontdash.backend.service.NotificationDispatcher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Admin view of the notification pipeline (see NotificationDispatcher) and its dead letters
+@RestController
+@Lazy
+@RequestMapping("/api/admin/notifications")
+@CrossOrigin
+public class NotificationController {
+    private final NotificationDispatcher dispatcher;
+    private final NotificationDeadLetterRepository deadLetters;
+
+    public NotificationController(NotificationDispatcher dispatcher, NotificationDeadLetterRepository deadLetters) {
+        this.dispatcher = dispatcher;
+        this.deadLetters = deadLetters;
+    }
+
+    @GetMapping
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = dispatcher.stats();
+        stats.put("deadLetters", deadLetters.count());
+        return stats;
+    }
+
+    @GetMapping("/dead-letters")
+    public ResponseEntity<?> deadLetters(@RequestParam(defaultValue = "50") int limit) {
+        if (limit < 1 || limit > 500) {
+            return ResponseEntity.badRequest().body("Error: limit must be between 1 and 500");
+        }
+        List<Map<String, Object>> rows = deadLetters.findRecent(limit).stream().map(dead -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", dead.id());
+            row.put("orderId", dead.notification().getOrderId());
+            row.put("channel", dead.notification().getChannel());
+            row.put("recipient", dead.notification().getRecipient());
+            row.put("subject", dead.notification().getSubject());
+            row.put("attempts", dead.notification().getAttempts());
+            row.put("lastError", dead.notification().getLastError());
+            row.put("failedAt", dead.failedAt());
+            return row;
+        }).toList();
+        return ResponseEntity.ok(rows);
+    }
+
+    // Sends the notification again, with a fresh attempt count
+    @PostMapping("/dead-letters/{id}/retry")
+    public ResponseEntity<?> retry(@PathVariable long id) {
+        try {
+            return dispatcher.replay(id) ? ResponseEntity.accepted().build() : ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error retrying notification: " + e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/dead-letters/{id}")
+    public ResponseEntity<?> discard(@PathVariable long id) {
+        return deadLetters.delete(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+}
@@ -3,30 +3,68 @@ package com.frontdash.backend.controller;
 import com.frontdash.backend.entity.CreateOrderRequest;
 import com.frontdash.backend.entity.DeliverRequest;
 import com.frontdash.backend.entity.Order;
+import com.frontdash.backend.service.OrderArchiveService;
+import com.frontdash.backend.service.OrderExportService;
 import com.frontdash.backend.service.OrderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping({"/api/orders", "/orders"})
 @CrossOrigin(origins = "http://localhost:5173") // <--- Ensure this matches your frontend port
 public class OrderController {
 
+    private static final Logger log = LoggerFactory.getLogger(OrderController.class);
+
     @Autowired
     private OrderService service;
 
+    @Autowired
+    private OrderArchiveService archiveService;
+
+    @Autowired
+    private OrderExportService exportService;
+
     // --- 1. CREATE ORDER (Used by Checkout Page) ---
     @PostMapping
-    public ResponseEntity<?> create(@RequestBody CreateOrderRequest req) {
+    public ResponseEntity<?> create(@RequestBody CreateOrderRequest req,
+                                    @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > 64)) {
+            return ResponseEntity.badRequest().body("Error: Idempotency-Key must be 1-64 characters");
+        }
         try {
-            // This calls the new method we just wrote in OrderService
-            Order newOrder = service.createOrder(req);
+            // Retries carrying the same Idempotency-Key (and the same request) get the original order back
+            Order newOrder = service.createOrder(req, idempotencyKey);
             return ResponseEntity.ok(newOrder);
+        } catch (OrderService.IdempotencyConflictException e) {
+            return ResponseEntity.unprocessableEntity().body("Error: " + e.getMessage());
+        } catch (DataIntegrityViolationException e) {
+            // Lost the race against a concurrent retry with the same key: return the order it created
+            try {
+                Optional<Order> existing = idempotencyKey != null ? service.findByIdempotencyKey(idempotencyKey, req) : Optional.empty();
+                if (existing.isPresent()) {
+                    return ResponseEntity.ok(existing.get());
+                }
+            } catch (OrderService.IdempotencyConflictException conflict) {
+                return ResponseEntity.unprocessableEntity().body("Error: " + conflict.getMessage());
+            }
+            log.warn("Order rejected by a database constraint", e);
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         } catch (Exception e) {
-            e.printStackTrace(); // Logs error to backend terminal
+            log.warn("Order creation failed: {}", e.getMessage(), e);
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
     }
@@ -55,6 +93,15 @@ public class OrderController {
         }
     }
 
+    @PostMapping("/{orderId}/pickup")
+    public ResponseEntity<?> pickUp(@PathVariable String orderId) {
+        try {
+            return ResponseEntity.ok(service.markPickedUp(orderId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @PostMapping("/deliver")
     public ResponseEntity<Order> deliver(@RequestBody DeliverRequest req) {
         return ResponseEntity.ok(service.markDelivered(req));
@@ -63,8 +110,65 @@ public class OrderController {
     public static class EtaRequest { public int minutes; }
 
     @PostMapping("/{orderId}/eta")
-    public ResponseEntity<Void> setEta(@PathVariable String orderId, @RequestBody EtaRequest body) {
-        // For demo: ignore or persist if you add a column
-        return ResponseEntity.ok().build();
+    public ResponseEntity<?> setEta(@PathVariable String orderId, @RequestBody EtaRequest body) {
+        if (body.minutes < 0) {
+            return ResponseEntity.badRequest().body("ETA minutes cannot be negative");
+        }
+        try {
+            return ResponseEntity.ok(service.setEta(orderId, body.minutes));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // --- 4. HISTORY (live + archived orders, newest first) ---
+    @GetMapping("/history")
+    public ResponseEntity<?> history(@RequestParam(required = false) String restaurantId,
+                                     @RequestParam(required = false) String before,
+                                     @RequestParam(defaultValue = "20") int size) {
+        if (size < 1 || size > 100) {
+            return ResponseEntity.badRequest().body("size must be between 1 and 100");
+        }
+        try {
+            return ResponseEntity.ok(archiveService.history(restaurantId, before, size));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // Accounting export of live + archived orders with items, from/to inclusive (yyyy-MM-dd), format=ndjson or csv
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam String from,
+                                                        @RequestParam String to,
+                                                        @RequestParam(required = false) String restaurantId,
+                                                        @RequestParam(defaultValue = "ndjson") String format) {
+        LocalDate fromDate;
+        LocalDate toDate;
+        OrderExportService.Format exportFormat;
+        try {
+            fromDate = LocalDate.parse(from);
+            toDate = LocalDate.parse(to);
+            exportFormat = OrderExportService.Format.of(format);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (toDate.isBefore(fromDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+        String restaurant = restaurantId == null || restaurantId.isBlank() ? null : restaurantId.trim();
+        // The id is caller input; only a safe subset of it goes into the file name
+        String filename = "orders-" + fromDate + "-" + toDate
+                + (restaurant == null ? "" : "-" + restaurant.replaceAll("[^A-Za-z0-9_-]", ""))
+                + (exportFormat == OrderExportService.Format.CSV ? ".csv" : ".ndjson");
+        return ResponseEntity.ok()
+            .contentType(exportFormat == OrderExportService.Format.CSV ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+            .body(out -> exportService.exportOrders(fromDate, toDate, restaurant, exportFormat, out));
+    }
+
+    // Runs the archival job now instead of waiting for its schedule
+    @PostMapping("/archive")
+    public ResponseEntity<?> archiveNow() {
+        return ResponseEntity.ok(Map.of("archived", archiveService.archiveDeliveredOrders()));
     }
 }
@@ -1,15 +1,24 @@
 package com.frontdash.backend.controller;
 
+import com.frontdash.backend.entity.GeoPoint;
 import com.frontdash.backend.entity.Restaurant;
 import com.frontdash.backend.entity.RestaurantHours;
+import com.frontdash.backend.service.ImageStore;
+import com.frontdash.backend.service.ImageStore.StoredImage;
+import com.frontdash.backend.service.RestaurantDashboardService;
 import com.frontdash.backend.service.RestaurantService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/restaurants")
@@ -19,6 +28,12 @@ public class RestaurantController {
     @Autowired
     private RestaurantService restaurantService;
 
+    @Autowired
+    private RestaurantDashboardService dashboardService;
+
+    @Autowired
+    private ImageStore imageStore;
+
     // Get restaurant by ID (for account settings)
     @GetMapping("/{restaurantId}")
     public ResponseEntity<Restaurant> getRestaurant(@PathVariable String restaurantId) {
@@ -83,6 +98,17 @@ public class RestaurantController {
         }
     }
 
+    // Bulk import: replace the operating hours of many restaurants at once ({restaurantId: [hours...]})
+    @PutMapping("/hours/bulk")
+    public ResponseEntity<String> updateOperatingHoursBulk(@RequestBody Map<String, List<RestaurantHours>> hoursByRestaurant) {
+        try {
+            restaurantService.saveOperatingHoursBulk(hoursByRestaurant);
+            return ResponseEntity.ok("Operating hours updated for " + hoursByRestaurant.size() + " restaurants");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error updating operating hours: " + e.getMessage());
+        }
+    }
+
     // Update profile picture
     @PutMapping("/{restaurantId}/profile-picture")
     public ResponseEntity<Restaurant> updateProfilePicture(
@@ -96,6 +122,25 @@ public class RestaurantController {
                               .orElse(ResponseEntity.notFound().build());
     }
 
+    // Upload a profile picture (multipart field "file"); the restaurant's ref becomes the image hash
+    @PostMapping("/{restaurantId}/profile-picture")
+    public ResponseEntity<?> uploadProfilePicture(
+            @PathVariable String restaurantId,
+            @RequestParam("file") MultipartFile file) {
+
+        if (restaurantService.getRestaurantById(restaurantId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try (InputStream in = file.getInputStream()) {
+            StoredImage stored = imageStore.store(in);
+            Optional<Restaurant> updatedRestaurant = restaurantService.updateProfilePicture(restaurantId, stored.hash());
+            return updatedRestaurant.map(ResponseEntity::ok)
+                                  .orElse(ResponseEntity.notFound().build());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error uploading image: " + e.getMessage());
+        }
+    }
+
     // Remove profile picture
     @DeleteMapping("/{restaurantId}/profile-picture")
     public ResponseEntity<Restaurant> removeProfilePicture(@PathVariable String restaurantId) {
@@ -104,6 +149,74 @@ public class RestaurantController {
                               .orElse(ResponseEntity.notFound().build());
     }
 
+    // Paginated listing for customer list views. Pass nextCursor from the previous page as "after";
+    // "fields" picks the columns returned (default: id,name,cuisine,picture)
+    @GetMapping("/listing")
+    public ResponseEntity<?> listRestaurants(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String cuisine,
+            @RequestParam(required = false) String namePrefix,
+            @RequestParam(defaultValue = "false") boolean open,
+            @RequestParam(defaultValue = "id,name,cuisine,picture") String fields) {
+
+        Set<String> requested = new LinkedHashSet<>(Arrays.asList(fields.split("\\s*,\\s*")));
+        if (!RestaurantService.LISTING_FIELDS.containsAll(requested)) {
+            return ResponseEntity.badRequest().body(Map.of("error",
+                "fields must be a subset of " + String.join(",", RestaurantService.LISTING_FIELDS)));
+        }
+        if (size < 1 || size > 100) {
+            return ResponseEntity.badRequest().body(Map.of("error", "size must be between 1 and 100"));
+        }
+        return ResponseEntity.ok(restaurantService.listRestaurants(after, size, city, cuisine, namePrefix, open, requested));
+    }
+
+    // Discovery: restaurants within radiusKm of a point (lat/lng, or a zip/city centroid), nearest first
+    @GetMapping("/nearby")
+    public ResponseEntity<?> findNearby(
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) String zip,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String state,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            @RequestParam(required = false) String cuisine,
+            @RequestParam(defaultValue = "false") boolean openNow,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        GeoPoint center = restaurantService.resolveLocation(lat, lng, zip, city, state);
+        if (center == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Provide lat/lng or a known zip/city"));
+        }
+        if (radiusKm <= 0 || radiusKm > 100 || limit < 1) {
+            return ResponseEntity.badRequest().body(Map.of("error", "radiusKm must be in (0, 100] and limit >= 1"));
+        }
+        return ResponseEntity.ok(restaurantService.findNearby(center, radiusKm, cuisine, openNow, limit));
+    }
+
+    // Discovery: the k restaurants closest to a point, regardless of distance
+    @GetMapping("/nearest")
+    public ResponseEntity<?> findNearest(
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) String zip,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) String state,
+            @RequestParam(defaultValue = "10") int k,
+            @RequestParam(required = false) String cuisine,
+            @RequestParam(defaultValue = "false") boolean openNow) {
+
+        GeoPoint center = restaurantService.resolveLocation(lat, lng, zip, city, state);
+        if (center == null) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Provide lat/lng or a known zip/city"));
+        }
+        if (k < 1 || k > 100) {
+            return ResponseEntity.badRequest().body(Map.of("error", "k must be between 1 and 100"));
+        }
+        return ResponseEntity.ok(restaurantService.findNearest(center, k, cuisine, openNow));
+    }
+
     // --- ADD THIS METHOD ---
     @GetMapping
     public ResponseEntity<Iterable<Restaurant>> getAllRestaurants() {
@@ -127,4 +240,12 @@ public class RestaurantController {
 
         return ResponseEntity.ok(settings);
     }
-}
\ No newline at end of file
+
+    // Owner home page in one request: restaurant, hours, withdrawal status, menu counts and statistics
+    @GetMapping("/{restaurantId}/dashboard")
+    public ResponseEntity<Map<String, Object>> getDashboard(@PathVariable String restaurantId) {
+        return dashboardService.getDashboard(restaurantId)
+            .map(ResponseEntity::ok)
+            .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -2,18 +2,29 @@ package com.frontdash.backend.controller;
 
 import com.frontdash.backend.entity.CreateStaffRequest;
 import com.frontdash.backend.entity.InactivateRequest;
+import com.frontdash.backend.service.BulkOnboardingService;
+import com.frontdash.backend.service.BulkOnboardingService.BulkResult;
 import com.frontdash.backend.service.StaffManagementService;
+import com.frontdash.backend.service.MenuImportService.Format;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+
 @RestController
+@Lazy
 @RequestMapping("/api/staff")
 @CrossOrigin
 public class StaffController {
     private final StaffManagementService service;
+    private final BulkOnboardingService bulkService;
 
-    public StaffController(StaffManagementService service) {
+    public StaffController(StaffManagementService service, BulkOnboardingService bulkService) {
         this.service = service;
+        this.bulkService = bulkService;
     }
 
     @PostMapping
@@ -38,4 +49,28 @@ public class StaffController {
     public ResponseEntity<?> inactivate(@RequestBody InactivateRequest req) {
         return ResponseEntity.ok(service.inactivateStaff(req.id));
     }
+
+    // Bulk onboarding: CSV with a header row or a JSON array of the same fields; answers with per-row outcomes
+    @PostMapping(value = "/bulk", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> bulkCreate(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+        try {
+            BulkResult result = bulkService.createStaff(body, Format.of(contentType));
+            // Malformed upload: the rows before it were applied and are in the result
+            return result.error() == null ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error creating staff: " + e.getMessage());
+        }
+    }
+
+    // Bulk inactivation: one "id" per row
+    @PostMapping(value = "/bulk/inactivate", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> bulkInactivate(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) {
+        try {
+            BulkResult result = bulkService.inactivateStaff(body, Format.of(contentType));
+            // Malformed upload: the rows before it were applied and are in the result
+            return result.error() == null ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error inactivating staff: " + e.getMessage());
+        }
+    }
 }
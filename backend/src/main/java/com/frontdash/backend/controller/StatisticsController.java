@@ -1,5 +1,6 @@
 package com.frontdash.backend.controller;
 
+import com.frontdash.backend.service.DeliveryStatsService;
 import com.frontdash.backend.service.StatisticsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +16,9 @@ public class StatisticsController {
     @Autowired
     private StatisticsService statisticsService;
 
+    @Autowired
+    private DeliveryStatsService deliveryStatsService;
+
     // Get restaurant statistics for the home/dashboard page
     @GetMapping("/restaurant/{restaurantId}")
     public ResponseEntity<Map<String, Object>> getRestaurantStatistics(@PathVariable String restaurantId) {
@@ -25,4 +29,20 @@ public class StatisticsController {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
+
+    // Delivery-time percentiles (minutes) from memory; no database access
+    @GetMapping("/delivery")
+    public ResponseEntity<Map<String, Object>> getDeliveryStatistics() {
+        return ResponseEntity.ok(deliveryStatsService.overall());
+    }
+
+    @GetMapping("/delivery/driver/{driverId}")
+    public ResponseEntity<Map<String, Object>> getDriverDeliveryStatistics(@PathVariable String driverId) {
+        return ResponseEntity.ok(deliveryStatsService.forDriver(driverId));
+    }
+
+    @GetMapping("/delivery/restaurant/{restaurantId}")
+    public ResponseEntity<Map<String, Object>> getRestaurantDeliveryStatistics(@PathVariable String restaurantId) {
+        return ResponseEntity.ok(deliveryStatsService.forRestaurant(restaurantId));
+    }
 }
\ No newline at end of file
@@ -1,8 +1,10 @@
 package com.frontdash.backend.controller;
 
+import org.springframework.context.annotation.Lazy;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
+@Lazy
 @RequestMapping("/api/test")
 @CrossOrigin(origins = "http://localhost:3000")
 public class TestController {
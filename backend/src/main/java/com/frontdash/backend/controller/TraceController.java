@@ -0,0 +1,56 @@
+package com.frontdash.backend.controller;
+
+import com.frontdash.backend.service.RequestTrace;
+import com.frontdash.backend.service.TraceStore;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Admin view of the slowest sampled requests per endpoint (see RequestTracing)
+@RestController
+@Lazy
+@RequestMapping("/api/admin/traces")
+@CrossOrigin
+public class TraceController {
+    private final TraceStore store;
+
+    public TraceController(TraceStore store) {
+        this.store = store;
+    }
+
+    @GetMapping
+    public Map<String, Object> slowest(@RequestParam(required = false) String endpoint) {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        store.slowest().forEach((name, traces) -> {
+            if (endpoint == null || endpoint.equals(name)) {
+                endpoints.put(name, traces.stream().map(RequestTrace::toMap).toList());
+            }
+        });
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("sampleRate", store.getSampleRate());
+        out.put("sampledRequests", store.getSampledCount());
+        out.put("endpoints", endpoints);
+        return out;
+    }
+
+    // e.g. PUT /api/admin/traces/sampling?rate=0.05 ; rate=0 turns tracing off again
+    @PutMapping("/sampling")
+    public ResponseEntity<?> setSampling(@RequestParam double rate) {
+        try {
+            store.setSampleRate(rate);
+            return ResponseEntity.ok(Map.of("sampleRate", rate));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    @DeleteMapping
+    public ResponseEntity<?> clear() {
+        store.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,6 @@
+package com.frontdash.backend.entity;
+
+import java.util.List;
+
+// One page of the pending registration queue, oldest first; pass nextCursor back as "after" to get the next page
+public record ApprovalPage(List<ApprovalRecord> items, String nextCursor) {}
@@ -0,0 +1,16 @@
+package com.frontdash.backend.entity;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+// Row of the approval table as returned by the registration procedures and the pending list
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ApprovalRecord(
+        @JsonProperty("restaurant_id") String restaurantId,
+        @JsonProperty("approval_status") String approvalStatus,
+        @JsonProperty("requested_at") LocalDateTime requestedAt,
+        @JsonProperty("decided_at") LocalDateTime decidedAt,
+        @JsonProperty("decided_by") String decidedBy) {
+}
@@ -0,0 +1,10 @@
+package com.frontdash.backend.entity;
+
+import java.util.List;
+
+// The same decision for many pending registrations at once
+public class BulkApprovalDecisionRequest {
+    public List<String> restaurantIds;
+    public String status;   // "approved" or "rejected"
+    public String adminId;  // staff id
+}
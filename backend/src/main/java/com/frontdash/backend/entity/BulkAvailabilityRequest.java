@@ -0,0 +1,11 @@
+package com.frontdash.backend.entity;
+
+import java.util.List;
+
+public class BulkAvailabilityRequest {
+    public Boolean available;
+    /** exactly one of menuItemIds, category or allergen selects the items */
+    public List<String> menuItemIds;
+    public String category;
+    public String allergen; // matched case-insensitively inside the item's allergens text
+}
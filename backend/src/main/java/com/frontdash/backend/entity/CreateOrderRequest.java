@@ -24,12 +24,14 @@ public class CreateOrderRequest {
         public String street;
         public String city;
         public String state;
+        public String zip; // optional; improves geocoding over city alone
     }
 
     public static class FinancialInfo {
         public Double subtotal;
         public Double tax;
         public Double fees; 
+        public Double tip;
         public Double total;
     }
 
@@ -0,0 +1,63 @@
+package com.frontdash.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public class DeliveryAddress {
+    @Column(name = "delivery_building", length = 32)
+    private String building;
+
+    @Column(name = "delivery_street")
+    private String street;
+
+    @Column(name = "delivery_city", length = 100)
+    private String city;
+
+    @Column(name = "delivery_state", length = 32)
+    private String state;
+
+    @Column(name = "delivery_zip", length = 10)
+    private String zip;
+
+    // Centroid from the geocode table (zip, else city); null when the address could not be placed
+    @Column(name = "delivery_lat")
+    private Double latitude;
+
+    @Column(name = "delivery_lng")
+    private Double longitude;
+
+    public DeliveryAddress() {}
+
+    public DeliveryAddress(String building, String street, String city, String state, String zip) {
+        this.building = building;
+        this.street = street;
+        this.city = city;
+        this.state = state;
+        this.zip = zip;
+    }
+
+    // Single-line form kept in orders.delivery_address for existing screens
+    public String toSingleLine() {
+        return building + " " + street + ", " + city;
+    }
+
+    public GeoPoint toGeoPoint() {
+        return latitude != null && longitude != null ? new GeoPoint(latitude, longitude) : null;
+    }
+
+    public String getBuilding() { return building; }
+    public void setBuilding(String building) { this.building = building; }
+    public String getStreet() { return street; }
+    public void setStreet(String street) { this.street = street; }
+    public String getCity() { return city; }
+    public void setCity(String city) { this.city = city; }
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+    public String getZip() { return zip; }
+    public void setZip(String zip) { this.zip = zip; }
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+}
@@ -0,0 +1,9 @@
+package com.frontdash.backend.entity;
+
+// One position report from a driver's device; recordedAt is epoch millis (server time when missing)
+public class DriverLocationUpdate {
+    public String driverId;
+    public Double latitude;
+    public Double longitude;
+    public Long recordedAt;
+}
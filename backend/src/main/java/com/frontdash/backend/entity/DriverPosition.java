@@ -0,0 +1,8 @@
+package com.frontdash.backend.entity;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// A driver's latest reported position; distanceKm is set when answering a nearest-driver query
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DriverPosition(String driverId, double latitude, double longitude, long recordedAt, Double distanceKm) {
+}
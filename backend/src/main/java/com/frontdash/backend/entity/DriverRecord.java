@@ -0,0 +1,16 @@
+package com.frontdash.backend.entity;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDateTime;
+
+// Row returned by sp_create_driver / sp_inactivate_driver (createdAt only on create)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DriverRecord(
+        @JsonProperty("driver_id") String driverId,
+        @JsonProperty("first_name") String firstName,
+        @JsonProperty("last_name") String lastName,
+        @JsonProperty("active") boolean active,
+        @JsonProperty("created_at") LocalDateTime createdAt) {
+}
@@ -0,0 +1,10 @@
+package com.frontdash.backend.entity;
+
+// One discovery result: the restaurant's listing fields plus how far away it is
+public record NearbyRestaurant(String restaurantId,
+                               String restaurantName,
+                               String cuisineType,
+                               String city,
+                               String profilePictureRef,
+                               double distanceKm,
+                               boolean openNow) {}
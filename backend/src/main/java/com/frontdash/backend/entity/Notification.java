@@ -0,0 +1,46 @@
+package com.frontdash.backend.entity;
+
+// One message to a customer (e.g. an order receipt) on one channel; attempts and lastError are kept across retries
+public class Notification {
+    public static final String EMAIL = "email";
+    public static final String SMS = "sms";
+
+    private final String orderId;
+    private final String channel;
+    private final String recipient;
+    private final String subject;
+    private final String body;
+    private final long createdAt;
+    private int attempts;
+    private String lastError;
+
+    public Notification(String orderId, String channel, String recipient, String subject, String body) {
+        this(orderId, channel, recipient, subject, body, System.currentTimeMillis(), 0, null);
+    }
+
+    public Notification(String orderId, String channel, String recipient, String subject, String body,
+                        long createdAt, int attempts, String lastError) {
+        this.orderId = orderId;
+        this.channel = channel;
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.createdAt = createdAt;
+        this.attempts = attempts;
+        this.lastError = lastError;
+    }
+
+    public String getOrderId() { return orderId; }
+    public String getChannel() { return channel; }
+    public String getRecipient() { return recipient; }
+    public String getSubject() { return subject; }
+    public String getBody() { return body; }
+    public long getCreatedAt() { return createdAt; }
+    public int getAttempts() { return attempts; }
+    public String getLastError() { return lastError; }
+
+    public void failed(String error) {
+        attempts++;
+        lastError = error;
+    }
+}
@@ -7,7 +7,16 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    // Created by the Flyway migrations (V3, V5, V7); listed here so the mapping shows the final schema
+    @Index(name = "idx_orders_status_date", columnList = "status, order_date"),
+    @Index(name = "idx_orders_restaurant_date", columnList = "restaurant_id, order_date, order_id"),
+    @Index(name = "idx_orders_driver", columnList = "driver_id"),
+    @Index(name = "idx_orders_delivered_at", columnList = "delivered_at"),
+    @Index(name = "idx_orders_date", columnList = "order_date, order_id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_orders_idempotency_key", columnNames = {"idempotency_key"})
+})
 public class Order {
     @Id
     @Column(name = "order_id")
@@ -19,15 +28,41 @@ public class Order {
     @Column(name = "delivery_address")
     private String deliveryAddress;
 
+    @Embedded
+    private DeliveryAddress delivery;
+
+    @Column(name = "estimated_delivery_at")
+    private LocalDateTime estimatedDeliveryAt;
+
     @Column(name = "status")
     private String orderStatus;
 
     @Column(name = "order_date")
     private LocalDateTime orderDate;
 
+    // Lifecycle: set when a driver is assigned, picks the order up and delivers it
+    @Column(name = "assigned_at")
+    private LocalDateTime assignedAt;
+
+    @Column(name = "picked_up_at")
+    private LocalDateTime pickedUpAt;
+
+    @Column(name = "delivered_at")
+    private LocalDateTime deliveredAt;
+
     @Column(name = "total_amount")
     private Double totalAmount;
 
+    // Client-supplied key so checkout retries resolve to the same order
+    @Column(name = "idempotency_key", length = 64)
+    @JsonIgnore
+    private String idempotencyKey;
+
+    // SHA-256 of the request the key was first used with; a retry must send the same request
+    @Column(name = "idempotency_request_hash", columnDefinition = "CHAR(64)")
+    @JsonIgnore
+    private String idempotencyRequestHash;
+
     @ManyToOne
     @JoinColumn(name = "restaurant_id")
     @JsonIgnore
@@ -49,12 +84,26 @@ public class Order {
     public void setCustomerName(String n) { this.customerName = n; }
     public String getDeliveryAddress() { return deliveryAddress; }
     public void setDeliveryAddress(String a) { this.deliveryAddress = a; }
+    public DeliveryAddress getDelivery() { return delivery; }
+    public void setDelivery(DeliveryAddress d) { this.delivery = d; }
+    public LocalDateTime getEstimatedDeliveryAt() { return estimatedDeliveryAt; }
+    public void setEstimatedDeliveryAt(LocalDateTime t) { this.estimatedDeliveryAt = t; }
     public String getOrderStatus() { return orderStatus; }
     public void setOrderStatus(String s) { this.orderStatus = s; }
     public LocalDateTime getOrderDate() { return orderDate; }
     public void setOrderDate(LocalDateTime d) { this.orderDate = d; }
+    public LocalDateTime getAssignedAt() { return assignedAt; }
+    public void setAssignedAt(LocalDateTime t) { this.assignedAt = t; }
+    public LocalDateTime getPickedUpAt() { return pickedUpAt; }
+    public void setPickedUpAt(LocalDateTime t) { this.pickedUpAt = t; }
+    public LocalDateTime getDeliveredAt() { return deliveredAt; }
+    public void setDeliveredAt(LocalDateTime t) { this.deliveredAt = t; }
     public Double getTotalAmount() { return totalAmount; }
     public void setTotalAmount(Double t) { this.totalAmount = t; }
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String k) { this.idempotencyKey = k; }
+    public String getIdempotencyRequestHash() { return idempotencyRequestHash; }
+    public void setIdempotencyRequestHash(String h) { this.idempotencyRequestHash = h; }
     public Restaurant getRestaurant() { return restaurant; }
     public void setRestaurant(Restaurant r) { this.restaurant = r; }
     public Driver getDriver() { return driver; }
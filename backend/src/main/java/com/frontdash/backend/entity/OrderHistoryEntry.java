@@ -0,0 +1,11 @@
+package com.frontdash.backend.entity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// One order in the history API, whether it still lives in orders or was moved to an archive table
+public record OrderHistoryEntry(String orderId, String restaurantId, String customerName, String status,
+                                LocalDateTime orderDate, Double totalAmount, boolean archived, List<Item> items) {
+
+    public record Item(String foodName, Integer quantity, Double price) {}
+}
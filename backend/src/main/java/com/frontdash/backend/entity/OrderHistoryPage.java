@@ -0,0 +1,6 @@
+package com.frontdash.backend.entity;
+
+import java.util.List;
+
+// One page of order history, newest first; pass nextCursor back as "before" to get the next page
+public record OrderHistoryPage(List<OrderHistoryEntry> items, String nextCursor) {}
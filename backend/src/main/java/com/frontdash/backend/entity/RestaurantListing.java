@@ -0,0 +1,14 @@
+package com.frontdash.backend.entity;
+
+// Wider projection for list views that also ask for address or contact fields
+public record RestaurantListing(String restaurantId,
+                                String restaurantName,
+                                String cuisineType,
+                                String profilePictureRef,
+                                String street,
+                                String city,
+                                String state,
+                                String zip,
+                                String phone,
+                                String email,
+                                Boolean forceClosed) {}
@@ -0,0 +1,7 @@
+package com.frontdash.backend.entity;
+
+import java.util.List;
+import java.util.Map;
+
+// One page of the restaurant listing; pass nextCursor back as "after" to get the next page
+public record RestaurantPage(List<Map<String, Object>> items, String nextCursor) {}
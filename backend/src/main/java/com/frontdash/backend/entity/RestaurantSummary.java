@@ -0,0 +1,7 @@
+package com.frontdash.backend.entity;
+
+// Narrow projection for list views: only what a restaurant card shows
+public record RestaurantSummary(String restaurantId,
+                                String restaurantName,
+                                String cuisineType,
+                                String profilePictureRef) {}
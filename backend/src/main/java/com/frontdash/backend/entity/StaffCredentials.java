@@ -0,0 +1,10 @@
+package com.frontdash.backend.entity;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Row returned by sp_create_staff: the new login and its one-time password
+public record StaffCredentials(
+        @JsonProperty("user_id") String userId,
+        @JsonProperty("username") String username,
+        @JsonProperty("temp_password") String tempPassword) {
+}
@@ -0,0 +1,11 @@
+package com.frontdash.backend.entity;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+// Row returned by sp_inactivate_staff
+public record StaffRecord(
+        @JsonProperty("user_id") String userId,
+        @JsonProperty("first_name") String firstName,
+        @JsonProperty("last_name") String lastName,
+        @JsonProperty("active") boolean active) {
+}
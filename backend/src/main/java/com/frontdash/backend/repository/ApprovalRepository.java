@@ -1,31 +1,75 @@
 package com.frontdash.backend.repository;
 
+import com.frontdash.backend.entity.ApprovalRecord;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 
-import java.util.Collections;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 @Repository
+@Lazy
 public class ApprovalRepository {
     private final JdbcTemplate jdbc;
+    private final StoredProcedure<ApprovalRecord> requestRegistration;
+    private final StoredProcedure<ApprovalRecord> decideRegistration;
 
-    public ApprovalRepository(JdbcTemplate jdbc) { this.jdbc = jdbc; }
-
-    public Map<String,Object> requestRegistration(String restaurantId) {
-        return jdbc.queryForMap("CALL sp_request_registration(?)", restaurantId);
+    public ApprovalRepository(JdbcTemplate jdbc, StoredProcedures procedures) {
+        this.jdbc = jdbc;
+        this.requestRegistration = procedures.define("sp_request_registration", 1, (rs, i) -> new ApprovalRecord(
+                rs.getString("restaurant_id"), rs.getString("approval_status"),
+                rs.getObject("requested_at", LocalDateTime.class), null, null));
+        this.decideRegistration = procedures.define("sp_decide_registration", 3, (rs, i) -> new ApprovalRecord(
+                rs.getString("restaurant_id"), rs.getString("approval_status"), null,
+                rs.getObject("decided_at", LocalDateTime.class), rs.getString("decided_by")));
+    }
+
+    public ApprovalRecord requestRegistration(String restaurantId) {
+        return requestRegistration.call(restaurantId);
     }
 
-    public Map<String,Object> decideRegistration(String restaurantId, String status, String adminId) {
-        return jdbc.queryForMap("CALL sp_decide_registration(?,?,?)", restaurantId, status, adminId);
+    public ApprovalRecord decideRegistration(String restaurantId, String status, String adminId) {
+        return decideRegistration.call(restaurantId, status, adminId);
     }
 
-    public List<Map<String, Object>> findPending() {
-        try {
-            return jdbc.queryForList("SELECT restaurant_id, approval_status, decided_at FROM approval WHERE approval_status = 'pending'");
-        } catch (Exception e) {
-            return Collections.emptyList();
+    // Rows of (restaurantId, status, adminId) on one connection; the first refused row throws
+    public List<ApprovalRecord> decideRegistrations(List<Object[]> decisions) {
+        return decideRegistration.callBatch(decisions);
+    }
+
+    // Oldest request first, keyset-paginated after (afterRequestedAt, afterId). idx_approval_status_requested
+    // ends with the primary key, so the index alone gives this order
+    public List<ApprovalRecord> findPending(LocalDateTime afterRequestedAt, String afterId, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT restaurant_id, approval_status, requested_at, decided_at FROM approval"
+                + " WHERE approval_status = 'pending'");
+        List<Object> args = new ArrayList<>();
+        if (afterRequestedAt != null) {
+            sql.append(" AND (requested_at > ? OR (requested_at = ? AND restaurant_id > ?))");
+            args.add(Timestamp.valueOf(afterRequestedAt));
+            args.add(Timestamp.valueOf(afterRequestedAt));
+            args.add(afterId);
         }
+        sql.append(" ORDER BY requested_at, restaurant_id LIMIT ?");
+        args.add(limit);
+        return jdbc.query(sql.toString(),
+                (rs, i) -> new ApprovalRecord(rs.getString("restaurant_id"), rs.getString("approval_status"),
+                        rs.getObject("requested_at", LocalDateTime.class),
+                        rs.getObject("decided_at", LocalDateTime.class), null),
+                args.toArray());
+    }
+
+    // restaurant id -> requested_at of every pending request (index-only read)
+    public Map<String, LocalDateTime> findPendingRequestTimes() {
+        Map<String, LocalDateTime> pending = new HashMap<>();
+        jdbc.query("SELECT restaurant_id, requested_at FROM approval WHERE approval_status = 'pending'",
+                rs -> {
+                    pending.put(rs.getString(1), rs.getObject(2, LocalDateTime.class));
+                });
+        return pending;
     }
 }
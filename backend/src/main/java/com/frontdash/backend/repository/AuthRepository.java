@@ -10,6 +10,7 @@ public class AuthRepository {
     public AuthRepository(JdbcTemplate jdbc) { this.jdbc = jdbc; }
 
     /** returns 1 or 0 using verify_login_sha256(username, plain) */
+    @DbProcedure("verify_login_sha256")
     public int verifyLogin(String username, String plain) {
         Integer ok = jdbc.queryForObject(
             "SELECT verify_login_sha256(?,?) AS ok",
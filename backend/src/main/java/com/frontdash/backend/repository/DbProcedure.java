@@ -0,0 +1,21 @@
+package com.frontdash.backend.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a repository method that calls a stored routine directly; its latency is recorded as the
+ * frontdash.db.procedure timer tagged with this name (see MethodMetrics). Procedures called
+ * through StoredProcedure are timed there and do not need it.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface DbProcedure {
+
+    /** Routine name, e.g. "sp_create_driver" */
+    String value();
+}
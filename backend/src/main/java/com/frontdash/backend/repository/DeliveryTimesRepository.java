@@ -0,0 +1,42 @@
+package com.frontdash.backend.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+// Lifecycle timestamps of recent deliveries, read once at startup to rebuild the in-memory sketches
+@Repository
+public class DeliveryTimesRepository {
+
+    private final JdbcTemplate jdbc;
+
+    public DeliveryTimesRepository(JdbcTemplate jdbc) { this.jdbc = jdbc; }
+
+    public interface DeliveryConsumer {
+        void accept(String restaurantId, String driverId, LocalDateTime placedAt, LocalDateTime pickedUpAt,
+                    LocalDateTime deliveredAt);
+    }
+
+    // Orders delivered in [from, until): range scan on idx_orders_delivered_at, streamed row by row
+    // (useCursorFetch + fetch size)
+    public void forEachDeliveredBetween(LocalDateTime from, LocalDateTime until, DeliveryConsumer consumer) {
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement("SELECT restaurant_id, driver_id, order_date, picked_up_at, delivered_at"
+                    + " FROM orders WHERE delivered_at >= ? AND delivered_at < ?");
+            ps.setFetchSize(1000);
+            ps.setTimestamp(1, Timestamp.valueOf(from));
+            ps.setTimestamp(2, Timestamp.valueOf(until));
+            return ps;
+        }, rs -> {
+            consumer.accept(rs.getString(1), rs.getString(2), toLocal(rs.getTimestamp(3)),
+                    toLocal(rs.getTimestamp(4)), toLocal(rs.getTimestamp(5)));
+        });
+    }
+
+    private static LocalDateTime toLocal(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -2,8 +2,24 @@ package com.frontdash.backend.repository;
 
 import com.frontdash.backend.entity.Driver;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface DriverJpaRepository extends JpaRepository<Driver, String> {
+
+    // Of these drivers, the ones active and not on an order
+    @Query("SELECT d.driverId FROM Driver d WHERE d.driverId IN :ids AND d.active = true AND d.assignedToOrder IS NOT TRUE")
+    List<String> findAvailableIds(@Param("ids") Collection<String> ids);
+
+    // Takes the driver for an order if it is active and free; 1 means this caller got it, 0 that it is
+    // inactive, taken (possibly by a concurrent assignment) or unknown. The row stays locked until commit.
+    @Modifying
+    @Query("UPDATE Driver d SET d.assignedToOrder = true WHERE d.driverId = :id AND d.active = true AND d.assignedToOrder IS NOT TRUE")
+    int claim(@Param("id") String driverId);
 }
@@ -0,0 +1,40 @@
+package com.frontdash.backend.repository;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+// Batched inserts into driver_location_history (one multi-row INSERT per flush with rewriteBatchedStatements)
+@Repository
+public class DriverLocationHistoryRepository {
+
+    private final JdbcTemplate jdbc;
+
+    public DriverLocationHistoryRepository(JdbcTemplate jdbc) { this.jdbc = jdbc; }
+
+    public record Point(String driverId, double latitude, double longitude, long recordedAt) {}
+
+    public void insert(List<Point> points) {
+        jdbc.batchUpdate("INSERT INTO driver_location_history (driver_id, latitude, longitude, recorded_at) VALUES (?,?,?,?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Point point = points.get(i);
+                        ps.setString(1, point.driverId());
+                        ps.setDouble(2, point.latitude());
+                        ps.setDouble(3, point.longitude());
+                        ps.setTimestamp(4, new Timestamp(point.recordedAt()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return points.size();
+                    }
+                });
+    }
+}
@@ -1,21 +1,41 @@
 package com.frontdash.backend.repository;
 
-import org.springframework.jdbc.core.JdbcTemplate;
+import com.frontdash.backend.entity.DriverRecord;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Repository;
 
-import java.util.Map;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Repository
+@Lazy
 public class DriverRepository {
-    private final JdbcTemplate jdbc;
+    private final StoredProcedure<DriverRecord> createDriver;
+    private final StoredProcedure<DriverRecord> inactivateDriver;
 
-    public DriverRepository(JdbcTemplate jdbc) { this.jdbc = jdbc; }
+    public DriverRepository(StoredProcedures procedures) {
+        this.createDriver = procedures.define("sp_create_driver", 2, (rs, i) -> new DriverRecord(
+                rs.getString("driver_id"), rs.getString("first_name"), rs.getString("last_name"),
+                rs.getBoolean("active"), rs.getObject("created_at", LocalDateTime.class)));
+        this.inactivateDriver = procedures.define("sp_inactivate_driver", 1, (rs, i) -> new DriverRecord(
+                rs.getString("driver_id"), rs.getString("first_name"), rs.getString("last_name"),
+                rs.getBoolean("active"), null));
+    }
+
+    public DriverRecord createDriver(String first, String last) {
+        return createDriver.call(first, last);
+    }
+
+    public DriverRecord inactivateDriver(String driverId) {
+        return inactivateDriver.call(driverId);
+    }
 
-    public Map<String,Object> createDriver(String first, String last) {
-        return jdbc.queryForMap("CALL sp_create_driver(?,?)", first, last);
+    // Bulk variants: one connection and statement for all rows (see StoredProcedure.callBatch)
+    public List<DriverRecord> createDrivers(List<Object[]> firstAndLastNames) {
+        return createDriver.callBatch(firstAndLastNames);
     }
 
-    public Map<String,Object> inactivateDriver(String driverId) {
-        return jdbc.queryForMap("CALL sp_inactivate_driver(?)", driverId);
+    public List<DriverRecord> inactivateDrivers(List<Object[]> driverIds) {
+        return inactivateDriver.callBatch(driverIds);
     }
 }
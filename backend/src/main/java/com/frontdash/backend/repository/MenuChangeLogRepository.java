@@ -0,0 +1,49 @@
+package com.frontdash.backend.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * menu_version and menu_change_log (see V9). Writes must run inside the transaction that changes
+ * the menu: nextVersion() locks the restaurant's version row until that transaction ends.
+ */
+@Repository
+public class MenuChangeLogRepository {
+
+    public record ChangeRow(long version, String type, String menuItemId) {}
+
+    private final JdbcTemplate jdbc;
+
+    public MenuChangeLogRepository(JdbcTemplate jdbc) { this.jdbc = jdbc; }
+
+    // Restaurants that never changed have no row; the caller decides their starting version
+    public Long findVersion(String restaurantId) {
+        List<Long> versions = jdbc.queryForList("SELECT version FROM menu_version WHERE restaurant_id = ?",
+                Long.class, restaurantId);
+        return versions.isEmpty() ? null : versions.get(0);
+    }
+
+    public long nextVersion(String restaurantId, long initialVersion) {
+        jdbc.update("INSERT INTO menu_version (restaurant_id, version) VALUES (?, ?)"
+                + " ON DUPLICATE KEY UPDATE version = version + 1", restaurantId, initialVersion + 1);
+        return jdbc.queryForObject("SELECT version FROM menu_version WHERE restaurant_id = ?", Long.class, restaurantId);
+    }
+
+    public void insert(String restaurantId, long version, String type, String menuItemId) {
+        jdbc.update("INSERT INTO menu_change_log (restaurant_id, version, change_type, menu_item_id) VALUES (?, ?, ?, ?)",
+                restaurantId, version, type, menuItemId);
+    }
+
+    public List<ChangeRow> findAfter(String restaurantId, long after, long upTo) {
+        return jdbc.query("SELECT version, change_type, menu_item_id FROM menu_change_log"
+                        + " WHERE restaurant_id = ? AND version > ? AND version <= ? ORDER BY version",
+                (rs, i) -> new ChangeRow(rs.getLong(1), rs.getString(2), rs.getString(3)),
+                restaurantId, after, upTo);
+    }
+
+    public int deleteUpTo(String restaurantId, long version) {
+        return jdbc.update("DELETE FROM menu_change_log WHERE restaurant_id = ? AND version <= ?", restaurantId, version);
+    }
+}
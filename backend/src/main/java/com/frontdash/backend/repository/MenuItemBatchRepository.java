@@ -0,0 +1,71 @@
+package com.frontdash.backend.repository;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC access to menu_items for bulk import/export. Inserts go out as one JDBC batch
+ * (rewritten into multi-row INSERTs by the MySQL driver) and exports read through a
+ * forward-only cursor, so neither side builds entities or holds the whole menu in memory.
+ */
+@Repository
+public class MenuItemBatchRepository {
+
+    private static final String COLUMNS =
+            "menu_item_id, restaurant_id, category, food_name, food_description, price, is_available, item_picture_ref, allergens";
+
+    private final JdbcTemplate jdbc;
+
+    public MenuItemBatchRepository(JdbcTemplate jdbc) { this.jdbc = jdbc; }
+
+    public record MenuItemRow(String menuItemId, String restaurantId, String category, String foodName,
+                              String foodDescription, BigDecimal price, boolean available,
+                              String itemPictureRef, String allergens) {}
+
+    public void insert(List<MenuItemRow> rows) {
+        jdbc.batchUpdate("INSERT INTO menu_items (" + COLUMNS + ") VALUES (?,?,?,?,?,?,?,?,?)",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        MenuItemRow row = rows.get(i);
+                        ps.setString(1, row.menuItemId());
+                        ps.setString(2, row.restaurantId());
+                        ps.setString(3, row.category());
+                        ps.setString(4, row.foodName());
+                        ps.setString(5, row.foodDescription());
+                        ps.setBigDecimal(6, row.price());
+                        ps.setBoolean(7, row.available());
+                        ps.setString(8, row.itemPictureRef());
+                        ps.setString(9, row.allergens());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                });
+    }
+
+    // Streams a restaurant's menu row by row, fetchSize rows per round trip
+    public void forEachByRestaurant(String restaurantId, int fetchSize, Consumer<MenuItemRow> consumer) {
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "SELECT " + COLUMNS + " FROM menu_items WHERE restaurant_id = ? ORDER BY category, food_name",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setString(1, restaurantId);
+            return ps;
+        }, (ResultSet rs) -> {
+            consumer.accept(new MenuItemRow(rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                    rs.getString(5), rs.getBigDecimal(6), rs.getBoolean(7), rs.getString(8), rs.getString(9)));
+        });
+    }
+}
@@ -2,16 +2,20 @@ package com.frontdash.backend.repository;
 
 import com.frontdash.backend.entity.MenuItem;
 import com.frontdash.backend.entity.Restaurant;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.query.Procedure;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface MenuItemRepository extends JpaRepository<MenuItem, String> {
@@ -22,6 +26,11 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, String> {
     // Find all menu items for a restaurant by restaurant ID
     @Query("SELECT mi FROM MenuItem mi WHERE mi.restaurant.restaurantId = :restaurantId")
     List<MenuItem> findByRestaurantId(@Param("restaurantId") String restaurantId);
+
+    // Every menu item grouped by restaurant, through a server-side cursor (startup warm-up; needs a transaction)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT mi FROM MenuItem mi ORDER BY mi.restaurant.restaurantId")
+    Stream<MenuItem> streamAllOrderByRestaurant();
     
     // Find available menu items for a restaurant
     List<MenuItem> findByRestaurantAndIsAvailableTrue(Restaurant restaurant);
@@ -37,6 +46,13 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, String> {
     
     // Count menu items for a restaurant
     long countByRestaurant(Restaurant restaurant);
+
+    // Count menu items / available menu items without loading the entities
+    @Query("SELECT COUNT(mi) FROM MenuItem mi WHERE mi.restaurant.restaurantId = :restaurantId")
+    long countByRestaurantId(@Param("restaurantId") String restaurantId);
+
+    @Query("SELECT COUNT(mi) FROM MenuItem mi WHERE mi.restaurant.restaurantId = :restaurantId AND mi.isAvailable = true")
+    long countAvailableByRestaurantId(@Param("restaurantId") String restaurantId);
     
     // Delete all menu items for a restaurant
     @Modifying
@@ -48,6 +64,29 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, String> {
     @Query("UPDATE MenuItem mi SET mi.isAvailable = :isAvailable WHERE mi.menuItemId = :menuItemId")
     void updateAvailability(@Param("menuItemId") String menuItemId, @Param("isAvailable") Boolean isAvailable);
 
+    // Bulk availability for one restaurant's items, as a single UPDATE. Rows already in the
+    // requested state are not touched, so the returned count is the number actually changed.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MenuItem mi SET mi.isAvailable = :isAvailable WHERE mi.restaurant.restaurantId = :restaurantId"
+            + " AND mi.menuItemId IN :menuItemIds AND (mi.isAvailable IS NULL OR mi.isAvailable <> :isAvailable)")
+    int updateAvailabilityByIds(@Param("restaurantId") String restaurantId,
+                                @Param("menuItemIds") List<String> menuItemIds,
+                                @Param("isAvailable") Boolean isAvailable);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MenuItem mi SET mi.isAvailable = :isAvailable WHERE mi.restaurant.restaurantId = :restaurantId"
+            + " AND mi.category = :category AND (mi.isAvailable IS NULL OR mi.isAvailable <> :isAvailable)")
+    int updateAvailabilityByCategory(@Param("restaurantId") String restaurantId,
+                                     @Param("category") String category,
+                                     @Param("isAvailable") Boolean isAvailable);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MenuItem mi SET mi.isAvailable = :isAvailable WHERE mi.restaurant.restaurantId = :restaurantId"
+            + " AND LOWER(mi.allergens) LIKE :allergenPattern AND (mi.isAvailable IS NULL OR mi.isAvailable <> :isAvailable)")
+    int updateAvailabilityByAllergen(@Param("restaurantId") String restaurantId,
+                                     @Param("allergenPattern") String allergenPattern,
+                                     @Param("isAvailable") Boolean isAvailable);
+
     // Stored procedure to create a menu item via DB procedure
     @Transactional
     @Modifying
@@ -0,0 +1,64 @@
+package com.frontdash.backend.repository;
+
+import com.frontdash.backend.entity.Notification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+// Notifications that could not be delivered, newest first
+@Repository
+public class NotificationDeadLetterRepository {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JdbcTemplate jdbc;
+
+    public NotificationDeadLetterRepository(JdbcTemplate jdbc) { this.jdbc = jdbc; }
+
+    public record DeadLetter(long id, Notification notification, Timestamp failedAt) {}
+
+    private static final RowMapper<DeadLetter> MAPPER = (rs, i) -> new DeadLetter(rs.getLong("id"),
+            new Notification(rs.getString("order_id"), rs.getString("channel"), rs.getString("recipient"),
+                    rs.getString("subject"), rs.getString("body"), rs.getTimestamp("created_at").getTime(),
+                    rs.getInt("attempts"), rs.getString("last_error")),
+            rs.getTimestamp("failed_at"));
+
+    public void insert(List<Notification> notifications) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbc.batchUpdate("INSERT INTO notification_dead_letter (order_id, channel, recipient, subject, body, attempts,"
+                        + " last_error, created_at, failed_at) VALUES (?,?,?,?,?,?,?,?,?)",
+                notifications, notifications.size(), (ps, n) -> {
+                    String error = n.getLastError();
+                    ps.setString(1, n.getOrderId());
+                    ps.setString(2, n.getChannel());
+                    ps.setString(3, n.getRecipient());
+                    ps.setString(4, n.getSubject());
+                    ps.setString(5, n.getBody());
+                    ps.setInt(6, n.getAttempts());
+                    ps.setString(7, error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+                    ps.setTimestamp(8, new Timestamp(n.getCreatedAt()));
+                    ps.setTimestamp(9, now);
+                });
+    }
+
+    public List<DeadLetter> findRecent(int limit) {
+        return jdbc.query("SELECT * FROM notification_dead_letter ORDER BY failed_at DESC, id DESC LIMIT ?", MAPPER, limit);
+    }
+
+    public Optional<DeadLetter> findById(long id) {
+        return jdbc.query("SELECT * FROM notification_dead_letter WHERE id = ?", MAPPER, id).stream().findFirst();
+    }
+
+    public boolean delete(long id) {
+        return jdbc.update("DELETE FROM notification_dead_letter WHERE id = ?", id) > 0;
+    }
+
+    public long count() {
+        Long count = jdbc.queryForObject("SELECT COUNT(*) FROM notification_dead_letter", Long.class);
+        return count == null ? 0 : count;
+    }
+}
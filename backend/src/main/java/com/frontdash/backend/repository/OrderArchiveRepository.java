@@ -0,0 +1,251 @@
+package com.frontdash.backend.repository;
+
+import com.frontdash.backend.entity.OrderHistoryEntry;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * JDBC access to the live orders/order_items tables and their monthly archive copies
+ * (orders_archive_yyyyMM / order_items_archive_yyyyMM). Archive tables are created on demand
+ * from the live table's current columns and gain any column added to the live table later, so
+ * rows can always be copied column for column.
+ */
+@Repository
+public class OrderArchiveRepository {
+
+    public static final String LIVE = null;
+    private static final Pattern MONTH = Pattern.compile("\\d{6}");
+    private static final Pattern ARCHIVE_TABLE = Pattern.compile("orders_archive_(\\d{6})");
+
+    private final JdbcTemplate jdbc;
+
+    public OrderArchiveRepository(JdbcTemplate jdbc) { this.jdbc = jdbc; }
+
+    public record Candidate(String orderId, LocalDateTime orderDate) {}
+
+    // History row before its items are attached; month is null for the live table
+    public record HistoryRow(String month, String orderId, String restaurantId, String customerName, String status,
+                             LocalDateTime orderDate, Double totalAmount) {}
+
+    // One order joined with one of its items (item fields are null for an order without items)
+    public record ExportRow(String orderId, String restaurantId, String customerName, String status, String driverId,
+                            LocalDateTime orderDate, Double totalAmount, String foodName, Integer quantity, Double price) {}
+
+    // Archive months (yyyyMM) that have a table, newest first
+    public List<String> findArchiveMonths() {
+        List<String> months = jdbc.execute((ConnectionCallback<List<String>>) con -> {
+            List<String> found = new ArrayList<>();
+            DatabaseMetaData meta = con.getMetaData();
+            try (ResultSet rs = meta.getTables(con.getCatalog(), null, "%", new String[] {"TABLE"})) {
+                while (rs.next()) {
+                    var matcher = ARCHIVE_TABLE.matcher(rs.getString("TABLE_NAME").toLowerCase(Locale.ROOT));
+                    if (matcher.matches()) {
+                        found.add(matcher.group(1));
+                    }
+                }
+            }
+            return found;
+        });
+        months.sort(Collections.reverseOrder());
+        return months;
+    }
+
+    // Delivered orders placed before the cutoff, oldest first; forUpdate locks them until the transaction ends
+    public List<Candidate> findDeliveredBefore(LocalDateTime cutoff, int limit, boolean forUpdate) {
+        return jdbc.query("SELECT order_id, order_date FROM orders WHERE status = 'DELIVERED' AND order_date < ?"
+                        + " ORDER BY order_date, order_id LIMIT ?" + (forUpdate ? " FOR UPDATE" : ""),
+                (rs, i) -> new Candidate(rs.getString(1), rs.getTimestamp(2).toLocalDateTime()),
+                Timestamp.valueOf(cutoff), limit);
+    }
+
+    // Creates the month's archive tables if needed and adds columns the live tables gained since
+    public void ensureArchiveTables(String month) {
+        checkMonth(month);
+        ensureCopy("orders", ordersTable(month), "order_id",
+                "CREATE INDEX idx_" + ordersTable(month) + "_restaurant ON " + ordersTable(month) + " (restaurant_id, order_date, order_id)",
+                "CREATE INDEX idx_" + ordersTable(month) + "_date ON " + ordersTable(month) + " (order_date, order_id)");
+        ensureCopy("order_items", itemsTable(month), "id",
+                "CREATE INDEX idx_" + itemsTable(month) + "_order ON " + itemsTable(month) + " (order_id)");
+    }
+
+    // Copies the orders and their items into the month's archive tables, then deletes them from the live tables
+    public int moveToArchive(String month, List<String> orderIds) {
+        checkMonth(month);
+        String in = placeholders(orderIds.size());
+        Object[] ids = orderIds.toArray();
+        String orderColumns = String.join(", ", columns("orders").keySet());
+        String itemColumns = String.join(", ", columns("order_items").keySet());
+        jdbc.update("INSERT INTO " + ordersTable(month) + " (" + orderColumns + ") SELECT " + orderColumns
+                + " FROM orders WHERE order_id IN (" + in + ")", ids);
+        jdbc.update("INSERT INTO " + itemsTable(month) + " (" + itemColumns + ") SELECT " + itemColumns
+                + " FROM order_items WHERE order_id IN (" + in + ")", ids);
+        jdbc.update("DELETE FROM order_items WHERE order_id IN (" + in + ")", ids);
+        return jdbc.update("DELETE FROM orders WHERE order_id IN (" + in + ")", ids);
+    }
+
+    // Newest-first keyset page from one partition: orders strictly before (beforeDate, beforeId)
+    public List<HistoryRow> findPage(String month, String restaurantId, LocalDateTime beforeDate, String beforeId, int limit) {
+        if (month != null) {
+            checkMonth(month);
+        }
+        String table = month == null ? "orders" : ordersTable(month);
+        StringBuilder sql = new StringBuilder("SELECT order_id, restaurant_id, customer_name, status, order_date, total_amount FROM ")
+                .append(table).append(" WHERE order_date IS NOT NULL");
+        List<Object> args = new ArrayList<>();
+        if (restaurantId != null) {
+            sql.append(" AND restaurant_id = ?");
+            args.add(restaurantId);
+        }
+        if (beforeDate != null) {
+            sql.append(" AND (order_date < ? OR (order_date = ? AND order_id < ?))");
+            args.add(Timestamp.valueOf(beforeDate));
+            args.add(Timestamp.valueOf(beforeDate));
+            args.add(beforeId);
+        }
+        sql.append(" ORDER BY order_date DESC, order_id DESC LIMIT ?");
+        args.add(limit);
+        return jdbc.query(sql.toString(), (rs, i) -> new HistoryRow(month, rs.getString(1), rs.getString(2),
+                rs.getString(3), rs.getString(4), rs.getTimestamp(5).toLocalDateTime(),
+                rs.getObject(6) == null ? null : rs.getDouble(6)), args.toArray());
+    }
+
+    // Orders placed in [from, to) with their items, oldest first and an order's items together, streamed
+    // row by row through a forward-only cursor (useCursorFetch + fetch size) so memory does not grow with the range
+    public void forEachForExport(String month, LocalDateTime from, LocalDateTime to, String restaurantId,
+                                 int fetchSize, Consumer<ExportRow> consumer) {
+        if (month != null) {
+            checkMonth(month);
+        }
+        String orders = month == null ? "orders" : ordersTable(month);
+        String items = month == null ? "order_items" : itemsTable(month);
+        String sql = "SELECT o.order_id, o.restaurant_id, o.customer_name, o.status, o.driver_id, o.order_date,"
+                + " o.total_amount, i.food_name, i.quantity, i.price FROM " + orders + " o"
+                + " LEFT JOIN " + items + " i ON i.order_id = o.order_id"
+                + " WHERE o.order_date >= ? AND o.order_date < ?"
+                + (restaurantId != null ? " AND o.restaurant_id = ?" : "")
+                + " ORDER BY o.order_date, o.order_id, i.id";
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            ps.setTimestamp(1, Timestamp.valueOf(from));
+            ps.setTimestamp(2, Timestamp.valueOf(to));
+            if (restaurantId != null) {
+                ps.setString(3, restaurantId);
+            }
+            return ps;
+        }, (ResultSet rs) -> {
+            consumer.accept(new ExportRow(rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                    rs.getString(5), rs.getTimestamp(6).toLocalDateTime(),
+                    rs.getObject(7) == null ? null : rs.getDouble(7), rs.getString(8),
+                    rs.getObject(9) == null ? null : rs.getInt(9),
+                    rs.getObject(10) == null ? null : rs.getDouble(10)));
+        });
+    }
+
+    public Map<String, List<OrderHistoryEntry.Item>> findItems(String month, Collection<String> orderIds) {
+        if (orderIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        if (month != null) {
+            checkMonth(month);
+        }
+        String table = month == null ? "order_items" : itemsTable(month);
+        Map<String, List<OrderHistoryEntry.Item>> byOrder = new HashMap<>();
+        jdbc.query("SELECT order_id, food_name, quantity, price FROM " + table
+                        + " WHERE order_id IN (" + placeholders(orderIds.size()) + ") ORDER BY id",
+                rs -> {
+                    byOrder.computeIfAbsent(rs.getString(1), id -> new ArrayList<>()).add(new OrderHistoryEntry.Item(
+                            rs.getString(2),
+                            rs.getObject(3) == null ? null : rs.getInt(3),
+                            rs.getObject(4) == null ? null : rs.getDouble(4)));
+                },
+                orderIds.toArray());
+        return byOrder;
+    }
+
+    private void ensureCopy(String source, String archive, String uniqueKey, String... indexes) {
+        Map<String, String> sourceColumns = columns(source);
+        Map<String, String> archiveColumns = columns(archive);
+        if (archiveColumns.isEmpty()) {
+            // CREATE TABLE ... AS SELECT copies the column types but not keys, indexes or NOT NULL
+            // (on every database), so the key is added back as a unique index
+            jdbc.execute("CREATE TABLE IF NOT EXISTS " + archive + " AS SELECT * FROM " + source + " WHERE 1 = 0");
+            jdbc.execute("CREATE UNIQUE INDEX uk_" + archive + " ON " + archive + " (" + uniqueKey + ")");
+            for (String index : indexes) {
+                jdbc.execute(index);
+            }
+            return;
+        }
+        for (Map.Entry<String, String> column : sourceColumns.entrySet()) {
+            if (!archiveColumns.containsKey(column.getKey())) {
+                jdbc.execute("ALTER TABLE " + archive + " ADD COLUMN " + column.getKey() + " " + column.getValue());
+            }
+        }
+    }
+
+    // Column name -> SQL type, in table order; empty if the table does not exist
+    private Map<String, String> columns(String table) {
+        return jdbc.execute((ConnectionCallback<Map<String, String>>) con -> {
+            Map<String, String> found = new LinkedHashMap<>();
+            DatabaseMetaData meta = con.getMetaData();
+            String name = meta.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+            // "_" is a wildcard in metadata patterns
+            name = name.replace("_", meta.getSearchStringEscape() + "_");
+            try (ResultSet rs = meta.getColumns(con.getCatalog(), null, name, "%")) {
+                while (rs.next()) {
+                    found.put(rs.getString("COLUMN_NAME").toLowerCase(Locale.ROOT), sqlType(rs));
+                }
+            }
+            return found;
+        });
+    }
+
+    private static String sqlType(ResultSet column) throws java.sql.SQLException {
+        String type = column.getString("TYPE_NAME");
+        int size = column.getInt("COLUMN_SIZE");
+        switch (type.toUpperCase(Locale.ROOT)) {
+            case "VARCHAR", "CHAR", "VARBINARY", "BINARY", "CHARACTER VARYING", "CHARACTER":
+                return type + "(" + size + ")";
+            case "DECIMAL", "NUMERIC":
+                return type + "(" + size + "," + column.getInt("DECIMAL_DIGITS") + ")";
+            default:
+                return type;
+        }
+    }
+
+    private static String ordersTable(String month) {
+        return "orders_archive_" + month;
+    }
+
+    private static String itemsTable(String month) {
+        return "order_items_archive_" + month;
+    }
+
+    // Month is spliced into table names, so it must be exactly yyyyMM
+    private static void checkMonth(String month) {
+        if (month == null || !MONTH.matcher(month).matches()) {
+            throw new IllegalArgumentException("Invalid archive month: " + month);
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+}
@@ -1,10 +1,14 @@
 package com.frontdash.backend.repository;
 
 import com.frontdash.backend.entity.Order;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, String> {
@@ -15,4 +19,18 @@ public interface OrderRepository extends JpaRepository<Order, String> {
     
     // We can add a helper to find pending orders
     List<Order> findByOrderStatus(String status);
+
+    // Used to resolve checkout retries that carry the same Idempotency-Key
+    Optional<Order> findByIdempotencyKey(String idempotencyKey);
+
+    // Restaurant statistics: counts and sums run on idx_orders_restaurant_date instead of loading orders
+    long countByRestaurantRestaurantId(String restaurantId);
+
+    @Query("SELECT COALESCE(SUM(o.totalAmount), 0) FROM Order o WHERE o.restaurant.restaurantId = :restaurantId")
+    double sumTotalAmountByRestaurantId(@Param("restaurantId") String restaurantId);
+
+    // Item names by total quantity ordered, most ordered first
+    @Query("SELECT i.foodName FROM OrderItem i WHERE i.order.restaurant.restaurantId = :restaurantId"
+            + " GROUP BY i.foodName ORDER BY SUM(i.quantity) DESC")
+    List<String> findMostOrderedItemNames(@Param("restaurantId") String restaurantId, Limit limit);
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.frontdash.backend.repository;
+
+import com.frontdash.backend.entity.RestaurantHours;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based writes for restaurant_hours. Saving a week of hours (or hours for many
+ * restaurants) takes one multi-row upsert plus one bulk delete, instead of a save/delete per weekday.
+ * Relies on the (restaurant_id, weekday) unique key for the upsert.
+ */
+@Repository
+public class RestaurantHoursBatchRepository {
+    // Keeps a single statement's parameter count well under MySQL's placeholder limit
+    private static final int ROWS_PER_STATEMENT = 1000;
+
+    private final JdbcTemplate jdbc;
+
+    public RestaurantHoursBatchRepository(JdbcTemplate jdbc) { this.jdbc = jdbc; }
+
+    // Hours row keyed by restaurant, without loading entities into the persistence context
+    public record HoursRow(String restaurantId, int weekday, java.sql.Time opensAt, java.sql.Time closesAt, boolean isClosed) {
+        public static HoursRow of(String restaurantId, RestaurantHours h) {
+            return new HoursRow(restaurantId, h.getWeekday(), h.getOpensAt(), h.getClosesAt(), Boolean.TRUE.equals(h.getIsClosed()));
+        }
+    }
+
+    public Map<String, List<HoursRow>> findByRestaurantIds(Collection<String> restaurantIds) {
+        if (restaurantIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, List<HoursRow>> byRestaurant = new HashMap<>();
+        jdbc.query("SELECT restaurant_id, weekday, opens_at, closes_at, is_closed FROM restaurant_hours"
+                        + " WHERE restaurant_id IN (" + placeholders(restaurantIds.size()) + ")",
+                rs -> {
+                    HoursRow row = new HoursRow(rs.getString(1), rs.getInt(2), rs.getTime(3), rs.getTime(4), rs.getBoolean(5));
+                    byRestaurant.computeIfAbsent(row.restaurantId(), id -> new ArrayList<>()).add(row);
+                },
+                restaurantIds.toArray());
+        return byRestaurant;
+    }
+
+    public List<String> findExistingRestaurantIds(Collection<String> restaurantIds) {
+        if (restaurantIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return jdbc.queryForList("SELECT restaurant_id FROM restaurants WHERE restaurant_id IN ("
+                + placeholders(restaurantIds.size()) + ")", String.class, restaurantIds.toArray());
+    }
+
+    // INSERT ... ON DUPLICATE KEY UPDATE, as one statement per ROWS_PER_STATEMENT rows
+    public int upsert(List<HoursRow> rows) {
+        int affected = 0;
+        for (int from = 0; from < rows.size(); from += ROWS_PER_STATEMENT) {
+            List<HoursRow> chunk = rows.subList(from, Math.min(rows.size(), from + ROWS_PER_STATEMENT));
+            StringBuilder sql = new StringBuilder(
+                    "INSERT INTO restaurant_hours (restaurant_id, weekday, opens_at, closes_at, is_closed) VALUES ");
+            Object[] args = new Object[chunk.size() * 5];
+            int i = 0;
+            for (HoursRow row : chunk) {
+                sql.append(i == 0 ? "(?,?,?,?,?)" : ",(?,?,?,?,?)");
+                args[i++] = row.restaurantId();
+                args[i++] = row.weekday();
+                args[i++] = row.opensAt();
+                args[i++] = row.closesAt();
+                args[i++] = row.isClosed();
+            }
+            sql.append(" ON DUPLICATE KEY UPDATE opens_at = VALUES(opens_at), closes_at = VALUES(closes_at),"
+                    + " is_closed = VALUES(is_closed)");
+            affected += jdbc.update(sql.toString(), args);
+        }
+        return affected;
+    }
+
+    // Deletes exactly the given (restaurant_id, weekday) pairs
+    public int delete(List<HoursRow> rows) {
+        int affected = 0;
+        for (int from = 0; from < rows.size(); from += ROWS_PER_STATEMENT) {
+            List<HoursRow> chunk = rows.subList(from, Math.min(rows.size(), from + ROWS_PER_STATEMENT));
+            StringBuilder sql = new StringBuilder("DELETE FROM restaurant_hours WHERE (restaurant_id, weekday) IN (");
+            Object[] args = new Object[chunk.size() * 2];
+            int i = 0;
+            for (HoursRow row : chunk) {
+                sql.append(i == 0 ? "(?,?)" : ",(?,?)");
+                args[i++] = row.restaurantId();
+                args[i++] = row.weekday();
+            }
+            sql.append(")");
+            affected += jdbc.update(sql.toString(), args);
+        }
+        return affected;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+}
@@ -2,14 +2,18 @@ package com.frontdash.backend.repository;
 
 import com.frontdash.backend.entity.Restaurant;
 import com.frontdash.backend.entity.RestaurantHours;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RestaurantHoursRepository extends JpaRepository<RestaurantHours, Long> {
@@ -23,6 +27,11 @@ public interface RestaurantHoursRepository extends JpaRepository<RestaurantHours
     // Find all operating hours for a restaurant by restaurant ID
     @Query("SELECT rh FROM RestaurantHours rh WHERE rh.restaurant.restaurantId = :restaurantId")
     List<RestaurantHours> findByRestaurantId(@Param("restaurantId") String restaurantId);
+
+    // Every row grouped by restaurant, through a server-side cursor (startup warm-up; needs a transaction)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT rh FROM RestaurantHours rh ORDER BY rh.restaurant.restaurantId")
+    Stream<RestaurantHours> streamAllOrderByRestaurant();
     
     // Delete all operating hours for a restaurant
     @Modifying
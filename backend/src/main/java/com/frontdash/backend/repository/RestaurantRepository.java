@@ -1,13 +1,21 @@
 package com.frontdash.backend.repository;
 
 import com.frontdash.backend.entity.Restaurant;
+import com.frontdash.backend.entity.RestaurantListing;
+import com.frontdash.backend.entity.RestaurantSummary;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Time;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RestaurantRepository extends JpaRepository<Restaurant, String> {
@@ -26,6 +34,11 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, String>
     
     // Check if restaurant exists by email
     boolean existsByEmail(String email);
+
+    // Every restaurant through a server-side cursor, 1000 rows per round trip (startup warm-up; needs a transaction)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT r FROM Restaurant r")
+    Stream<Restaurant> streamAll();
     
     // Custom query to find restaurant with operating hours
     @Query("SELECT r FROM Restaurant r LEFT JOIN FETCH r.operatingHours WHERE r.restaurantId = :restaurantId")
@@ -34,4 +47,49 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, String>
     // Custom query to find restaurant with menu items
     @Query("SELECT r FROM Restaurant r LEFT JOIN FETCH r.menuItems WHERE r.restaurantId = :restaurantId")
     Optional<Restaurant> findByIdWithMenuItems(@Param("restaurantId") String restaurantId);
+
+    // Keyset-paginated listing (ordered by restaurant_id, resumes after :after) returning only the card fields.
+    // :openOnly keeps restaurants that are not force-closed and have hours covering :weekday/:time, or
+    // :yesterday's hours that run past midnight and have not closed yet (same rules as WeeklyHours).
+    // Kept flat (IS NOT TRUE, a ready-made LIKE pattern): Spring Data parses every @Query at startup and
+    // nested parentheses / CONCAT inside LIKE cost seconds each in its HQL parser.
+    String LISTING_FILTER = "FROM Restaurant r"
+            + " WHERE (:after IS NULL OR r.restaurantId > :after)"
+            + " AND (:city IS NULL OR r.city = :city)"
+            + " AND (:cuisine IS NULL OR r.cuisineType = :cuisine)"
+            + " AND (:namePattern IS NULL OR r.restaurantName LIKE :namePattern)"
+            + " AND (:openOnly = false OR r.forceClosed IS NOT TRUE AND (EXISTS ("
+            + "   SELECT h.hoursId FROM RestaurantHours h WHERE h.restaurant = r AND h.weekday = :weekday"
+            + "   AND h.isClosed IS NOT TRUE AND h.opensAt <= :time"
+            + "   AND (h.closesAt > :time OR h.closesAt <= h.opensAt))"
+            + "  OR EXISTS ("
+            + "   SELECT y.hoursId FROM RestaurantHours y WHERE y.restaurant = r AND y.weekday = :yesterday"
+            + "   AND y.isClosed IS NOT TRUE AND y.closesAt <= y.opensAt AND y.closesAt > :time)))"
+            + " ORDER BY r.restaurantId";
+
+    @Query("SELECT new com.frontdash.backend.entity.RestaurantSummary("
+            + "r.restaurantId, r.restaurantName, r.cuisineType, r.profilePictureRef) " + LISTING_FILTER)
+    List<RestaurantSummary> findSummaryPage(@Param("after") String after,
+                                            @Param("city") String city,
+                                            @Param("cuisine") String cuisine,
+                                            @Param("namePattern") String namePattern,
+                                            @Param("openOnly") boolean openOnly,
+                                            @Param("weekday") int weekday,
+                                            @Param("yesterday") int yesterday,
+                                            @Param("time") Time time,
+                                            Limit limit);
+
+    // Same filters, with address and contact columns for callers that request them
+    @Query("SELECT new com.frontdash.backend.entity.RestaurantListing("
+            + "r.restaurantId, r.restaurantName, r.cuisineType, r.profilePictureRef, r.street, r.city, r.state, r.zip,"
+            + " r.phone, r.email, r.forceClosed) " + LISTING_FILTER)
+    List<RestaurantListing> findListingPage(@Param("after") String after,
+                                            @Param("city") String city,
+                                            @Param("cuisine") String cuisine,
+                                            @Param("namePattern") String namePattern,
+                                            @Param("openOnly") boolean openOnly,
+                                            @Param("weekday") int weekday,
+                                            @Param("yesterday") int yesterday,
+                                            @Param("time") Time time,
+                                            Limit limit);
 }
\ No newline at end of file
@@ -1,32 +1,46 @@
 package com.frontdash.backend.repository;
 
-import org.springframework.jdbc.core.JdbcTemplate;
+import com.frontdash.backend.entity.StaffCredentials;
+import com.frontdash.backend.entity.StaffRecord;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Repository;
 
-import java.util.Map;
+import java.util.List;
 
 @Repository
+@Lazy
 public class StaffManagementRepository {
-    private final JdbcTemplate jdbc;
+    private final StoredProcedure<StaffCredentials> createStaff;
+    private final StoredProcedure<StaffRecord> inactivateStaff;
 
-    public StaffManagementRepository(JdbcTemplate jdbc) {
-        this.jdbc = jdbc;
+    public StaffManagementRepository(StoredProcedures procedures) {
+        this.createStaff = procedures.define("sp_create_staff", 7, (rs, i) -> new StaffCredentials(
+                rs.getString("user_id"), rs.getString("username"), rs.getString("temp_password")));
+        this.inactivateStaff = procedures.define("sp_inactivate_staff", 1, (rs, i) -> new StaffRecord(
+                rs.getString("user_id"), rs.getString("first_name"), rs.getString("last_name"),
+                rs.getBoolean("active")));
     }
 
-    public Map<String, Object> createStaff(String userId,
-                                           int roleId,
-                                           String firstName,
-                                           String lastName,
-                                           String email,
-                                           String phone,
-                                           String username) {
-        return jdbc.queryForMap(
-                "CALL sp_create_staff(?,?,?,?,?,?,?)",
-                userId, roleId, firstName, lastName, email, phone, username
-        );
+    public StaffCredentials createStaff(String userId,
+                                        int roleId,
+                                        String firstName,
+                                        String lastName,
+                                        String email,
+                                        String phone,
+                                        String username) {
+        return createStaff.call(userId, roleId, firstName, lastName, email, phone, username);
     }
 
-    public Map<String, Object> inactivateStaff(String userId) {
-        return jdbc.queryForMap("CALL sp_inactivate_staff(?)", userId);
+    public StaffRecord inactivateStaff(String userId) {
+        return inactivateStaff.call(userId);
+    }
+
+    // Bulk variants: one connection and statement for all rows (see StoredProcedure.callBatch)
+    public List<StaffCredentials> createStaff(List<Object[]> rows) {
+        return createStaff.callBatch(rows);
+    }
+
+    public List<StaffRecord> inactivateStaff(List<Object[]> userIds) {
+        return inactivateStaff.callBatch(userIds);
     }
 }
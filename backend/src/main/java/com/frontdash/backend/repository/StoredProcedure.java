@@ -0,0 +1,122 @@
+package com.frontdash.backend.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.core.CallableStatementCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+
+import java.sql.CallableStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One stored procedure with IN parameters that answers with a single-row SELECT (the convention
+ * of V2__stored_procedures.sql). The JDBC call string is built once, the row goes straight
+ * through a RowMapper into a record, and every call is timed as frontdash.db.procedure.
+ * Create instances through StoredProcedures.
+ */
+public final class StoredProcedure<R> {
+
+    private final JdbcTemplate jdbc;
+    private final String name;
+    private final String call;
+    private final int parameterCount;
+    private final RowMapper<R> mapper;
+    private final Timer success;
+    private final Timer error;
+
+    StoredProcedure(JdbcTemplate jdbc, MeterRegistry registry, String name, int parameterCount, RowMapper<R> mapper) {
+        this.jdbc = jdbc;
+        this.name = name;
+        this.parameterCount = parameterCount;
+        this.mapper = mapper;
+        this.call = "{call " + name + "(" + String.join(",", Collections.nCopies(parameterCount, "?")) + ")}";
+        this.success = timer(registry, name, "success");
+        this.error = timer(registry, name, "error");
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String outcome) {
+        return Timer.builder("frontdash.db.procedure")
+                .description("Stored routine call latency")
+                .tag("procedure", name)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public R call(Object... args) {
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            R row = jdbc.execute(call, (CallableStatementCallback<R>) cs -> execute(cs, args));
+            ok = true;
+            return row;
+        } finally {
+            (ok ? success : error).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Calls the procedure once per argument row on one connection and one CallableStatement.
+     * Results come back in input order; the first failing row throws and ends the batch, so run it
+     * inside a transaction when the rows must succeed or fail together.
+     */
+    public List<R> callBatch(List<Object[]> argRows) {
+        if (argRows.isEmpty()) {
+            return List.of();
+        }
+        return jdbc.execute(call, (CallableStatementCallback<List<R>>) cs -> {
+            List<R> rows = new ArrayList<>(argRows.size());
+            for (Object[] args : argRows) {
+                long start = System.nanoTime();
+                boolean ok = false;
+                try {
+                    rows.add(execute(cs, args));
+                    ok = true;
+                } finally {
+                    (ok ? success : error).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+                cs.clearParameters();
+            }
+            return rows;
+        });
+    }
+
+    private R execute(CallableStatement cs, Object[] args) throws SQLException {
+        if (args.length != parameterCount) {
+            throw new IllegalArgumentException(name + " takes " + parameterCount + " arguments, got " + args.length);
+        }
+        for (int i = 0; i < args.length; i++) {
+            StatementCreatorUtils.setParameterValue(cs, i + 1, SqlTypeValue.TYPE_UNKNOWN, args[i]);
+        }
+        R row = null;
+        boolean found = false;
+        // A CALL answers with its result set(s) followed by a status update count; read them all
+        boolean isResultSet = cs.execute();
+        while (isResultSet || cs.getUpdateCount() != -1) {
+            if (isResultSet) {
+                try (ResultSet rs = cs.getResultSet()) {
+                    if (!found && rs.next()) {
+                        row = mapper.mapRow(rs, 0);
+                        found = true;
+                    }
+                }
+            }
+            isResultSet = cs.getMoreResults();
+        }
+        if (!found) {
+            throw new RuntimeException(name + " returned no row");
+        }
+        return row;
+    }
+}
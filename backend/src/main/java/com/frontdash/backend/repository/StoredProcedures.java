@@ -0,0 +1,25 @@
+package com.frontdash.backend.repository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+/**
+ * Factory for StoredProcedure handles. Repositories define theirs once, in the constructor,
+ * and keep them in final fields.
+ */
+@Component
+public class StoredProcedures {
+    private final JdbcTemplate jdbc;
+    private final MeterRegistry registry;
+
+    public StoredProcedures(JdbcTemplate jdbc, MeterRegistry registry) {
+        this.jdbc = jdbc;
+        this.registry = registry;
+    }
+
+    public <R> StoredProcedure<R> define(String name, int parameterCount, RowMapper<R> mapper) {
+        return new StoredProcedure<>(jdbc, registry, name, parameterCount, mapper);
+    }
+}
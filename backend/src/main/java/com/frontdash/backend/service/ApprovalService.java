@@ -1,26 +1,135 @@
 package com.frontdash.backend.service;
 
+import com.frontdash.backend.entity.ApprovalPage;
+import com.frontdash.backend.entity.ApprovalRecord;
 import com.frontdash.backend.repository.ApprovalRepository;
+import com.frontdash.backend.service.BulkOnboardingService.BulkResult;
+import com.frontdash.backend.service.BulkOnboardingService.RowOutcome;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 @Service
+@Lazy
 public class ApprovalService {
+    public static final int MAX_BULK_DECISIONS = 500;
+
     private final ApprovalRepository repo;
+    private final PendingApprovals pending;
+    private final RestaurantCacheWarmer cacheWarmer;
+    private final TransactionTemplate transactionTemplate;
+
+    public ApprovalService(ApprovalRepository repo, PendingApprovals pending, RestaurantCacheWarmer cacheWarmer,
+                           PlatformTransactionManager transactionManager) {
+        this.repo = repo;
+        this.pending = pending;
+        this.cacheWarmer = cacheWarmer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public ApprovalRecord request(String restaurantId) {
+        ApprovalRecord record = repo.requestRegistration(restaurantId);
+        pending.requested(record.restaurantId(), record.requestedAt());
+        return record;
+    }
 
-    public ApprovalService(ApprovalRepository repo) { this.repo = repo; }
+    public ApprovalRecord decide(String restaurantId, String status, String adminId) {
+        ApprovalRecord record = repo.decideRegistration(restaurantId, status, adminId);
+        decided(List.of(record));
+        return record;
+    }
+
+    /**
+     * Same decision for many restaurants: one transaction over one CALL statement, falling back to
+     * one call per restaurant when any of them is refused (e.g. no longer pending), so the others
+     * still go through. Outcomes come back in request order.
+     */
+    public BulkResult decideAll(List<String> restaurantIds, String status, String adminId) {
+        if (restaurantIds == null || restaurantIds.isEmpty()) {
+            throw new RuntimeException("restaurantIds is required");
+        }
+        if (restaurantIds.size() > MAX_BULK_DECISIONS) {
+            throw new RuntimeException("At most " + MAX_BULK_DECISIONS + " decisions per request");
+        }
+        List<Object[]> rows = new ArrayList<>(restaurantIds.size());
+        for (String restaurantId : restaurantIds) {
+            rows.add(new Object[]{restaurantId, status, adminId});
+        }
+        List<RowOutcome> outcomes = new ArrayList<>(rows.size());
+        List<ApprovalRecord> done = new ArrayList<>(rows.size());
+        try {
+            done.addAll(transactionTemplate.execute(tx -> repo.decideRegistrations(rows)));
+            for (int i = 0; i < done.size(); i++) {
+                outcomes.add(new RowOutcome(i + 1, restaurantIds.get(i), status, done.get(i), null));
+            }
+        } catch (DataAccessException e) {
+            for (int i = 0; i < rows.size(); i++) {
+                try {
+                    ApprovalRecord record = repo.decideRegistrations(List.<Object[]>of(rows.get(i))).get(0);
+                    done.add(record);
+                    outcomes.add(new RowOutcome(i + 1, restaurantIds.get(i), status, record, null));
+                } catch (DataAccessException ex) {
+                    outcomes.add(new RowOutcome(i + 1, restaurantIds.get(i), "failed", null,
+                            ex.getMostSpecificCause().getMessage()));
+                }
+            }
+        }
+        decided(done);
+        return new BulkResult(rows.size(), done.size(), rows.size() - done.size(), false, null, outcomes);
+    }
+
+    // Oldest first; pass the previous page's nextCursor as "after"
+    public ApprovalPage getPendingPage(String after, int size) {
+        LocalDateTime afterRequestedAt = null;
+        String afterId = null;
+        if (after != null && !after.isBlank()) {
+            int split = after.indexOf('_');
+            if (split < 0) {
+                throw new RuntimeException("Invalid cursor: " + after);
+            }
+            try {
+                afterRequestedAt = LocalDateTime.parse(after.substring(0, split));
+            } catch (DateTimeParseException e) {
+                throw new RuntimeException("Invalid cursor: " + after);
+            }
+            afterId = after.substring(split + 1);
+        }
+        List<ApprovalRecord> rows = repo.findPending(afterRequestedAt, afterId, size + 1);
+        boolean hasMore = rows.size() > size;
+        List<ApprovalRecord> page = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            ApprovalRecord last = page.get(page.size() - 1);
+            nextCursor = last.requestedAt() + "_" + last.restaurantId();
+        }
+        return new ApprovalPage(new ArrayList<>(page), nextCursor);
+    }
 
-    public Map<String,Object> request(String restaurantId) {
-        return repo.requestRegistration(restaurantId);
+    public List<ApprovalRecord> getPending(int limit) {
+        return repo.findPending(null, null, limit);
     }
 
-    public Map<String,Object> decide(String restaurantId, String status, String adminId) {
-        return repo.decideRegistration(restaurantId, status, adminId);
+    public Map<String, Object> getQueueStats() {
+        return pending.summary();
     }
 
-    public List<Map<String, Object>> getPending() {
-        return repo.findPending();
+    // Approved restaurants get their caches loaded now so their first customers do not wait for it
+    private void decided(List<ApprovalRecord> records) {
+        List<String> approved = new ArrayList<>();
+        for (ApprovalRecord record : records) {
+            pending.decided(record.restaurantId(), record.approvalStatus(), record.decidedAt());
+            if ("approved".equals(record.approvalStatus())) {
+                approved.add(record.restaurantId());
+            }
+        }
+        cacheWarmer.warmAsync(approved);
     }
 }
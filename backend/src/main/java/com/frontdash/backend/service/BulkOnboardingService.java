@@ -0,0 +1,338 @@
+package com.frontdash.backend.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.frontdash.backend.repository.DriverRepository;
+import com.frontdash.backend.repository.StaffManagementRepository;
+import com.frontdash.backend.service.MenuImportService.Format;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bulk driver/staff onboarding and offboarding. The upload (CSV with a header row, or a JSON array
+ * using the field names of the single-person endpoints) is read one row at a time; valid rows are
+ * sent to the stored procedure in chunks of CHUNK_SIZE, each chunk in one transaction on one
+ * CallableStatement. A chunk that fails is redone row by row so every row gets its own outcome.
+ * If the upload cannot be read to the end (malformed CSV/JSON), the rows before that point are
+ * still committed and reported, and the result carries the parse error.
+ */
+@Service
+@Lazy
+public class BulkOnboardingService {
+
+    public static final int CHUNK_SIZE = 100;
+    // Every row gets an outcome in the response, so one upload is capped
+    public static final int MAX_ROWS = 10_000;
+    private static final int MAX_NAME_LENGTH = 255;
+
+    private static final String[] DRIVER_FIELDS = {"firstName", "lastName"};
+    private static final String[] STAFF_FIELDS = {"userId", "roleId", "firstName", "lastName", "email", "phone", "username"};
+    private static final String[] ID_FIELDS = {"id"};
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record RowOutcome(long row, String id, String status, Object result, String error) {}
+
+    // error: why the upload could not be read to the end (null when it was)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record BulkResult(long rowsRead, long succeeded, long failed, boolean truncated, String error,
+                             List<RowOutcome> rows) {}
+
+    private final DriverRepository driverRepository;
+    private final StaffManagementRepository staffRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public BulkOnboardingService(DriverRepository driverRepository,
+                                 StaffManagementRepository staffRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.driverRepository = driverRepository;
+        this.staffRepository = staffRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public BulkResult createDrivers(InputStream in, Format format) {
+        Chunker chunker = new Chunker("created", driverRepository::createDrivers) {
+            @Override
+            String validate(Map<String, String> values) {
+                return firstError(required(values, "firstName"), required(values, "lastName"));
+            }
+
+            @Override
+            Object[] args(Map<String, String> values) {
+                return new Object[] {values.get("firstName").trim(), values.get("lastName").trim()};
+            }
+        };
+        return chunker.run(in, format, DRIVER_FIELDS);
+    }
+
+    public BulkResult inactivateDrivers(InputStream in, Format format) {
+        return idChunker(driverRepository::inactivateDrivers).run(in, format, ID_FIELDS);
+    }
+
+    public BulkResult createStaff(InputStream in, Format format) {
+        Chunker chunker = new Chunker("created", staffRepository::createStaff) {
+            @Override
+            String validate(Map<String, String> values) {
+                String roleId = trimToNull(values.get("roleId"));
+                if (roleId != null && !roleId.matches("\\d{1,9}")) {
+                    return "roleId must be a whole number";
+                }
+                return firstError(required(values, "firstName"), required(values, "lastName"), required(values, "email"));
+            }
+
+            @Override
+            String id(Map<String, String> values) {
+                return trimToNull(values.get("userId"));
+            }
+
+            @Override
+            Object[] args(Map<String, String> values) {
+                String userId = StaffManagementService.userIdOrDefault(trimToNull(values.get("userId")));
+                String email = values.get("email").trim();
+                String roleId = trimToNull(values.get("roleId"));
+                return new Object[] {userId, roleId != null ? Integer.parseInt(roleId) : 0,
+                        values.get("firstName").trim(), values.get("lastName").trim(), email,
+                        trimToNull(values.get("phone")),
+                        StaffManagementService.usernameOrDefault(trimToNull(values.get("username")), email, userId)};
+            }
+        };
+        return chunker.run(in, format, STAFF_FIELDS);
+    }
+
+    public BulkResult inactivateStaff(InputStream in, Format format) {
+        return idChunker(staffRepository::inactivateStaff).run(in, format, ID_FIELDS);
+    }
+
+    private Chunker idChunker(Function<List<Object[]>, List<?>> procedure) {
+        return new Chunker("inactivated", procedure) {
+            @Override
+            String validate(Map<String, String> values) {
+                return required(values, "id");
+            }
+
+            @Override
+            Object[] args(Map<String, String> values) {
+                return new Object[] {values.get("id").trim()};
+            }
+        };
+    }
+
+    private static String required(Map<String, String> values, String field) {
+        String value = trimToNull(values.get(field));
+        if (value == null) return field + " is required";
+        if (value.length() > MAX_NAME_LENGTH) return field + " must be at most " + MAX_NAME_LENGTH + " characters";
+        return null;
+    }
+
+    private static String firstError(String... errors) {
+        for (String error : errors) {
+            if (error != null) return error;
+        }
+        return null;
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) return null;
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    // Collects valid rows into chunks for one procedure and keeps the outcome of every row
+    private abstract class Chunker {
+        private final String successStatus;
+        private final Function<List<Object[]>, List<?>> procedure;
+        private final List<Object[]> chunk = new ArrayList<>(CHUNK_SIZE);
+        private final List<Long> chunkRows = new ArrayList<>(CHUNK_SIZE);
+        private final List<String> chunkIds = new ArrayList<>(CHUNK_SIZE);
+        private final List<RowOutcome> outcomes = new ArrayList<>();
+        private long rowsRead;
+        private long succeeded;
+        private long failed;
+        private boolean truncated;
+
+        Chunker(String successStatus, Function<List<Object[]>, List<?>> procedure) {
+            this.successStatus = successStatus;
+            this.procedure = procedure;
+        }
+
+        abstract String validate(Map<String, String> values);
+
+        abstract Object[] args(Map<String, String> values);
+
+        String id(Map<String, String> values) {
+            return trimToNull(values.get("id"));
+        }
+
+        BulkResult run(InputStream in, Format format, String[] fields) {
+            String error = null;
+            try {
+                if (format == Format.CSV) {
+                    readCsv(in, fields);
+                } else {
+                    readJson(in);
+                }
+            } catch (IOException | RuntimeException e) {
+                // Rows read before the bad input are still sent, so their outcomes are reported with the error
+                error = e.getMessage();
+            }
+            flush();
+            outcomes.sort((a, b) -> Long.compare(a.row(), b.row()));
+            return new BulkResult(rowsRead, succeeded, failed, truncated, error, outcomes);
+        }
+
+        // false once MAX_ROWS rows have been taken; the rest of the upload is not read
+        private boolean accept(long rowNumber, Map<String, String> values) {
+            if (rowsRead == MAX_ROWS) {
+                truncated = true;
+                return false;
+            }
+            rowsRead++;
+            String error = validate(values);
+            if (error != null) {
+                fail(rowNumber, id(values), error);
+                return true;
+            }
+            chunk.add(args(values));
+            chunkRows.add(rowNumber);
+            chunkIds.add(id(values));
+            if (chunk.size() == CHUNK_SIZE) {
+                flush();
+            }
+            return true;
+        }
+
+        private boolean reject(long rowNumber, String message) {
+            if (rowsRead == MAX_ROWS) {
+                truncated = true;
+                return false;
+            }
+            rowsRead++;
+            fail(rowNumber, null, message);
+            return true;
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<?> results = null;
+            try {
+                results = transactionTemplate.execute(status -> procedure.apply(chunk));
+            } catch (RuntimeException e) {
+                // Rolled back: SQL errors, or a call that "returned no row"
+            }
+            if (results != null) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    succeed(i, results.get(i));
+                }
+            } else {
+                // Redo the chunk one row per transaction to find the rows the procedure refuses
+                for (int i = 0; i < chunk.size(); i++) {
+                    List<Object[]> single = List.<Object[]>of(chunk.get(i));
+                    try {
+                        succeed(i, transactionTemplate.execute(status -> procedure.apply(single)).get(0));
+                    } catch (DataAccessException ex) {
+                        fail(chunkRows.get(i), chunkIds.get(i), ex.getMostSpecificCause().getMessage());
+                    } catch (RuntimeException ex) {
+                        fail(chunkRows.get(i), chunkIds.get(i), ex.getMessage());
+                    }
+                }
+            }
+            chunk.clear();
+            chunkRows.clear();
+            chunkIds.clear();
+        }
+
+        private void succeed(int index, Object result) {
+            succeeded++;
+            outcomes.add(new RowOutcome(chunkRows.get(index), chunkIds.get(index), successStatus, result, null));
+        }
+
+        private void fail(long rowNumber, String id, String message) {
+            failed++;
+            outcomes.add(new RowOutcome(rowNumber, id, "failed", null, message));
+        }
+
+        private void readCsv(InputStream in, String[] fields) throws IOException {
+            CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+            List<String> header = csv.next();
+            if (header == null) {
+                return;
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).replace("\uFEFF", "").trim();
+                for (String field : fields) {
+                    if (field.equalsIgnoreCase(name)) {
+                        columns.put(field, i);
+                    }
+                }
+            }
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                Map<String, String> values = new HashMap<>();
+                for (Map.Entry<String, Integer> column : columns.entrySet()) {
+                    if (column.getValue() < record.size()) {
+                        values.put(column.getKey(), record.get(column.getValue()));
+                    }
+                }
+                // Header is record 1, so data rows are numbered from 1 as well
+                if (!accept(csv.getRecordNumber() - 1, values)) {
+                    return;
+                }
+            }
+        }
+
+        private void readJson(InputStream in) throws IOException {
+            try (JsonParser parser = jsonFactory.createParser(in)) {
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new RuntimeException("JSON upload must be an array of objects");
+                }
+                long rowNumber = 0;
+                JsonToken token;
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == null) {
+                        throw new RuntimeException("Unexpected end of JSON after row " + rowNumber);
+                    }
+                    rowNumber++;
+                    if (token != JsonToken.START_OBJECT) {
+                        parser.skipChildren();
+                        if (!reject(rowNumber, "row must be a JSON object")) {
+                            return;
+                        }
+                        continue;
+                    }
+                    Map<String, String> values = new HashMap<>();
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String field = parser.currentName();
+                        JsonToken value = parser.nextToken();
+                        if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                            parser.skipChildren();
+                        } else if (value != JsonToken.VALUE_NULL) {
+                            values.put(field, parser.getText());
+                        }
+                    }
+                    if (!accept(rowNumber, values)) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+}
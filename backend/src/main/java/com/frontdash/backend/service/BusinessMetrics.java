@@ -0,0 +1,50 @@
+package com.frontdash.backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Business counters, registered once at startup so the hot paths only increment.
+ * Orders per second is rate(frontdash_orders_placed_total) on the scrape side.
+ */
+@Component
+public class BusinessMetrics {
+
+    private final Counter ordersCreated;
+    private final DistributionSummary itemsPerOrder;
+    private final Counter priceTableHits;
+    private final Counter priceTableMisses;
+
+    public BusinessMetrics(MeterRegistry registry) {
+        ordersCreated = Counter.builder("frontdash.orders.placed")
+                .description("Orders committed by checkout")
+                .register(registry);
+        itemsPerOrder = DistributionSummary.builder("frontdash.order.items")
+                .description("Item quantity per order")
+                .baseUnit("items")
+                .register(registry);
+        priceTableHits = Counter.builder("frontdash.menu.price_table.lookups")
+                .description("Checkout menu lookups served from memory (hit) or loaded from the database (miss)")
+                .tag("result", "hit")
+                .register(registry);
+        priceTableMisses = Counter.builder("frontdash.menu.price_table.lookups")
+                .description("Checkout menu lookups served from memory (hit) or loaded from the database (miss)")
+                .tag("result", "miss")
+                .register(registry);
+    }
+
+    public void orderCreated(int itemCount) {
+        ordersCreated.increment();
+        itemsPerOrder.record(itemCount);
+    }
+
+    public void priceTableHit() {
+        priceTableHits.increment();
+    }
+
+    public void priceTableMiss() {
+        priceTableMisses.increment();
+    }
+}
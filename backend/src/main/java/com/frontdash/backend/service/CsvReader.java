@@ -0,0 +1,111 @@
+package com.frontdash.backend.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader: one record at a time, quoted fields may contain commas, quotes ("")
+ * and line breaks. Holds at most one record in memory, so arbitrarily long files stream through.
+ */
+public class CsvReader {
+    // Guards against a runaway (e.g. unterminated) quoted field swallowing the whole upload
+    private static final int MAX_FIELD_LENGTH = 65_535;
+    // First characters that make spreadsheets evaluate a cell
+    private static final String FORMULA_START = "=+-@\t\r";
+
+    private final Reader in;
+    private long recordNumber;
+
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    // Next record's fields, or null at end of input. Blank lines are skipped
+    public List<String> next() throws IOException {
+        List<String> record;
+        do {
+            record = readRecord();
+        } while (record != null && record.size() == 1 && record.get(0).isEmpty());
+        if (record != null) {
+            recordNumber++;
+        }
+        return record;
+    }
+
+    // 1-based number of the record last returned by next()
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    // Quotes a value for output when it contains a separator, quote or line break
+    public static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    // quote() for a text cell of an export: a value a spreadsheet would run as a formula is kept as
+    // text by prefixing a single quote
+    public static String quoteCell(String value) {
+        if (value != null && !value.isEmpty() && FORMULA_START.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        return quote(value);
+    }
+
+    // Drops the prefix quoteCell() adds, so an exported file imports back unchanged
+    public static String unquoteCell(String value) {
+        if (value != null && value.length() > 1 && value.charAt(0) == '\''
+                && FORMULA_START.indexOf(value.charAt(1)) >= 0) {
+            return value.substring(1);
+        }
+        return value;
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = in.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field in record " + (recordNumber + 1));
+                }
+                if (c == '"') {
+                    int next = in.read();
+                    if (next != '"') {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            if (field.length() > MAX_FIELD_LENGTH) {
+                throw new IOException("Field longer than " + MAX_FIELD_LENGTH + " characters in record " + (recordNumber + 1));
+            }
+            c = in.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,144 @@
+package com.frontdash.backend.service;
+
+import com.frontdash.backend.repository.DeliveryTimesRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Delivery-time percentiles per driver and per restaurant, kept in memory as LatencySketches and
+ * fed by OrderService each time an order is delivered. Reading them never touches the database;
+ * the platform-wide figures are the per-restaurant sketches merged on request.
+ * Deliveries from the last seed-days are reloaded at startup (one range scan on delivered_at).
+ * The reload stops at the moment this service was created, so a delivery completed while it runs
+ * is counted once, by recordDelivery.
+ */
+@Service
+public class DeliveryStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(DeliveryStatsService.class);
+
+    // total: placed -> delivered; prep: placed -> picked up; travel: picked up -> delivered
+    private static final class Times {
+        final LatencySketch total = new LatencySketch();
+        final LatencySketch prep = new LatencySketch();
+        final LatencySketch travel = new LatencySketch();
+        volatile LocalDateTime lastDeliveredAt;
+
+        void record(LocalDateTime placedAt, LocalDateTime pickedUpAt, LocalDateTime deliveredAt) {
+            total.record(ChronoUnit.SECONDS.between(placedAt, deliveredAt));
+            if (pickedUpAt != null) {
+                prep.record(ChronoUnit.SECONDS.between(placedAt, pickedUpAt));
+                travel.record(ChronoUnit.SECONDS.between(pickedUpAt, deliveredAt));
+            }
+            LocalDateTime last = lastDeliveredAt;
+            if (last == null || deliveredAt.isAfter(last)) {
+                lastDeliveredAt = deliveredAt;
+            }
+        }
+
+        void mergeInto(Times target) {
+            target.total.merge(total);
+            target.prep.merge(prep);
+            target.travel.merge(travel);
+            LocalDateTime last = lastDeliveredAt;
+            if (last != null && (target.lastDeliveredAt == null || last.isAfter(target.lastDeliveredAt))) {
+                target.lastDeliveredAt = last;
+            }
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("deliveries", total.getCount());
+            map.put("lastDeliveredAt", lastDeliveredAt);
+            map.put("total", total.summary());
+            map.put("prep", prep.summary());
+            map.put("travel", travel.summary());
+            return map;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Times> byDriver = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Times> byRestaurant = new ConcurrentHashMap<>();
+    private final DeliveryTimesRepository repository;
+    private final int seedDays;
+    // Taken before the web server accepts requests, so every live delivery is stamped after it
+    private final LocalDateTime seedUntil = LocalDateTime.now();
+
+    public DeliveryStatsService(DeliveryTimesRepository repository,
+                                @Value("${frontdash.stats.delivery.seed-days:30}") int seedDays) {
+        this.repository = repository;
+        this.seedDays = seedDays;
+    }
+
+    /** One delivered order; pickedUpAt and driverId may be null (delivered without the pickup step). */
+    public void recordDelivery(String restaurantId, String driverId, LocalDateTime placedAt,
+                               LocalDateTime pickedUpAt, LocalDateTime deliveredAt) {
+        if (placedAt == null || deliveredAt == null || deliveredAt.isBefore(placedAt)) {
+            return; // broken clocks or rows from before the lifecycle columns existed
+        }
+        if (pickedUpAt != null && (pickedUpAt.isBefore(placedAt) || pickedUpAt.isAfter(deliveredAt))) {
+            pickedUpAt = null;
+        }
+        if (restaurantId != null) {
+            byRestaurant.computeIfAbsent(restaurantId, id -> new Times()).record(placedAt, pickedUpAt, deliveredAt);
+        }
+        if (driverId != null) {
+            byDriver.computeIfAbsent(driverId, id -> new Times()).record(placedAt, pickedUpAt, deliveredAt);
+        }
+    }
+
+    public Map<String, Object> forDriver(String driverId) {
+        return withId("driverId", driverId, byDriver.get(driverId));
+    }
+
+    public Map<String, Object> forRestaurant(String restaurantId) {
+        return withId("restaurantId", restaurantId, byRestaurant.get(restaurantId));
+    }
+
+    public Map<String, Object> overall() {
+        Times merged = new Times();
+        byRestaurant.values().forEach(times -> times.mergeInto(merged));
+        Map<String, Object> map = merged.toMap();
+        map.put("restaurants", byRestaurant.size());
+        map.put("drivers", byDriver.size());
+        return map;
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        if (seedDays <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        int[] loaded = new int[1];
+        try {
+            repository.forEachDeliveredBetween(seedUntil.minusDays(seedDays), seedUntil,
+                    (restaurantId, driverId, placedAt, pickedUpAt, deliveredAt) -> {
+                        recordDelivery(restaurantId, driverId, placedAt, pickedUpAt, deliveredAt);
+                        loaded[0]++;
+                    });
+            log.info("Loaded {} deliveries from the last {} days into delivery stats in {} ms",
+                    loaded[0], seedDays, (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            // Stats start from the live feed only; nothing else depends on the reload
+            log.warn("Could not reload delivery stats: {}", e.getMessage());
+        }
+    }
+
+    private static Map<String, Object> withId(String key, String id, Times times) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put(key, id);
+        map.putAll((times != null ? times : new Times()).toMap());
+        return map;
+    }
+}
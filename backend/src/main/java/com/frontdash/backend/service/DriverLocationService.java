@@ -0,0 +1,138 @@
+package com.frontdash.backend.service;
+
+import com.frontdash.backend.entity.DriverLocationUpdate;
+import com.frontdash.backend.entity.DriverPosition;
+import com.frontdash.backend.entity.GeoPoint;
+import com.frontdash.backend.repository.DriverJpaRepository;
+import com.frontdash.backend.repository.DriverLocationHistoryRepository;
+import com.frontdash.backend.repository.DriverLocationHistoryRepository.Point;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Driver location ingest and nearest-driver lookup on top of DriverLocationStore. A driver id is
+ * checked against the database only the first time it reports; later updates never touch it.
+ * Sampled history points are written by a scheduled job, flush-batch rows per INSERT batch.
+ */
+@Service
+public class DriverLocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(DriverLocationService.class);
+
+    // Device clocks drift; reports from further in the future are clamped to now
+    private static final long MAX_CLOCK_SKEW_MS = 60_000;
+
+    private final DriverLocationStore store;
+    private final DriverJpaRepository driverRepository;
+    private final DriverLocationHistoryRepository historyRepository;
+    private final long maxAgeMs;
+    private final int flushBatch;
+
+    public DriverLocationService(DriverLocationStore store,
+                                 DriverJpaRepository driverRepository,
+                                 DriverLocationHistoryRepository historyRepository,
+                                 MeterRegistry registry,
+                                 @Value("${frontdash.drivers.location.max-age-seconds:120}") long maxAgeSeconds,
+                                 @Value("${frontdash.drivers.location.flush-batch:1000}") int flushBatch) {
+        this.store = store;
+        this.driverRepository = driverRepository;
+        this.historyRepository = historyRepository;
+        this.maxAgeMs = maxAgeSeconds * 1000;
+        this.flushBatch = flushBatch;
+        Gauge.builder("frontdash.drivers.location.tracked", store, DriverLocationStore::trackedDrivers)
+                .description("Drivers with a slot in the in-memory location store")
+                .register(registry);
+        Gauge.builder("frontdash.drivers.location.history_dropped", store, DriverLocationStore::getDroppedHistory)
+                .description("History points overwritten before they were saved")
+                .register(registry);
+    }
+
+    public void record(DriverLocationUpdate update) {
+        if (update.driverId == null || update.driverId.isBlank()) {
+            throw new RuntimeException("driverId is required");
+        }
+        if (update.latitude == null || update.longitude == null
+                || !(update.latitude >= -90 && update.latitude <= 90)
+                || !(update.longitude >= -180 && update.longitude <= 180)) {
+            throw new RuntimeException("latitude must be within [-90, 90] and longitude within [-180, 180]");
+        }
+        long now = System.currentTimeMillis();
+        long recordedAt = update.recordedAt == null ? now : Math.min(update.recordedAt, now + MAX_CLOCK_SKEW_MS);
+        if (!store.update(update.driverId, update.latitude, update.longitude, recordedAt)) {
+            // First report from this driver: make sure it exists before giving it a slot
+            if (!driverRepository.existsById(update.driverId)) {
+                throw new RuntimeException("Driver not found: " + update.driverId);
+            }
+            if (!store.register(update.driverId)) {
+                throw new RuntimeException("Driver location store is full");
+            }
+            store.update(update.driverId, update.latitude, update.longitude, recordedAt);
+        }
+    }
+
+    public Optional<DriverPosition> latest(String driverId) {
+        double[] position = new double[3];
+        if (!store.latest(driverId, position)) {
+            return Optional.empty();
+        }
+        return Optional.of(new DriverPosition(driverId, position[0], position[1], (long) position[2], null));
+    }
+
+    /**
+     * Nearest drivers to the point that reported within max-age-seconds and are active and not on
+     * an order. Candidates come from memory; availability is checked in one query for a few of them.
+     */
+    public List<DriverPosition> nearestAvailable(GeoPoint point, int limit) {
+        // Some of the closest drivers will be busy, so rank more than we return
+        int candidates = Math.max(limit * 4, 20);
+        String[] ids = new String[candidates];
+        double[] distances = new double[candidates];
+        int found = store.nearest(point.latitude(), point.longitude(),
+                System.currentTimeMillis() - maxAgeMs, ids, distances);
+        if (found == 0) {
+            return List.of();
+        }
+        Set<String> available = new HashSet<>(driverRepository.findAvailableIds(Arrays.asList(ids).subList(0, found)));
+        List<DriverPosition> nearest = new ArrayList<>(limit);
+        double[] position = new double[3];
+        for (int i = 0; i < found && nearest.size() < limit; i++) {
+            if (available.contains(ids[i]) && store.latest(ids[i], position)) {
+                nearest.add(new DriverPosition(ids[i], position[0], position[1], (long) position[2], distances[i]));
+            }
+        }
+        return nearest;
+    }
+
+    @Scheduled(fixedDelayString = "${frontdash.drivers.location.flush-ms:5000}")
+    public void flushHistory() {
+        List<Point> points = new ArrayList<>(flushBatch);
+        try {
+            while (store.drainHistory(flushBatch,
+                    (driverId, latitude, longitude, recordedAt) -> points.add(new Point(driverId, latitude, longitude, recordedAt))) > 0) {
+                historyRepository.insert(points);
+                points.clear();
+            }
+        } catch (RuntimeException e) {
+            // History is best effort: the batch is lost, ingest and the latest positions carry on
+            log.warn("Could not save {} driver location history points: {}", points.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flushHistory();
+    }
+}
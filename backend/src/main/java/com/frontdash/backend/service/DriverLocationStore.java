@@ -0,0 +1,250 @@
+package com.frontdash.backend.service;
+
+import com.frontdash.backend.entity.GeoPoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latest known position of every tracked driver, held in primitive arrays indexed by a per-driver
+ * slot. A slot is assigned once, the first time a driver reports; after that an update is a map
+ * lookup plus three array writes under one of STRIPES locks, and allocates nothing.
+ *
+ * Updates that are at least history-interval apart are also copied into a fixed ring of history
+ * points, which DriverLocationService drains to the database in batches. When the ring is full
+ * the oldest unsaved points are overwritten (counted in droppedHistory).
+ */
+@Component
+public class DriverLocationStore {
+
+    // Power of two so a slot maps to its lock with a mask
+    private static final int STRIPES = 64;
+
+    private final int capacity;
+    private final long historyIntervalMs;
+    private final ConcurrentHashMap<String, Integer> slots = new ConcurrentHashMap<>();
+    private final String[] driverIds;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final long[] updatedAt;
+    private final long[] historySampledAt;
+    private final Object[] locks = new Object[STRIPES];
+    private int nextSlot;
+
+    // History ring: head is the next write, size the number of points not yet drained
+    private final Object historyLock = new Object();
+    private final int[] historySlots;
+    private final double[] historyLatitudes;
+    private final double[] historyLongitudes;
+    private final long[] historyTimes;
+    private int historyHead;
+    private int historySize;
+    private long droppedHistory;
+
+    public interface HistoryConsumer {
+        void accept(String driverId, double latitude, double longitude, long recordedAt);
+    }
+
+    public DriverLocationStore(@Value("${frontdash.drivers.location.capacity:65536}") int capacity,
+                               @Value("${frontdash.drivers.location.history-interval-ms:30000}") long historyIntervalMs,
+                               @Value("${frontdash.drivers.location.history-buffer:65536}") int historyBuffer) {
+        this.capacity = capacity;
+        this.historyIntervalMs = historyIntervalMs;
+        this.driverIds = new String[capacity];
+        this.latitudes = new double[capacity];
+        this.longitudes = new double[capacity];
+        this.updatedAt = new long[capacity];
+        this.historySampledAt = new long[capacity];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        this.historySlots = new int[historyBuffer];
+        this.historyLatitudes = new double[historyBuffer];
+        this.historyLongitudes = new double[historyBuffer];
+        this.historyTimes = new long[historyBuffer];
+    }
+
+    public boolean isTracked(String driverId) {
+        return slots.containsKey(driverId);
+    }
+
+    /** Gives the driver a slot; false when every slot is taken. */
+    public synchronized boolean register(String driverId) {
+        if (slots.containsKey(driverId)) {
+            return true;
+        }
+        if (nextSlot == capacity) {
+            return false;
+        }
+        int slot = nextSlot++;
+        driverIds[slot] = driverId;
+        updatedAt[slot] = Long.MIN_VALUE;
+        historySampledAt[slot] = Long.MIN_VALUE;
+        slots.put(driverId, slot);
+        return true;
+    }
+
+    /**
+     * Records a position; returns false when the driver has no slot yet (see register).
+     * An update older than the stored one (late delivery) is ignored.
+     */
+    public boolean update(String driverId, double latitude, double longitude, long recordedAt) {
+        Integer boxed = slots.get(driverId);
+        if (boxed == null) {
+            return false;
+        }
+        int slot = boxed;
+        boolean sample;
+        synchronized (locks[slot & (STRIPES - 1)]) {
+            if (recordedAt < updatedAt[slot]) {
+                return true;
+            }
+            latitudes[slot] = latitude;
+            longitudes[slot] = longitude;
+            updatedAt[slot] = recordedAt;
+            sample = historySampledAt[slot] == Long.MIN_VALUE || recordedAt - historySampledAt[slot] >= historyIntervalMs;
+            if (sample) {
+                historySampledAt[slot] = recordedAt;
+            }
+        }
+        if (sample) {
+            appendHistory(slot, latitude, longitude, recordedAt);
+        }
+        return true;
+    }
+
+    /** Latest {latitude, longitude, recordedAt} written into out; false when the driver never reported. */
+    public boolean latest(String driverId, double[] out) {
+        Integer boxed = slots.get(driverId);
+        if (boxed == null) {
+            return false;
+        }
+        int slot = boxed;
+        synchronized (locks[slot & (STRIPES - 1)]) {
+            if (updatedAt[slot] == Long.MIN_VALUE) {
+                return false;
+            }
+            out[0] = latitudes[slot];
+            out[1] = longitudes[slot];
+            out[2] = updatedAt[slot];
+        }
+        return true;
+    }
+
+    /**
+     * The up to ids.length drivers closest to (latitude, longitude) among those that reported at
+     * or after notBefore, nearest first. Fills ids and distancesKm and returns how many were found.
+     */
+    public int nearest(double latitude, double longitude, long notBefore, String[] ids, double[] distancesKm) {
+        int limit = Math.min(ids.length, distancesKm.length);
+        if (limit == 0) {
+            return 0;
+        }
+        // Ranked by the equirectangular approximation; exact haversine only for the winners
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        double[] best = new double[limit];
+        int[] bestSlots = new int[limit];
+        int found = 0;
+        int used;
+        synchronized (this) {
+            used = nextSlot;
+        }
+        for (int slot = 0; slot < used; slot++) {
+            double lat;
+            double lng;
+            synchronized (locks[slot & (STRIPES - 1)]) {
+                if (updatedAt[slot] < notBefore) {
+                    continue;
+                }
+                lat = latitudes[slot];
+                lng = longitudes[slot];
+            }
+            double dLat = lat - latitude;
+            double dLng = (lng - longitude) * cosLat;
+            double score = dLat * dLat + dLng * dLng;
+            if (found == limit && score >= best[found - 1]) {
+                continue;
+            }
+            // Insertion into the small sorted top-N arrays
+            int i = found < limit ? found++ : found - 1;
+            while (i > 0 && best[i - 1] > score) {
+                best[i] = best[i - 1];
+                bestSlots[i] = bestSlots[i - 1];
+                i--;
+            }
+            best[i] = score;
+            bestSlots[i] = slot;
+        }
+        GeoPoint origin = new GeoPoint(latitude, longitude);
+        double[] position = new double[3];
+        int written = 0;
+        for (int i = 0; i < found; i++) {
+            String driverId = driverIds[bestSlots[i]];
+            if (latest(driverId, position)) {
+                ids[written] = driverId;
+                distancesKm[written] = origin.distanceKm(new GeoPoint(position[0], position[1]));
+                written++;
+            }
+        }
+        return written;
+    }
+
+    public int trackedDrivers() {
+        return slots.size();
+    }
+
+    public long getDroppedHistory() {
+        synchronized (historyLock) {
+            return droppedHistory;
+        }
+    }
+
+    /** Hands up to max buffered history points to the consumer (oldest first) and forgets them. */
+    public int drainHistory(int max, HistoryConsumer consumer) {
+        int count;
+        int[] slotCopy;
+        double[] latCopy;
+        double[] lngCopy;
+        long[] timeCopy;
+        synchronized (historyLock) {
+            count = Math.min(max, historySize);
+            if (count == 0) {
+                return 0;
+            }
+            slotCopy = new int[count];
+            latCopy = new double[count];
+            lngCopy = new double[count];
+            timeCopy = new long[count];
+            int start = Math.floorMod(historyHead - historySize, historySlots.length);
+            for (int i = 0; i < count; i++) {
+                int index = (start + i) % historySlots.length;
+                slotCopy[i] = historySlots[index];
+                latCopy[i] = historyLatitudes[index];
+                lngCopy[i] = historyLongitudes[index];
+                timeCopy[i] = historyTimes[index];
+            }
+            historySize -= count;
+        }
+        // The consumer (a database write) runs outside the lock so ingest is never blocked on it
+        for (int i = 0; i < count; i++) {
+            consumer.accept(driverIds[slotCopy[i]], latCopy[i], lngCopy[i], timeCopy[i]);
+        }
+        return count;
+    }
+
+    private void appendHistory(int slot, double latitude, double longitude, long recordedAt) {
+        synchronized (historyLock) {
+            historySlots[historyHead] = slot;
+            historyLatitudes[historyHead] = latitude;
+            historyLongitudes[historyHead] = longitude;
+            historyTimes[historyHead] = recordedAt;
+            historyHead = (historyHead + 1) % historySlots.length;
+            if (historySize == historySlots.length) {
+                droppedHistory++;
+            } else {
+                historySize++;
+            }
+        }
+    }
+}
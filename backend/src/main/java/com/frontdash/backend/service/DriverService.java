@@ -1,19 +1,20 @@
 package com.frontdash.backend.service;
 
+import com.frontdash.backend.entity.DriverRecord;
 import com.frontdash.backend.repository.DriverRepository;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
-
 @Service
+@Lazy
 public class DriverService {
     private final DriverRepository repo;
     public DriverService(DriverRepository repo) { this.repo = repo; }
 
-    public Map<String,Object> create(String first, String last) {
+    public DriverRecord create(String first, String last) {
         return repo.createDriver(first, last);
     }
-    public Map<String,Object> inactivate(String driverId) {
+    public DriverRecord inactivate(String driverId) {
         return repo.inactivateDriver(driverId);
     }
 }
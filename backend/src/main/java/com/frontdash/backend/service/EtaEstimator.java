@@ -0,0 +1,73 @@
+package com.frontdash.backend.service;
+
+import com.frontdash.backend.entity.GeoPoint;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimates delivery times per restaurant from rolling (exponentially weighted) kitchen-prep
+ * and travel times observed on recent orders, plus the distance to the customer.
+ * Everything is kept in memory; a restaurant with no history uses the defaults below.
+ */
+@Component
+public class EtaEstimator {
+
+    // Weight of the newest sample in the rolling averages
+    private static final double ALPHA = 0.2;
+    private static final double DEFAULT_PREP_MINUTES = 20.0;
+    private static final double DEFAULT_MINUTES_PER_KM = 3.0; // ~20 km/h in city traffic
+    private static final double HANDOFF_MINUTES = 5.0;        // pickup and drop-off overhead
+    private static final long FALLBACK_MINUTES = 40;          // used when either end cannot be geocoded
+
+    private static final class RollingTimes {
+        double prepMinutes = DEFAULT_PREP_MINUTES;
+        double minutesPerKm = DEFAULT_MINUTES_PER_KM;
+    }
+
+    private final ConcurrentHashMap<String, RollingTimes> byRestaurant = new ConcurrentHashMap<>();
+
+    public LocalDateTime estimateDeliveryAt(String restaurantId, GeoPoint restaurant, GeoPoint customer,
+                                            LocalDateTime placedAt) {
+        return placedAt.plusMinutes(estimateMinutes(restaurantId, restaurant, customer));
+    }
+
+    public long estimateMinutes(String restaurantId, GeoPoint restaurant, GeoPoint customer) {
+        if (restaurant == null || customer == null) {
+            return FALLBACK_MINUTES;
+        }
+        RollingTimes times = byRestaurant.get(restaurantId);
+        double prep = times != null ? times.prepMinutes : DEFAULT_PREP_MINUTES;
+        double perKm = times != null ? times.minutesPerKm : DEFAULT_MINUTES_PER_KM;
+        return Math.round(prep + HANDOFF_MINUTES + restaurant.distanceKm(customer) * perKm);
+    }
+
+    public double prepMinutes(String restaurantId) {
+        RollingTimes times = byRestaurant.get(restaurantId);
+        return times != null ? times.prepMinutes : DEFAULT_PREP_MINUTES;
+    }
+
+    // Order placed -> ready for pickup
+    public void recordPrep(String restaurantId, double minutes) {
+        if (minutes <= 0 || minutes > 240) {
+            return; // ignore obviously broken samples (clock skew, orders left open overnight)
+        }
+        RollingTimes times = byRestaurant.computeIfAbsent(restaurantId, id -> new RollingTimes());
+        synchronized (times) {
+            times.prepMinutes += ALPHA * (minutes - times.prepMinutes);
+        }
+    }
+
+    // Pickup -> delivered over the given distance
+    public void recordTravel(String restaurantId, double distanceKm, double minutes) {
+        if (distanceKm < 0.5 || minutes <= 0 || minutes > 240) {
+            return; // too short to say anything about speed
+        }
+        double perKm = Math.max(0, minutes - HANDOFF_MINUTES) / distanceKm;
+        RollingTimes times = byRestaurant.computeIfAbsent(restaurantId, id -> new RollingTimes());
+        synchronized (times) {
+            times.minutesPerKm += ALPHA * (perKm - times.minutesPerKm);
+        }
+    }
+}
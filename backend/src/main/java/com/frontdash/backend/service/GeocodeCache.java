@@ -0,0 +1,70 @@
+package com.frontdash.backend.service;
+
+import com.frontdash.backend.entity.GeoPoint;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Offline geocoder backed by a table of zip and city centroids (classpath:geo/centroids.csv).
+ * Lookups are plain map reads; there is no external geocoding service.
+ * A zip match wins, then city + state; anything else cannot be placed and returns null.
+ */
+@Component
+public class GeocodeCache {
+
+    private static final String CENTROIDS = "geo/centroids.csv";
+
+    private final Map<String, GeoPoint> byZip = new HashMap<>();
+    private final Map<String, GeoPoint> byCityState = new HashMap<>();
+
+    public GeocodeCache() {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(CENTROIDS).getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] cols = line.split(",", -1);
+                GeoPoint point = new GeoPoint(Double.parseDouble(cols[3]), Double.parseDouble(cols[4]));
+                if (!cols[0].isBlank()) {
+                    byZip.putIfAbsent(cols[0].trim(), point);
+                }
+                // Explicit city rows (no zip) override the first zip seen for that city
+                String cityKey = cityKey(cols[1], cols[2]);
+                if (cols[0].isBlank()) {
+                    byCityState.put(cityKey, point);
+                } else {
+                    byCityState.putIfAbsent(cityKey, point);
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not load " + CENTROIDS, e);
+        }
+    }
+
+    public GeoPoint lookup(String zip, String city, String state) {
+        if (zip != null) {
+            String trimmed = zip.trim();
+            GeoPoint point = byZip.get(trimmed.length() > 5 ? trimmed.substring(0, 5) : trimmed);
+            if (point != null) {
+                return point;
+            }
+        }
+        if (city != null) {
+            return byCityState.get(cityKey(city, state));
+        }
+        return null;
+    }
+
+    private static String cityKey(String city, String state) {
+        return city.trim().toLowerCase(Locale.ROOT) + "|" + (state == null ? "" : state.trim().toLowerCase(Locale.ROOT));
+    }
+}
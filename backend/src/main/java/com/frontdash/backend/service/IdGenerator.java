@@ -0,0 +1,89 @@
+package com.frontdash.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates compact, time-ordered primary keys such as "ord-0c8x2k5m9q1tz".
+ *
+ * Each ID packs 41 bits of milliseconds since 2024-01-01, a 10-bit node ID and a 12-bit
+ * per-millisecond sequence into one long, written as 13 Crockford base32 characters.
+ * IDs are unique across nodes as long as every instance has its own node ID, and they sort
+ * in creation order, so inserts append to the end of the clustered index instead of splitting pages.
+ * The node ID (frontdash.ids.node-id, 0-1023) comes from configuration, not from the host name
+ * (a hash of it can collide between hosts); application.properties defaults it to 0 for a single
+ * instance, and startup fails if it is removed or out of range.
+ */
+@Component
+public class IdGenerator {
+
+    public static final String ORDER_PREFIX = "ord-";
+    public static final String MENU_ITEM_PREFIX = "itm-";
+
+    static final long EPOCH_MILLIS = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final char[] BASE32 = "0123456789abcdefghjkmnpqrstvwxyz".toCharArray();
+    private static final int ENCODED_LENGTH = 13;
+
+    private final long node;
+    // (millis since epoch << 12) | sequence of the last ID handed out
+    private final AtomicLong lastState = new AtomicLong();
+
+    public IdGenerator(@Value("${frontdash.ids.node-id:#{null}}") Long configuredNodeId) {
+        if (configuredNodeId == null) {
+            throw new IllegalStateException("frontdash.ids.node-id is not set; give every running instance its own"
+                    + " node ID between 0 and " + MAX_NODE + " (e.g. FRONTDASH_IDS_NODE_ID=0)");
+        }
+        if (configuredNodeId < 0 || configuredNodeId > MAX_NODE) {
+            throw new IllegalStateException("frontdash.ids.node-id must be between 0 and " + MAX_NODE
+                    + ", got " + configuredNodeId);
+        }
+        this.node = configuredNodeId;
+    }
+
+    public String nextOrderId() {
+        return nextId(ORDER_PREFIX);
+    }
+
+    public String nextMenuItemId() {
+        return nextId(MENU_ITEM_PREFIX);
+    }
+
+    public String nextId(String prefix) {
+        long now = System.currentTimeMillis() - EPOCH_MILLIS;
+        // Never go backwards: if the clock stalls, steps back, or the sequence runs out we borrow the next millisecond
+        long state = lastState.updateAndGet(prev -> Math.max(prev + 1, now << SEQUENCE_BITS));
+        return encode(prefix, compose(state));
+    }
+
+    // Builds the ID a row created at the given time would have had; used when re-keying legacy rows
+    public String idAt(String prefix, long epochMillis, int sequence) {
+        long state = ((epochMillis - EPOCH_MILLIS) << SEQUENCE_BITS) | (sequence & ((1L << SEQUENCE_BITS) - 1));
+        return encode(prefix, compose(state));
+    }
+
+    public long getNodeId() {
+        return node;
+    }
+
+    private long compose(long state) {
+        long millis = state >>> SEQUENCE_BITS;
+        long sequence = state & ((1L << SEQUENCE_BITS) - 1);
+        return (millis << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | sequence;
+    }
+
+    private static String encode(String prefix, long value) {
+        int prefixLength = prefix.length();
+        char[] out = new char[prefixLength + ENCODED_LENGTH];
+        prefix.getChars(0, prefixLength, out, 0);
+        for (int i = out.length - 1; i >= prefixLength; i--) {
+            out[i] = BASE32[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(out);
+    }
+}
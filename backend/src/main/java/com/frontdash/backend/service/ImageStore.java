@@ -0,0 +1,295 @@
+package com.frontdash.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed image files on local disk. An upload is stored once under its SHA-256 hash
+ * (the hash is what menu items and restaurants keep as their picture ref), and a THUMBNAIL_SIZE
+ * thumbnail is generated on a small background pool. Files never change once written, so they
+ * can be served with long-lived cache headers.
+ *
+ * Layout: {dir}/originals/ab/abcd...  and  {dir}/thumbs/ab/abcd...
+ */
+@Service
+public class ImageStore {
+
+    public static final int THUMBNAIL_SIZE = 256;
+    // Images larger than this many pixels are stored but not decoded for a thumbnail
+    private static final long MAX_THUMBNAIL_SOURCE_PIXELS = 40_000_000L;
+    private static final long THUMBNAIL_WAIT_MS = 2_000;
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    public record StoredImage(String hash, long size, String contentType, boolean created) {}
+
+    public record ImageFile(Path path, long length, String contentType) {}
+
+    private final Path originals;
+    private final Path thumbs;
+    private final Path tmp;
+    private final long maxBytes;
+    private final ThreadPoolExecutor workers;
+    private final ConcurrentHashMap<String, CompletableFuture<Boolean>> pending = new ConcurrentHashMap<>();
+    private final TtlCache<String, String> contentTypes = new TtlCache<>(TimeUnit.HOURS.toMillis(24), 10_000);
+
+    public ImageStore(@Value("${frontdash.images.dir:uploads/images}") String dir,
+                      @Value("${frontdash.images.max-bytes:10485760}") long maxBytes,
+                      @Value("${frontdash.images.thumbnail-workers:2}") int workerCount) throws IOException {
+        Path root = Paths.get(dir).toAbsolutePath();
+        this.originals = Files.createDirectories(root.resolve("originals"));
+        this.thumbs = Files.createDirectories(root.resolve("thumbs"));
+        this.tmp = Files.createDirectories(root.resolve("tmp"));
+        this.maxBytes = maxBytes;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(1_000),
+            runnable -> {
+                Thread thread = new Thread(runnable, "image-thumbnailer-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    public static boolean isHash(String ref) {
+        return ref != null && HASH.matcher(ref).matches();
+    }
+
+    // Streams the upload to disk while hashing it; an image that is already stored is not written twice
+    public StoredImage store(InputStream in) throws IOException {
+        Path upload = Files.createTempFile(tmp, "upload-", ".part");
+        try {
+            MessageDigest sha256 = sha256();
+            long size = 0;
+            try (OutputStream out = Files.newOutputStream(upload)) {
+                byte[] buffer = new byte[64 * 1024];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxBytes) {
+                        throw new RuntimeException("Image is larger than " + maxBytes + " bytes");
+                    }
+                    sha256.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                }
+            }
+            String contentType = sniff(upload);
+            if (contentType == null) {
+                throw new RuntimeException("Unsupported image type (use JPEG, PNG, GIF or WebP)");
+            }
+            String hash = HexFormat.of().formatHex(sha256.digest());
+            Path target = originalPath(hash);
+            boolean created = false;
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(upload, target, StandardCopyOption.ATOMIC_MOVE);
+                    created = true;
+                } catch (FileAlreadyExistsException e) {
+                    // Same image uploaded concurrently; the other copy won
+                }
+            }
+            contentTypes.put(hash, contentType);
+            if (!Files.exists(thumbnailPath(hash))) {
+                scheduleThumbnail(hash);
+            }
+            return new StoredImage(hash, size, contentType, created);
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    public Optional<ImageFile> original(String hash) throws IOException {
+        if (!isHash(hash)) {
+            return Optional.empty();
+        }
+        return describe(hash, originalPath(hash));
+    }
+
+    // The thumbnail, waiting briefly if it is still being generated; empty if none can be made
+    public Optional<ImageFile> thumbnail(String hash) throws IOException {
+        if (!isHash(hash)) {
+            return Optional.empty();
+        }
+        Path thumb = thumbnailPath(hash);
+        if (!Files.exists(thumb)) {
+            if (!Files.exists(originalPath(hash))) {
+                return Optional.empty();
+            }
+            try {
+                scheduleThumbnail(hash).get(THUMBNAIL_WAIT_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                // Not ready (or failed); the caller falls back to the original
+            }
+        }
+        return describe(hash + "-thumb", thumb);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private Optional<ImageFile> describe(String typeKey, Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        String contentType = contentTypes.get(typeKey);
+        if (contentType == null) {
+            contentType = sniff(path);
+            if (contentType == null) {
+                contentType = "application/octet-stream";
+            }
+            contentTypes.put(typeKey, contentType);
+        }
+        return Optional.of(new ImageFile(path, Files.size(path), contentType));
+    }
+
+    private CompletableFuture<Boolean> scheduleThumbnail(String hash) {
+        CompletableFuture<Boolean> existing = pending.get(hash);
+        if (existing != null) {
+            return existing;
+        }
+        CompletableFuture<Boolean> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> makeThumbnail(hash), workers);
+        } catch (RejectedExecutionException e) {
+            // Queue full: the thumbnail is made on a later request instead
+            return CompletableFuture.completedFuture(false);
+        }
+        CompletableFuture<Boolean> raced = pending.putIfAbsent(hash, future);
+        if (raced != null) {
+            return raced;
+        }
+        future.whenComplete((done, error) -> pending.remove(hash, future));
+        return future;
+    }
+
+    private boolean makeThumbnail(String hash) {
+        Path source = originalPath(hash);
+        Path target = thumbnailPath(hash);
+        if (Files.exists(target)) {
+            return true;
+        }
+        try {
+            BufferedImage image = decode(source);
+            if (image == null) {
+                return false;
+            }
+            double scale = Math.min(1.0, (double) THUMBNAIL_SIZE / Math.max(image.getWidth(), image.getHeight()));
+            int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+            int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+            boolean alpha = image.getColorModel().hasAlpha();
+            BufferedImage thumb = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = thumb.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(image, 0, 0, width, height, null);
+            g.dispose();
+
+            Files.createDirectories(target.getParent());
+            Path part = Files.createTempFile(tmp, "thumb-", ".part");
+            try {
+                ImageIO.write(thumb, alpha ? "png" : "jpg", part.toFile());
+                Files.move(part, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(part);
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // Checks the dimensions before decoding so a tiny file cannot expand into gigabytes of pixels
+    private static BufferedImage decode(Path source) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null; // e.g. WebP: stored and served, but no thumbnail
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_THUMBNAIL_SOURCE_PIXELS) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Content type from the file's magic bytes; null if it is not a supported image
+    private static String sniff(Path file) throws IOException {
+        byte[] head = new byte[12];
+        int n;
+        try (InputStream in = Files.newInputStream(file)) {
+            n = in.readNBytes(head, 0, head.length);
+        }
+        if (n >= 3 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) {
+            return "image/jpeg";
+        }
+        if (n >= 8 && (head[0] & 0xFF) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G') {
+            return "image/png";
+        }
+        if (n >= 6 && head[0] == 'G' && head[1] == 'I' && head[2] == 'F' && head[3] == '8') {
+            return "image/gif";
+        }
+        if (n >= 12 && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+                && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+            return "image/webp";
+        }
+        return null;
+    }
+
+    private Path originalPath(String hash) {
+        return originals.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private Path thumbnailPath(String hash) {
+        return thumbs.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.frontdash.backend.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fixed-size histogram of durations in whole seconds with HDR-style log-linear buckets: exact below
+ * 32 s, then 16 buckets per power of two, so any percentile is within ~3% of the true value.
+ * Two sketches merge by adding their bucket counts, which is how per-driver or per-restaurant
+ * sketches are rolled up without keeping the samples. Durations above MAX_SECONDS are clamped.
+ */
+public final class LatencySketch {
+
+    public static final long MAX_SECONDS = 2 * 24 * 3600;
+
+    private static final int SUB_BUCKETS = 16;
+    private static final int BUCKETS = bucket(MAX_SECONDS) + 1;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    public synchronized void record(long seconds) {
+        long value = Math.max(0, Math.min(seconds, MAX_SECONDS));
+        counts[bucket(value)]++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /** Adds the other sketch's samples into this one. */
+    public void merge(LatencySketch other) {
+        LatencySketch copy = other.copy();
+        synchronized (this) {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] += copy.counts[i];
+            }
+            count += copy.count;
+            sum += copy.sum;
+            min = Math.min(min, copy.min);
+            max = Math.max(max, copy.max);
+        }
+    }
+
+    public synchronized LatencySketch copy() {
+        LatencySketch copy = new LatencySketch();
+        System.arraycopy(counts, 0, copy.counts, 0, BUCKETS);
+        copy.count = count;
+        copy.sum = sum;
+        copy.min = min;
+        copy.max = max;
+        return copy;
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /** Value at quantile q (0..1) in seconds, as the middle of its bucket; 0 when empty. */
+    public synchronized long percentile(double q) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.max(min, Math.min(max, middle(i)));
+            }
+        }
+        return max;
+    }
+
+    /** count, mean, min, p50, p90, p95, p99 and max, in minutes for the API. */
+    public synchronized Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", count);
+        if (count == 0) {
+            return summary;
+        }
+        summary.put("meanMinutes", minutes((double) sum / count));
+        summary.put("minMinutes", minutes(min));
+        summary.put("p50Minutes", minutes(percentile(0.50)));
+        summary.put("p90Minutes", minutes(percentile(0.90)));
+        summary.put("p95Minutes", minutes(percentile(0.95)));
+        summary.put("p99Minutes", minutes(percentile(0.99)));
+        summary.put("maxMinutes", minutes(max));
+        return summary;
+    }
+
+    private static double minutes(double seconds) {
+        return Math.round(seconds / 60.0 * 10) / 10.0;
+    }
+
+    // Values below 2 * SUB_BUCKETS map to themselves; above, the top 5 significant bits pick the bucket
+    private static int bucket(long value) {
+        if (value < 2 * SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - 4;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    private static long middle(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lower = (long) (bucket - shift * SUB_BUCKETS) << shift;
+        return lower + (1L << shift) / 2;
+    }
+}
@@ -0,0 +1,117 @@
+package com.frontdash.backend.service;
+
+import com.frontdash.backend.entity.MenuItem;
+import com.frontdash.backend.repository.MenuChangeLogRepository;
+import com.frontdash.backend.repository.MenuChangeLogRepository.ChangeRow;
+import com.frontdash.backend.repository.MenuItemRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-restaurant menu version counter plus a bounded log of recent item changes, so clients that
+ * already hold a menu can fetch only what changed since their version.
+ *
+ * Both live in the database (menu_version, menu_change_log), so every instance answers with the
+ * same versions. Changes are written in the transaction that changes the menu and bump the
+ * version by exactly one, so a gap in the log means it was pruned and the client gets a snapshot.
+ * Bulk changes that do not know which items they touched call reset(), which also forces one.
+ */
+@Component
+@Transactional
+public class MenuChangeLog {
+
+    // Version of a restaurant whose menu never changed; 0 is what clients send for "no menu yet"
+    private static final long INITIAL_VERSION = 1;
+
+    // Older entries are dropped; a client further behind than this gets a full snapshot
+    private static final int MAX_ENTRIES_PER_RESTAURANT = 256;
+
+    private static final String UPSERT = "upsert";
+    private static final String DELETE = "delete";
+    private static final String RESET = "reset";
+
+    public record Change(long version, String type, String id, MenuItem item) {}
+
+    /** Either deltas since the requested version, or (full = true) a signal to reload everything */
+    public record Delta(long version, boolean full, List<Change> changes) {}
+
+    private final MenuChangeLogRepository repository;
+    private final MenuItemRepository menuItemRepository;
+
+    public MenuChangeLog(MenuChangeLogRepository repository, MenuItemRepository menuItemRepository) {
+        this.repository = repository;
+        this.menuItemRepository = menuItemRepository;
+    }
+
+    public long currentVersion(String restaurantId) {
+        Long version = repository.findVersion(restaurantId);
+        return version == null ? INITIAL_VERSION : version;
+    }
+
+    // Changes after `since`, coalesced to the latest change per item; full when the log cannot answer.
+    // Items are read in the same transaction as the version, so they are at least that recent.
+    public Delta changesSince(String restaurantId, long since) {
+        long version = currentVersion(restaurantId);
+        if (since < INITIAL_VERSION || since > version) {
+            return new Delta(version, true, List.of());
+        }
+        if (since == version) {
+            return new Delta(version, false, List.of());
+        }
+        List<ChangeRow> rows = repository.findAfter(restaurantId, since, version);
+        if (rows.isEmpty() || rows.get(0).version() != since + 1) {
+            return new Delta(version, true, List.of());
+        }
+        Map<String, ChangeRow> latest = new LinkedHashMap<>();
+        for (ChangeRow row : rows) {
+            if (RESET.equals(row.type())) {
+                return new Delta(version, true, List.of());
+            }
+            latest.remove(row.menuItemId());
+            latest.put(row.menuItemId(), row);
+        }
+        List<String> upserted = latest.values().stream()
+            .filter(row -> UPSERT.equals(row.type())).map(ChangeRow::menuItemId).toList();
+        Map<String, MenuItem> items = menuItemRepository.findAllById(upserted).stream()
+            .collect(Collectors.toMap(MenuItem::getMenuItemId, Function.identity()));
+        List<Change> changes = new ArrayList<>();
+        for (ChangeRow row : latest.values()) {
+            MenuItem item = items.get(row.menuItemId());
+            // Deleted by a change the log no longer has in range: report it as deleted
+            String type = UPSERT.equals(row.type()) && item == null ? DELETE : row.type();
+            changes.add(new Change(row.version(), type, row.menuItemId(), item));
+        }
+        return new Delta(version, false, changes);
+    }
+
+    public void recordUpsert(MenuItem item) {
+        append(item.getRestaurant().getRestaurantId(), UPSERT, item.getMenuItemId());
+    }
+
+    public void recordDelete(String restaurantId, String menuItemId) {
+        append(restaurantId, DELETE, menuItemId);
+    }
+
+    // For bulk changes: bumps the version and forgets the log so every client reloads once
+    public void reset(String restaurantId) {
+        long version = append(restaurantId, RESET, null);
+        repository.deleteUpTo(restaurantId, version - 1);
+    }
+
+    private long append(String restaurantId, String type, String menuItemId) {
+        long version = repository.nextVersion(restaurantId, INITIAL_VERSION);
+        repository.insert(restaurantId, version, type, menuItemId);
+        // Pruned in steps, so the log holds between MAX and 2 * MAX entries
+        if (version % MAX_ENTRIES_PER_RESTAURANT == 0) {
+            repository.deleteUpTo(restaurantId, version - MAX_ENTRIES_PER_RESTAURANT);
+        }
+        return version;
+    }
+}
@@ -0,0 +1,373 @@
+package com.frontdash.backend.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.frontdash.backend.repository.MenuItemBatchRepository;
+import com.frontdash.backend.repository.MenuItemBatchRepository.MenuItemRow;
+import com.frontdash.backend.repository.RestaurantRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk menu import/export. Uploads are parsed one row at a time (CSV or a JSON array using the
+ * same field names as the menu API), validated, and inserted in JDBC batches of BATCH_SIZE, each
+ * batch in its own transaction. A batch that fails is retried row by row so every bad row is
+ * reported with its reason while the good ones are kept. Memory use does not grow with the file.
+ * CSV exports keep formula-like text as text (CsvReader.quoteCell); CSV imports drop that prefix.
+ */
+@Service
+public class MenuImportService {
+
+    public static final int BATCH_SIZE = 500;
+    private static final int EXPORT_FETCH_SIZE = 500;
+    // Only the first errors are reported; the counts still cover every row
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_TEXT_LENGTH = 65_535;
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+
+    // Column/field order for both formats; matches the JSON names of MenuItem
+    private static final String[] FIELDS = {"id", "name", "description", "price", "category", "available", "allergens", "itemPictureRef"};
+
+    public enum Format {
+        CSV, JSON;
+
+        public static Format of(String value) {
+            if (value != null && value.toLowerCase(Locale.ROOT).contains("csv")) {
+                return CSV;
+            }
+            if (value != null && value.toLowerCase(Locale.ROOT).contains("json")) {
+                return JSON;
+            }
+            throw new RuntimeException("Unsupported format: " + value + " (use csv or json)");
+        }
+    }
+
+    public record RowError(long row, String id, String message) {}
+
+    public record ImportResult(long rowsRead, long imported, long failed, List<RowError> errors, boolean errorsTruncated) {}
+
+    @Autowired
+    private MenuItemBatchRepository batchRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private IdGenerator idGenerator;
+
+    @Autowired
+    private MenuPriceTable priceTable;
+
+    @Autowired
+    private RestaurantDashboardCache dashboardCache;
+
+    @Autowired
+    private MenuChangeLog changeLog;
+
+    private final TransactionTemplate transactionTemplate;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public MenuImportService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public ImportResult importMenu(String restaurantId, InputStream in, Format format) throws IOException {
+        if (!restaurantRepository.existsById(restaurantId)) {
+            throw new RuntimeException("Restaurant not found with id: " + restaurantId);
+        }
+        Importer importer = new Importer(restaurantId);
+        try {
+            if (format == Format.CSV) {
+                readCsv(in, importer);
+            } else {
+                readJson(in, importer);
+            }
+        } finally {
+            // Rows already written stay written, so always drop cached menu data
+            importer.finish();
+        }
+        return importer.result();
+    }
+
+    public boolean restaurantExists(String restaurantId) {
+        return restaurantRepository.existsById(restaurantId);
+    }
+
+    public void exportMenu(String restaurantId, Format format, OutputStream out) throws IOException {
+        if (format == Format.CSV) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(String.join(",", FIELDS));
+            writer.write("\r\n");
+            try {
+                batchRepository.forEachByRestaurant(restaurantId, EXPORT_FETCH_SIZE, row -> {
+                    try {
+                        writer.write(CsvReader.quoteCell(row.menuItemId()) + ','
+                                + CsvReader.quoteCell(row.foodName()) + ','
+                                + CsvReader.quoteCell(row.foodDescription()) + ','
+                                + row.price().toPlainString() + ','
+                                + CsvReader.quoteCell(row.category()) + ','
+                                + row.available() + ','
+                                + CsvReader.quoteCell(row.allergens()) + ','
+                                + CsvReader.quoteCell(row.itemPictureRef()) + "\r\n");
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        } else {
+            JsonGenerator json = jsonFactory.createGenerator(out);
+            json.writeStartArray();
+            try {
+                batchRepository.forEachByRestaurant(restaurantId, EXPORT_FETCH_SIZE, row -> {
+                    try {
+                        json.writeStartObject();
+                        json.writeStringField("id", row.menuItemId());
+                        json.writeStringField("name", row.foodName());
+                        json.writeStringField("description", row.foodDescription());
+                        json.writeNumberField("price", row.price());
+                        json.writeStringField("category", row.category());
+                        json.writeBooleanField("available", row.available());
+                        json.writeStringField("allergens", row.allergens());
+                        json.writeStringField("itemPictureRef", row.itemPictureRef());
+                        json.writeEndObject();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            json.writeEndArray();
+            json.flush();
+        }
+    }
+
+    private void readCsv(InputStream in, Importer importer) throws IOException {
+        CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").trim();
+            for (String field : FIELDS) {
+                if (field.equalsIgnoreCase(name)) {
+                    columns.put(field, i);
+                }
+            }
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("price")) {
+            throw new RuntimeException("CSV header must include name and price columns");
+        }
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            Map<String, String> values = new HashMap<>();
+            for (Map.Entry<String, Integer> column : columns.entrySet()) {
+                if (column.getValue() < record.size()) {
+                    values.put(column.getKey(), CsvReader.unquoteCell(record.get(column.getValue())));
+                }
+            }
+            // Header is record 1, so data rows are numbered from 1 as well
+            importer.accept(csv.getRecordNumber() - 1, values);
+        }
+    }
+
+    private void readJson(InputStream in, Importer importer) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new RuntimeException("JSON import must be an array of menu items");
+            }
+            long rowNumber = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new RuntimeException("Unexpected end of JSON after row " + rowNumber);
+                }
+                rowNumber++;
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    importer.reject(rowNumber, null, "row must be a JSON object");
+                    continue;
+                }
+                Map<String, String> values = new HashMap<>();
+                String nested = null;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                        parser.skipChildren();
+                        nested = field;
+                    } else if (value != JsonToken.VALUE_NULL) {
+                        values.put(field, parser.getText());
+                    }
+                }
+                if (nested != null) {
+                    importer.reject(rowNumber, values.get("id"), nested + " must be a plain value");
+                } else {
+                    importer.accept(rowNumber, values);
+                }
+            }
+        }
+    }
+
+    private static String validate(Map<String, String> values) {
+        String name = trimToNull(values.get("name"));
+        if (name == null) return "name is required";
+        if (name.length() > MAX_NAME_LENGTH) return "name must be at most " + MAX_NAME_LENGTH + " characters";
+        String id = trimToNull(values.get("id"));
+        if (id != null && id.length() > MAX_NAME_LENGTH) return "id must be at most " + MAX_NAME_LENGTH + " characters";
+        String category = trimToNull(values.get("category"));
+        if (category != null && category.length() > MAX_NAME_LENGTH) return "category must be at most " + MAX_NAME_LENGTH + " characters";
+        String picture = trimToNull(values.get("itemPictureRef"));
+        if (picture != null && picture.length() > MAX_NAME_LENGTH) return "itemPictureRef must be at most " + MAX_NAME_LENGTH + " characters";
+        String description = values.get("description");
+        if (description != null && description.length() > MAX_TEXT_LENGTH) return "description is too long";
+        String allergens = values.get("allergens");
+        if (allergens != null && allergens.length() > MAX_TEXT_LENGTH) return "allergens is too long";
+
+        String price = trimToNull(values.get("price"));
+        if (price == null) return "price is required";
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(price);
+        } catch (NumberFormatException e) {
+            return "price must be a number";
+        }
+        if (amount.signum() < 0 || amount.compareTo(MAX_PRICE) > 0) return "price must be between 0 and " + MAX_PRICE;
+        if (amount.stripTrailingZeros().scale() > 2) return "price must have at most 2 decimal places";
+
+        String available = trimToNull(values.get("available"));
+        if (available != null && !available.equalsIgnoreCase("true") && !available.equalsIgnoreCase("false")) {
+            return "available must be true or false";
+        }
+        return null;
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) return null;
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    // Accumulates validated rows into batches and keeps the running counts for one upload
+    private class Importer {
+        private final String restaurantId;
+        private final List<MenuItemRow> batch = new ArrayList<>(BATCH_SIZE);
+        private final List<Long> batchRowNumbers = new ArrayList<>(BATCH_SIZE);
+        private final List<RowError> errors = new ArrayList<>();
+        private long rowsRead;
+        private long imported;
+        private long failed;
+
+        Importer(String restaurantId) {
+            this.restaurantId = restaurantId;
+        }
+
+        void accept(long rowNumber, Map<String, String> values) {
+            rowsRead++;
+            String error = validate(values);
+            if (error != null) {
+                recordError(rowNumber, trimToNull(values.get("id")), error);
+                return;
+            }
+            String id = trimToNull(values.get("id"));
+            String available = trimToNull(values.get("available"));
+            batch.add(new MenuItemRow(
+                    id != null ? id : idGenerator.nextMenuItemId(),
+                    restaurantId,
+                    trimToNull(values.get("category")),
+                    values.get("name").trim(),
+                    emptyToNull(values.get("description")),
+                    new BigDecimal(values.get("price").trim()).setScale(2),
+                    available == null || Boolean.parseBoolean(available),
+                    trimToNull(values.get("itemPictureRef")),
+                    emptyToNull(values.get("allergens"))));
+            batchRowNumbers.add(rowNumber);
+            if (batch.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void reject(long rowNumber, String id, String message) {
+            rowsRead++;
+            recordError(rowNumber, id, message);
+        }
+
+        void finish() {
+            flush();
+            if (imported > 0) {
+                priceTable.invalidate(restaurantId);
+                changeLog.reset(restaurantId);
+                dashboardCache.invalidateMenu(restaurantId);
+            }
+        }
+
+        ImportResult result() {
+            return new ImportResult(rowsRead, imported, failed, List.copyOf(errors), failed > errors.size());
+        }
+
+        private void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> batchRepository.insert(batch));
+                imported += batch.size();
+            } catch (DataAccessException e) {
+                // Find the offending rows one at a time; the rest of the batch still goes in
+                for (int i = 0; i < batch.size(); i++) {
+                    MenuItemRow row = batch.get(i);
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> batchRepository.insert(List.of(row)));
+                        imported++;
+                    } catch (DuplicateKeyException ex) {
+                        recordError(batchRowNumbers.get(i), row.menuItemId(), "a menu item with this id already exists");
+                    } catch (DataAccessException ex) {
+                        recordError(batchRowNumbers.get(i), row.menuItemId(), ex.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+            batch.clear();
+            batchRowNumbers.clear();
+        }
+
+        private void recordError(long rowNumber, String id, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(rowNumber, id, message));
+            }
+        }
+    }
+}
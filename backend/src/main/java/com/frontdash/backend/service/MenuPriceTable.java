@@ -0,0 +1,184 @@
+package com.frontdash.backend.service;
+
+import com.frontdash.backend.entity.MenuItem;
+import com.frontdash.backend.repository.MenuItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory, versioned price table of every restaurant's menu, used to price orders at checkout.
+ *
+ * Each restaurant has an immutable snapshot (item ID -> price in cents + availability) that is
+ * replaced copy-on-write whenever MenuService changes an item, so checkout lookups are a plain
+ * HashMap get with no locking and no database access. A restaurant is loaded from the database
+ * the first time it is priced and kept up to date from then on.
+ *
+ * Changes are only seen directly on the node that makes them. With several instances, a snapshot
+ * is reloaded once it is older than frontdash.pricing.price-table-ttl-seconds, so a price changed on
+ * another node is picked up within that time (0 keeps snapshots until a local change; single node only).
+ */
+@Component
+public class MenuPriceTable {
+
+    public record PriceEntry(String menuItemId, String name, long priceCents, boolean available) {}
+
+    // loadedAt: when the items were read from the database (local changes applied since keep it)
+    public record Snapshot(long version, Map<String, PriceEntry> items, long loadedAt) {
+        public PriceEntry get(String menuItemId) {
+            return items.get(menuItemId);
+        }
+    }
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private BusinessMetrics metrics;
+
+    @Value("${frontdash.pricing.price-table-ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private final ConcurrentHashMap<String, Snapshot> byRestaurant = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> restaurantByItem = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    // Bumped by every change so a load that overlapped a change is not cached
+    private final AtomicLong changes = new AtomicLong();
+    // Held while a snapshot is written, so a load cannot check for changes and then cache stale
+    // items after a change was applied in between; lookups do not take it
+    private final Object writeLock = new Object();
+
+    public Snapshot get(String restaurantId) {
+        Snapshot snapshot = byRestaurant.get(restaurantId);
+        if (snapshot != null && !isExpired(snapshot)) {
+            metrics.priceTableHit();
+            return snapshot;
+        }
+        metrics.priceTableMiss();
+        return load(restaurantId);
+    }
+
+    // Loads a restaurant ahead of its first checkout; not counted as a lookup
+    public void preload(String restaurantId) {
+        if (!isLoaded(restaurantId)) {
+            load(restaurantId);
+        }
+    }
+
+    public boolean isLoaded(String restaurantId) {
+        Snapshot snapshot = byRestaurant.get(restaurantId);
+        return snapshot != null && !isExpired(snapshot);
+    }
+
+    public long changeCount() {
+        return changes.get();
+    }
+
+    // Bulk warm-up: caches items read after changesBefore was taken, unless a menu change came in since
+    public boolean putIfUnchanged(String restaurantId, List<MenuItem> items, long changesBefore) {
+        synchronized (writeLock) {
+            if (changes.get() != changesBefore) {
+                return false;
+            }
+            put(restaurantId, items);
+            return true;
+        }
+    }
+
+    // Replaces a restaurant's snapshot with the given items (used by loads and bulk warm-up)
+    public Snapshot put(String restaurantId, List<MenuItem> items) {
+        Map<String, PriceEntry> entries = new HashMap<>(Math.max(16, items.size() * 2));
+        for (MenuItem item : items) {
+            entries.put(item.getMenuItemId(), toEntry(item));
+            restaurantByItem.put(item.getMenuItemId(), restaurantId);
+        }
+        Snapshot snapshot = new Snapshot(versions.incrementAndGet(), entries, System.currentTimeMillis());
+        byRestaurant.put(restaurantId, snapshot);
+        return snapshot;
+    }
+
+    // Call after an item was created or updated; applied once the transaction commits
+    public void upsert(MenuItem item) {
+        String restaurantId = item.getRestaurant().getRestaurantId();
+        PriceEntry entry = toEntry(item);
+        changes.incrementAndGet();
+        AfterCommit.run(() -> {
+            synchronized (writeLock) {
+                changes.incrementAndGet();
+                restaurantByItem.put(entry.menuItemId(), restaurantId);
+                byRestaurant.computeIfPresent(restaurantId, (id, current) -> {
+                    Map<String, PriceEntry> next = new HashMap<>(current.items());
+                    next.put(entry.menuItemId(), entry);
+                    return new Snapshot(versions.incrementAndGet(), next, current.loadedAt());
+                });
+            }
+        });
+    }
+
+    public void remove(String menuItemId) {
+        changes.incrementAndGet();
+        AfterCommit.run(() -> {
+            synchronized (writeLock) {
+                changes.incrementAndGet();
+                String restaurantId = restaurantByItem.remove(menuItemId);
+                if (restaurantId != null) {
+                    byRestaurant.computeIfPresent(restaurantId, (id, current) -> {
+                        Map<String, PriceEntry> next = new HashMap<>(current.items());
+                        next.remove(menuItemId);
+                        return new Snapshot(versions.incrementAndGet(), next, current.loadedAt());
+                    });
+                }
+            }
+        });
+    }
+
+    // Drops a restaurant's snapshot so the next checkout reloads it (used after bulk changes)
+    public void invalidate(String restaurantId) {
+        changes.incrementAndGet();
+        AfterCommit.run(() -> {
+            synchronized (writeLock) {
+                changes.incrementAndGet();
+                byRestaurant.remove(restaurantId);
+            }
+        });
+    }
+
+    private Snapshot load(String restaurantId) {
+        long changesBefore = changes.get();
+        List<MenuItem> items = menuItemRepository.findByRestaurantId(restaurantId);
+        // An empty menu is not cached: checkout takes any restaurant id, and caching unknown ids would
+        // let callers grow the table without limit
+        if (!items.isEmpty()) {
+            synchronized (writeLock) {
+                if (changes.get() == changesBefore) {
+                    return put(restaurantId, items);
+                }
+            }
+        }
+        // Empty, or a menu change raced with this read; use the result once but do not cache it
+        Map<String, PriceEntry> entries = new HashMap<>();
+        for (MenuItem item : items) {
+            entries.put(item.getMenuItemId(), toEntry(item));
+        }
+        return new Snapshot(versions.incrementAndGet(), entries, System.currentTimeMillis());
+    }
+
+    private boolean isExpired(Snapshot snapshot) {
+        return ttlSeconds > 0 && System.currentTimeMillis() - snapshot.loadedAt() > ttlSeconds * 1000;
+    }
+
+    private static PriceEntry toEntry(MenuItem item) {
+        BigDecimal price = item.getPrice() != null ? item.getPrice() : BigDecimal.ZERO;
+        long cents = price.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        return new PriceEntry(item.getMenuItemId(), item.getFoodName(), cents,
+                Boolean.TRUE.equals(item.getIsAvailable()));
+    }
+}
@@ -1,32 +1,75 @@
 package com.frontdash.backend.service;
 
+import com.frontdash.backend.entity.BulkAvailabilityRequest;
 import com.frontdash.backend.entity.MenuItem;
 import com.frontdash.backend.entity.Restaurant;
 import com.frontdash.backend.repository.MenuItemRepository;
 import com.frontdash.backend.repository.RestaurantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 @Transactional
 public class MenuService {
 
+    private static final Logger log = LoggerFactory.getLogger(MenuService.class);
+
     @Autowired
     private MenuItemRepository menuItemRepository;
 
     @Autowired
     private RestaurantRepository restaurantRepository;
 
+    @Autowired
+    private IdGenerator idGenerator;
+
+    @Autowired
+    private MenuPriceTable priceTable;
+
+    @Autowired
+    private RestaurantDashboardCache dashboardCache;
+
+    @Autowired
+    private MenuChangeLog changeLog;
+
+    private static final int MAX_BULK_IDS = 1000;
+
     // Menu item CRUD operations
     public List<MenuItem> getMenuByRestaurant(String restaurantId) {
         return menuItemRepository.findByRestaurantId(restaurantId);
     }
 
+    // Incremental sync: deltas since the client's version, or the full menu when the log cannot answer
+    public Map<String, Object> getMenuChanges(String restaurantId, long since) {
+        MenuChangeLog.Delta delta = changeLog.changesSince(restaurantId, since);
+        Map<String, Object> response = new LinkedHashMap<>();
+        if (!delta.full()) {
+            response.put("version", delta.version());
+            response.put("full", false);
+            response.put("changes", delta.changes());
+            return response;
+        }
+        if (!restaurantRepository.existsById(restaurantId)) {
+            throw new RuntimeException("Restaurant not found with id: " + restaurantId);
+        }
+        // Version is read before the items: a change that lands in between is sent again as a delta
+        long version = changeLog.currentVersion(restaurantId);
+        response.put("version", version);
+        response.put("full", true);
+        response.put("items", menuItemRepository.findByRestaurantId(restaurantId));
+        return response;
+    }
+
     public List<MenuItem> getAvailableMenuByRestaurant(String restaurantId) {
         Restaurant restaurant = restaurantRepository.findById(restaurantId)
             .orElseThrow(() -> new RuntimeException("Restaurant not found with id: " + restaurantId));
@@ -42,24 +85,27 @@ public class MenuService {
             .orElseThrow(() -> new RuntimeException("Restaurant not found with id: " + restaurantId));
         
         menuItem.setRestaurant(restaurant);
-        return menuItemRepository.save(menuItem);
+        if (menuItem.getMenuItemId() == null || menuItem.getMenuItemId().isBlank()) {
+            menuItem.setMenuItemId(idGenerator.nextMenuItemId());
+        }
+        MenuItem saved = menuItemRepository.save(menuItem);
+        priceTable.upsert(saved);
+        changeLog.recordUpsert(saved);
+        dashboardCache.invalidateMenu(restaurantId);
+        return saved;
     }
 
     public MenuItem updateMenuItem(String menuItemId, MenuItem menuItemDetails) {
-        System.out.println("--- UPDATE REQUEST RECEIVED ---");
-        System.out.println("Updating Item ID: " + menuItemId);
-        System.out.println("New Name: " + menuItemDetails.getFoodName());
-        System.out.println("New Price: " + menuItemDetails.getPrice());
-        System.out.println("New Desc: " + menuItemDetails.getFoodDescription());
+        log.debug("Updating menu item {}: name={}, price={}, description={}", menuItemId,
+                menuItemDetails.getFoodName(), menuItemDetails.getPrice(), menuItemDetails.getFoodDescription());
 
         return menuItemRepository.findById(menuItemId).map(menuItem -> {
             
-            // 1. Force the Update (Remove the 'if null' checks for main fields to verify connection)
-            // If these print "null" in your logs, we know the JSON mapping is broken.
+            // 1. Main fields; a missing name usually means the JSON did not map onto MenuItem
             if (menuItemDetails.getFoodName() != null) {
                 menuItem.setFoodName(menuItemDetails.getFoodName());
             } else {
-                System.out.println("WARNING: FoodName was NULL. Mapping issue?");
+                log.warn("Menu item {} update has no name; check the request JSON", menuItemId);
             }
 
             if (menuItemDetails.getPrice() != null) {
@@ -76,30 +122,83 @@ public class MenuService {
             if (menuItemDetails.getIsAvailable() != null) menuItem.setIsAvailable(menuItemDetails.getIsAvailable());
             if (menuItemDetails.getItemPictureRef() != null) menuItem.setItemPictureRef(menuItemDetails.getItemPictureRef());
             
-            System.out.println("--- SAVING TO DB ---");
-            return menuItemRepository.save(menuItem);
+            MenuItem saved = menuItemRepository.save(menuItem);
+            priceTable.upsert(saved);
+            changeLog.recordUpsert(saved);
+            dashboardCache.invalidateMenu(saved.getRestaurant().getRestaurantId());
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Menu item not found with id: " + menuItemId));
     }
 
     public void deleteMenuItem(String menuItemId) {
-        menuItemRepository.deleteById(menuItemId);
+        menuItemRepository.findById(menuItemId).ifPresent(menuItem -> {
+            menuItemRepository.delete(menuItem);
+            changeLog.recordDelete(menuItem.getRestaurant().getRestaurantId(), menuItemId);
+            dashboardCache.invalidateMenu(menuItem.getRestaurant().getRestaurantId());
+        });
+        priceTable.remove(menuItemId);
     }
 
     // Availability operations
     public Optional<MenuItem> toggleAvailability(String menuItemId) {
         return menuItemRepository.findById(menuItemId).map(menuItem -> {
             menuItem.setIsAvailable(!menuItem.getIsAvailable());
-            return menuItemRepository.save(menuItem);
+            MenuItem saved = menuItemRepository.save(menuItem);
+            priceTable.upsert(saved);
+            changeLog.recordUpsert(saved);
+            dashboardCache.invalidateMenu(saved.getRestaurant().getRestaurantId());
+            return saved;
         });
     }
 
     public Optional<MenuItem> setAvailability(String menuItemId, boolean isAvailable) {
         return menuItemRepository.findById(menuItemId).map(menuItem -> {
             menuItem.setIsAvailable(isAvailable);
-            return menuItemRepository.save(menuItem);
+            MenuItem saved = menuItemRepository.save(menuItem);
+            priceTable.upsert(saved);
+            changeLog.recordUpsert(saved);
+            dashboardCache.invalidateMenu(saved.getRestaurant().getRestaurantId());
+            return saved;
         });
     }
 
+    // Bulk availability ("86 the whole category"): one UPDATE, then the restaurant's cached
+    // menu data is dropped once so checkout and the dashboard see the change immediately.
+    public int setAvailabilityBulk(String restaurantId, BulkAvailabilityRequest request) {
+        if (request.available == null) {
+            throw new RuntimeException("available is required");
+        }
+        boolean byIds = request.menuItemIds != null && !request.menuItemIds.isEmpty();
+        boolean byCategory = request.category != null && !request.category.isBlank();
+        boolean byAllergen = request.allergen != null && !request.allergen.isBlank();
+        if ((byIds ? 1 : 0) + (byCategory ? 1 : 0) + (byAllergen ? 1 : 0) != 1) {
+            throw new RuntimeException("Specify exactly one of menuItemIds, category or allergen");
+        }
+        if (byIds && request.menuItemIds.size() > MAX_BULK_IDS) {
+            throw new RuntimeException("At most " + MAX_BULK_IDS + " menu item ids per request");
+        }
+        if (!restaurantRepository.existsById(restaurantId)) {
+            throw new RuntimeException("Restaurant not found with id: " + restaurantId);
+        }
+
+        int updated;
+        if (byIds) {
+            updated = menuItemRepository.updateAvailabilityByIds(restaurantId, request.menuItemIds, request.available);
+        } else if (byCategory) {
+            updated = menuItemRepository.updateAvailabilityByCategory(restaurantId, request.category, request.available);
+        } else {
+            String allergen = request.allergen.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+            updated = menuItemRepository.updateAvailabilityByAllergen(restaurantId, "%" + allergen + "%", request.available);
+        }
+        if (updated > 0) {
+            priceTable.invalidate(restaurantId);
+            changeLog.reset(restaurantId);
+            dashboardCache.invalidateMenu(restaurantId);
+        }
+        return updated;
+    }
+
     // Category operations
     public List<MenuItem> getMenuByCategory(String restaurantId, String category) {
         Restaurant restaurant = restaurantRepository.findById(restaurantId)
@@ -125,14 +224,18 @@ public class MenuService {
     public Optional<MenuItem> updateMenuItemImage(String menuItemId, String imageRef) {
         return menuItemRepository.findById(menuItemId).map(menuItem -> {
             menuItem.setItemPictureRef(imageRef);
-            return menuItemRepository.save(menuItem);
+            MenuItem saved = menuItemRepository.save(menuItem);
+            changeLog.recordUpsert(saved);
+            return saved;
         });
     }
 
     public Optional<MenuItem> removeMenuItemImage(String menuItemId) {
         return menuItemRepository.findById(menuItemId).map(menuItem -> {
             menuItem.setItemPictureRef(null);
-            return menuItemRepository.save(menuItem);
+            MenuItem saved = menuItemRepository.save(menuItem);
+            changeLog.recordUpsert(saved);
+            return saved;
         });
     }
 }
\ No newline at end of file
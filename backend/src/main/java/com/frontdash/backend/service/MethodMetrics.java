@@ -0,0 +1,117 @@
+package com.frontdash.backend.service;
+
+import com.frontdash.backend.repository.DbProcedure;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.support.ClassFilters;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.aop.support.annotation.AnnotationClassFilter;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency timers for the request path, applied as AOP advisors rather than code in each method:
+ * <ul>
+ *   <li>frontdash.method (layer, class, method, outcome): every public method of @RestController and @Service beans</li>
+ *   <li>frontdash.db.procedure (procedure, outcome): repository methods annotated with @DbProcedure</li>
+ * </ul>
+ * Timers are registered on a method's first call and cached per Method, so recording allocates nothing.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MethodMetrics {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor methodTimingAdvisor(ObjectProvider<MeterRegistry> registry) {
+        ClassFilter layers = ClassFilters.union(new AnnotationClassFilter(RestController.class, true),
+                new AnnotationClassFilter(Service.class, true));
+        TimingInterceptor interceptor = new TimingInterceptor(registry, (method, outcome) -> Timer.builder("frontdash.method")
+                .tag("layer", AnnotatedElementUtils.hasAnnotation(method.getDeclaringClass(), RestController.class)
+                        ? "controller" : "service")
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("outcome", outcome));
+        return new DefaultPointcutAdvisor(new ComposablePointcut(layers, new PublicMethods()), interceptor);
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor procedureTimingAdvisor(ObjectProvider<MeterRegistry> registry) {
+        TimingInterceptor interceptor = new TimingInterceptor(registry, (method, outcome) -> Timer.builder("frontdash.db.procedure")
+                .description("Stored routine call latency")
+                .tag("procedure", AnnotatedElementUtils.findMergedAnnotation(method, DbProcedure.class).value())
+                .tag("outcome", outcome));
+        return new DefaultPointcutAdvisor(AnnotationMatchingPointcut.forMethodAnnotation(DbProcedure.class), interceptor);
+    }
+
+    interface TimerFactory {
+        Timer.Builder builder(Method method, String outcome);
+    }
+
+    static final class TimingInterceptor implements MethodInterceptor {
+
+        private final ObjectProvider<MeterRegistry> registry;
+        private final TimerFactory factory;
+        // [0] = success, [1] = error
+        private final ConcurrentHashMap<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+        TimingInterceptor(ObjectProvider<MeterRegistry> registry, TimerFactory factory) {
+            this.registry = registry;
+            this.factory = factory;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            long start = System.nanoTime();
+            boolean success = false;
+            try {
+                Object result = invocation.proceed();
+                success = true;
+                return result;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                Method method = invocation.getMethod();
+                Timer[] pair = timers.get(method);
+                if (pair == null) {
+                    pair = timers.computeIfAbsent(method, this::register);
+                }
+                pair[success ? 0 : 1].record(elapsed, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private Timer[] register(Method method) {
+            // The registry is resolved late: advisors are created before the metrics infrastructure
+            MeterRegistry meters = registry.getIfAvailable(() -> Metrics.globalRegistry);
+            return new Timer[] {
+                    factory.builder(method, "success").register(meters),
+                    factory.builder(method, "error").register(meters)
+            };
+        }
+    }
+
+    static final class PublicMethods extends StaticMethodMatcher {
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return Modifier.isPublic(method.getModifiers()) && method.getDeclaringClass() != Object.class;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.frontdash.backend.service;
+
+import com.frontdash.backend.entity.Notification;
+
+import java.util.List;
+
+/**
+ * Delivers notifications for one or more channels (Notification.EMAIL, Notification.SMS).
+ * NotificationDispatcher uses the first bean, in @Order, that supports a channel, and hands it
+ * whole batches; an exception fails the batch, which is then retried with backoff.
+ */
+public interface NotificationChannel {
+
+    boolean supports(String channel);
+
+    void send(List<Notification> batch) throws Exception;
+}
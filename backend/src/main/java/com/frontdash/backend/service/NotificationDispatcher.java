@@ -0,0 +1,304 @@
+package com.frontdash.backend.service;
+
+import com.frontdash.backend.entity.CreateOrderRequest;
+import com.frontdash.backend.entity.Notification;
+import com.frontdash.backend.entity.Order;
+import com.frontdash.backend.repository.NotificationDeadLetterRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Customer notifications, entirely off the request thread. A request only hands the saved order
+ * to a small bounded render pool (and drops the notification if that pool is saturated). Rendered
+ * messages wait in a bounded outbox. One sender thread sends them to their NotificationChannel in
+ * batches of up to batch-size. A failed batch is retried with exponential backoff and jitter;
+ * after max-attempts the messages go to the notification_dead_letter table.
+ */
+@Service
+public class NotificationDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private static final long SHUTDOWN_WAIT_MS = 10_000;
+
+    // A notification waiting for its next attempt
+    private record Retry(Notification notification, long dueAt) implements Delayed {
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAt, ((Retry) other).dueAt);
+        }
+    }
+
+    private final List<NotificationChannel> channels;
+    private final NotificationDeadLetterRepository deadLetters;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffMs;
+    private final long maxBackoffMs;
+    private final ThreadPoolExecutor renderers;
+    private final LinkedBlockingQueue<Notification> outbox;
+    private final DelayQueue<Retry> retries = new DelayQueue<>();
+    private final Thread sender;
+    private volatile boolean running = true;
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter deadLettered;
+    private final Counter dropped;
+
+    public NotificationDispatcher(List<NotificationChannel> channels,
+                                  NotificationDeadLetterRepository deadLetters,
+                                  MeterRegistry registry,
+                                  @Value("${frontdash.notifications.render-workers:2}") int renderWorkers,
+                                  @Value("${frontdash.notifications.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${frontdash.notifications.batch-size:50}") int batchSize,
+                                  @Value("${frontdash.notifications.max-attempts:6}") int maxAttempts,
+                                  @Value("${frontdash.notifications.backoff-ms:1000}") long backoffMs,
+                                  @Value("${frontdash.notifications.max-backoff-ms:300000}") long maxBackoffMs) {
+        this.channels = channels;
+        this.deadLetters = deadLetters;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffMs = backoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.outbox = new LinkedBlockingQueue<>(queueCapacity);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.renderers = new ThreadPoolExecutor(renderWorkers, renderWorkers, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "notification-renderer-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        sent = counter(registry, "sent");
+        retried = counter(registry, "retried");
+        deadLettered = counter(registry, "dead_lettered");
+        dropped = counter(registry, "dropped");
+        Gauge.builder("frontdash.notifications.queued", this, d -> d.outbox.size() + d.retries.size())
+                .description("Notifications rendered and waiting to be sent or retried")
+                .register(registry);
+
+        this.sender = new Thread(this::sendLoop, "notification-sender");
+        this.sender.setDaemon(true);
+        this.sender.start();
+    }
+
+    /** Receipt by email and confirmation by SMS for a newly placed order; returns at once. */
+    public void orderPlaced(Order order, CreateOrderRequest.ContactInfo contact) {
+        if (contact == null || (isBlank(contact.email) && isBlank(contact.phone))) {
+            return;
+        }
+        String email = contact.email;
+        String phone = contact.phone;
+        try {
+            renderers.execute(() -> {
+                String subject = "Your FrontDash order " + order.getOrderId();
+                if (!isBlank(email)) {
+                    enqueue(new Notification(order.getOrderId(), Notification.EMAIL, email.trim(), subject,
+                            OrderService.renderSummary(order)));
+                }
+                if (!isBlank(phone)) {
+                    enqueue(new Notification(order.getOrderId(), Notification.SMS, phone.trim(), subject,
+                            smsText(order)));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+            log.warn("Notification queue full; no receipt for order {}", order.getOrderId());
+        }
+    }
+
+    /** Puts a dead letter back in the outbox with a fresh attempt count; false if there is no such id. */
+    public boolean replay(long deadLetterId) {
+        return deadLetters.findById(deadLetterId).map(dead -> {
+            Notification n = dead.notification();
+            if (!outbox.offer(new Notification(n.getOrderId(), n.getChannel(), n.getRecipient(), n.getSubject(),
+                    n.getBody()))) {
+                throw new RuntimeException("Notification queue is full");
+            }
+            deadLetters.delete(deadLetterId);
+            return true;
+        }).orElse(false);
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("rendering", renderers.getQueue().size() + renderers.getActiveCount());
+        stats.put("queued", outbox.size());
+        stats.put("waitingForRetry", retries.size());
+        stats.put("sent", (long) sent.count());
+        stats.put("retried", (long) retried.count());
+        stats.put("deadLettered", (long) deadLettered.count());
+        stats.put("dropped", (long) dropped.count());
+        return stats;
+    }
+
+    private void enqueue(Notification notification) {
+        if (!outbox.offer(notification)) {
+            notification.failed("Notification queue full");
+            deadLetter(List.of(notification));
+        }
+    }
+
+    private void sendLoop() {
+        List<Notification> batch = new ArrayList<>(batchSize);
+        // After shutdown the outbox is drained once more; anything still waiting for a retry is dead-lettered
+        while (running || !outbox.isEmpty()) {
+            try {
+                Retry due = retries.poll();
+                Notification first = due != null ? due.notification() : outbox.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                while (batch.size() < batchSize && (due = retries.poll()) != null) {
+                    batch.add(due.notification());
+                }
+                outbox.drainTo(batch, batchSize - batch.size());
+                deliver(batch);
+            } catch (InterruptedException e) {
+                // Only interrupted when shutdown took too long; whatever is left is dead-lettered below
+                break;
+            } catch (RuntimeException e) {
+                log.error("Notification sender failed on a batch of {}", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+        List<Notification> left = new ArrayList<>(outbox);
+        retries.forEach(retry -> left.add(retry.notification()));
+        if (!left.isEmpty()) {
+            left.forEach(n -> n.failed("Shut down before delivery"));
+            deadLetter(left);
+        }
+    }
+
+    private void deliver(List<Notification> batch) {
+        Map<NotificationChannel, List<Notification>> byChannel = new LinkedHashMap<>();
+        List<Notification> dead = new ArrayList<>();
+        for (Notification n : batch) {
+            NotificationChannel channel = channelFor(n.getChannel());
+            if (channel == null) {
+                n.failed("No channel for " + n.getChannel());
+                dead.add(n);
+            } else {
+                byChannel.computeIfAbsent(channel, c -> new ArrayList<>()).add(n);
+            }
+        }
+        byChannel.forEach((channel, group) -> {
+            try {
+                channel.send(group);
+                sent.increment(group.size());
+            } catch (Exception e) {
+                long now = System.currentTimeMillis();
+                for (Notification n : group) {
+                    n.failed(e.getClass().getSimpleName() + ": " + e.getMessage());
+                    if (n.getAttempts() >= maxAttempts) {
+                        dead.add(n);
+                    } else {
+                        retries.add(new Retry(n, now + backoff(n.getAttempts())));
+                        retried.increment();
+                    }
+                }
+                log.warn("Sending {} notification(s) failed: {}", group.size(), e.getMessage());
+            }
+        });
+        if (!dead.isEmpty()) {
+            deadLetter(dead);
+        }
+    }
+
+    // backoff-ms doubled per failed attempt, capped at max-backoff-ms, +-20% so failed batches spread out
+    private long backoff(int attempts) {
+        long delay = backoffMs << Math.min(attempts - 1, 30);
+        if (delay <= 0 || delay > maxBackoffMs) {
+            delay = maxBackoffMs;
+        }
+        return (long) (delay * ThreadLocalRandom.current().nextDouble(0.8, 1.2));
+    }
+
+    private void deadLetter(List<Notification> notifications) {
+        try {
+            deadLetters.insert(notifications);
+            deadLettered.increment(notifications.size());
+        } catch (RuntimeException e) {
+            // Last resort: the log is the only record left
+            for (Notification n : notifications) {
+                log.error("Lost notification for order {} to {} {}: {}", n.getOrderId(), n.getChannel(),
+                        n.getRecipient(), n.getLastError());
+            }
+            log.error("Could not save {} dead-letter notification(s)", notifications.size(), e);
+        }
+    }
+
+    private NotificationChannel channelFor(String name) {
+        for (NotificationChannel channel : channels) {
+            if (channel.supports(name)) {
+                return channel;
+            }
+        }
+        return null;
+    }
+
+    private static String smsText(Order order) {
+        StringBuilder text = new StringBuilder("FrontDash: order ").append(order.getOrderId());
+        if (order.getRestaurant() != null) {
+            text.append(" from ").append(order.getRestaurant().getRestaurantName());
+        }
+        text.append(" confirmed, total $").append(String.format("%.2f", order.getTotalAmount()));
+        if (order.getEstimatedDeliveryAt() != null) {
+            text.append(", arriving around ")
+                .append(order.getEstimatedDeliveryAt().format(DateTimeFormatter.ofPattern("h:mm a")));
+        }
+        return text.append('.').toString();
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static Counter counter(MeterRegistry registry, String outcome) {
+        return Counter.builder("frontdash.notifications")
+                .description("Customer notifications by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        renderers.shutdown();
+        renderers.awaitTermination(SHUTDOWN_WAIT_MS, TimeUnit.MILLISECONDS);
+        running = false;
+        sender.join(SHUTDOWN_WAIT_MS);
+        if (sender.isAlive()) {
+            sender.interrupt();
+            sender.join(1_000);
+        }
+    }
+}
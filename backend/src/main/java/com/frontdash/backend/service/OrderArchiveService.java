@@ -0,0 +1,196 @@
+package com.frontdash.backend.service;
+
+import com.frontdash.backend.entity.OrderHistoryEntry;
+import com.frontdash.backend.entity.OrderHistoryPage;
+import com.frontdash.backend.repository.OrderArchiveRepository;
+import com.frontdash.backend.repository.OrderArchiveRepository.Candidate;
+import com.frontdash.backend.repository.OrderArchiveRepository.HistoryRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the live orders table small: delivered orders older than after-days are moved, with their
+ * items, into monthly archive tables (by order month), chunk-size orders per transaction.
+ * The history API reads the live table and the archive months together with keyset pagination.
+ */
+@Service
+public class OrderArchiveService {
+
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final Comparator<HistoryRow> NEWEST_FIRST = Comparator
+            .comparing(HistoryRow::orderDate).thenComparing(HistoryRow::orderId).reversed();
+
+    private final OrderArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int afterDays;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    // Known archive months, newest first; loaded on first use
+    private volatile ConcurrentSkipListSet<String> months;
+
+    public OrderArchiveService(OrderArchiveRepository archiveRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${frontdash.archive.enabled:true}") boolean enabled,
+                               @Value("${frontdash.archive.after-days:90}") int afterDays,
+                               @Value("${frontdash.archive.chunk-size:500}") int chunkSize,
+                               @Value("${frontdash.archive.max-chunks-per-run:1000}") int maxChunksPerRun) {
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.afterDays = afterDays;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+    }
+
+    @Scheduled(cron = "${frontdash.archive.cron:0 30 3 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archiveDeliveredOrders();
+        }
+    }
+
+    // Moves every eligible order (up to max-chunks-per-run chunks); returns how many were archived
+    public int archiveDeliveredOrders() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+            // Months whose tables were checked this run (also picks up columns added to orders since)
+            Set<String> ready = new HashSet<>();
+            int archived = 0;
+            for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+                // DDL commits implicitly on MySQL, so archive tables are prepared before the chunk's transaction
+                List<Candidate> upcoming = archiveRepository.findDeliveredBefore(cutoff, chunkSize, false);
+                if (upcoming.isEmpty()) {
+                    break;
+                }
+                for (Candidate candidate : upcoming) {
+                    String month = candidate.orderDate().format(MONTH);
+                    if (ready.add(month)) {
+                        archiveRepository.ensureArchiveTables(month);
+                        archiveMonths().add(month);
+                    }
+                }
+                Integer moved = transactionTemplate.execute(status -> archiveChunk(cutoff, ready));
+                archived += moved;
+                if (moved == 0 || upcoming.size() < chunkSize) {
+                    break;
+                }
+            }
+            return archived;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public OrderHistoryPage history(String restaurantId, String before, int size) {
+        LocalDateTime beforeDate = null;
+        String beforeId = null;
+        if (before != null && !before.isBlank()) {
+            int split = before.indexOf('_');
+            if (split < 0) {
+                throw new RuntimeException("Invalid cursor: " + before);
+            }
+            try {
+                beforeDate = LocalDateTime.parse(before.substring(0, split));
+            } catch (DateTimeParseException e) {
+                throw new RuntimeException("Invalid cursor: " + before);
+            }
+            beforeId = before.substring(split + 1);
+        }
+
+        // Live rows can be of any age (undelivered orders are never archived), so always read a full
+        // page from it. Archive months only hold older rows than newer months, so stop once they fill a page.
+        int wanted = size + 1;
+        List<HistoryRow> rows = new ArrayList<>(archiveRepository.findPage(OrderArchiveRepository.LIVE,
+                restaurantId, beforeDate, beforeId, wanted));
+        String cursorMonth = beforeDate == null ? null : beforeDate.format(MONTH);
+        int fromArchive = 0;
+        for (String month : archiveMonths()) {
+            if (cursorMonth != null && month.compareTo(cursorMonth) > 0) {
+                continue;
+            }
+            List<HistoryRow> part = archiveRepository.findPage(month, restaurantId, beforeDate, beforeId, wanted - fromArchive);
+            rows.addAll(part);
+            fromArchive += part.size();
+            if (fromArchive >= wanted) {
+                break;
+            }
+        }
+        rows.sort(NEWEST_FIRST);
+        boolean hasMore = rows.size() > size;
+        List<HistoryRow> page = hasMore ? rows.subList(0, size) : rows;
+
+        // Items: one query per partition that appears on the page
+        Map<String, List<String>> idsByMonth = new LinkedHashMap<>();
+        for (HistoryRow row : page) {
+            idsByMonth.computeIfAbsent(row.month() == null ? "" : row.month(), m -> new ArrayList<>()).add(row.orderId());
+        }
+        Map<String, List<OrderHistoryEntry.Item>> items = new HashMap<>();
+        idsByMonth.forEach((month, ids) -> items.putAll(archiveRepository.findItems(month.isEmpty() ? null : month, ids)));
+
+        List<OrderHistoryEntry> entries = new ArrayList<>(page.size());
+        for (HistoryRow row : page) {
+            entries.add(new OrderHistoryEntry(row.orderId(), row.restaurantId(), row.customerName(), row.status(),
+                    row.orderDate(), row.totalAmount(), row.month() != null, items.getOrDefault(row.orderId(), List.of())));
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            HistoryRow last = page.get(page.size() - 1);
+            nextCursor = last.orderDate() + "_" + last.orderId();
+        }
+        return new OrderHistoryPage(entries, nextCursor);
+    }
+
+    private int archiveChunk(LocalDateTime cutoff, Set<String> ready) {
+        List<Candidate> candidates = archiveRepository.findDeliveredBefore(cutoff, chunkSize, true);
+        Map<String, List<String>> byMonth = new LinkedHashMap<>();
+        for (Candidate candidate : candidates) {
+            byMonth.computeIfAbsent(candidate.orderDate().format(MONTH), m -> new ArrayList<>()).add(candidate.orderId());
+        }
+        int moved = 0;
+        for (Map.Entry<String, List<String>> entry : byMonth.entrySet()) {
+            // A month that appeared since the tables were prepared waits for the next chunk
+            if (ready.contains(entry.getKey())) {
+                moved += archiveRepository.moveToArchive(entry.getKey(), entry.getValue());
+            }
+        }
+        return moved;
+    }
+
+    private ConcurrentSkipListSet<String> archiveMonths() {
+        ConcurrentSkipListSet<String> known = months;
+        if (known == null) {
+            synchronized (this) {
+                if (months == null) {
+                    ConcurrentSkipListSet<String> loaded = new ConcurrentSkipListSet<>(Comparator.reverseOrder());
+                    loaded.addAll(archiveRepository.findArchiveMonths());
+                    months = loaded;
+                }
+                known = months;
+            }
+        }
+        return known;
+    }
+}
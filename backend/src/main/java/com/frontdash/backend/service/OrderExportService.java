@@ -0,0 +1,289 @@
+package com.frontdash.backend.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.frontdash.backend.repository.OrderArchiveRepository;
+import com.frontdash.backend.repository.OrderArchiveRepository.ExportRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Order export for accounting: every order placed in a date range (optionally for one restaurant)
+ * with its items, from the archive months that can hold the range and then the live table. Rows
+ * are streamed from a database cursor straight into the response, so memory use does not depend
+ * on the size of the range. Everything is read in one REPEATABLE READ transaction, so an order the
+ * archival job moves while the export runs is not exported twice.
+ *
+ * NDJSON has one order per line with an items array; CSV has one line per item, repeating the
+ * order columns (an order without items gets one line with empty item columns). CSV text fields
+ * that a spreadsheet would run as a formula are prefixed with a single quote.
+ *
+ * A failure after rows were sent cannot change the response status any more, so the export ends
+ * with an error record ({"error": ...} in NDJSON, a row starting with "error" in CSV) and the
+ * response is then aborted.
+ */
+@Service
+public class OrderExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderExportService.class);
+
+    private static final int EXPORT_FETCH_SIZE = 1000;
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String[] CSV_COLUMNS = {"orderId", "restaurantId", "customerName", "status", "driverId",
+            "orderDate", "totalAmount", "archived", "itemName", "quantity", "price"};
+
+    public enum Format {
+        NDJSON, CSV;
+
+        public static Format of(String value) {
+            if ("ndjson".equals(value)) {
+                return NDJSON;
+            }
+            if ("csv".equals(value)) {
+                return CSV;
+            }
+            throw new RuntimeException("Unsupported format: " + value + " (use ndjson or csv)");
+        }
+    }
+
+    private final OrderArchiveRepository archiveRepository;
+    private final TransactionTemplate snapshot;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public OrderExportService(OrderArchiveRepository archiveRepository, PlatformTransactionManager transactionManager) {
+        this.archiveRepository = archiveRepository;
+        this.snapshot = new TransactionTemplate(transactionManager);
+        this.snapshot.setReadOnly(true);
+        this.snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    // from and to are both inclusive days
+    public void exportOrders(LocalDate from, LocalDate to, String restaurantId, Format format, OutputStream out)
+            throws IOException {
+        long start = System.nanoTime();
+        LocalDateTime rangeStart = from.atStartOfDay();
+        LocalDateTime rangeEnd = to.plusDays(1).atStartOfDay();
+        String firstMonth = from.format(MONTH);
+        String lastMonth = to.format(MONTH);
+        RowWriter writer = format == Format.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+        try {
+            snapshot.executeWithoutResult(status -> {
+                // Archive tables hold orders by order month, so only months inside the range are read
+                List<String> months = new ArrayList<>();
+                for (String month : archiveRepository.findArchiveMonths()) {
+                    if (month.compareTo(firstMonth) >= 0 && month.compareTo(lastMonth) <= 0) {
+                        months.add(month);
+                    }
+                }
+                Collections.reverse(months);
+                months.add(OrderArchiveRepository.LIVE);
+                for (String month : months) {
+                    writer.archived = month != null;
+                    archiveRepository.forEachForExport(month, rangeStart, rangeEnd, restaurantId, EXPORT_FETCH_SIZE, writer);
+                    writer.endPartition();
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Order export ({} to {}{}) failed after {} orders", from, to,
+                    restaurantId == null ? "" : ", restaurant " + restaurantId, writer.orders, e);
+            try {
+                writer.error("Export failed after " + writer.orders + " orders; the output is incomplete");
+                writer.flush();
+            } catch (IOException writeFailed) {
+                e.addSuppressed(writeFailed);
+            }
+            if (e instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        }
+        writer.flush();
+        log.info("Exported {} orders ({} to {}{}) as {} in {} ms", writer.orders, from, to,
+                restaurantId == null ? "" : ", restaurant " + restaurantId, format, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Rows of one order arrive together, so an order is complete when the next order id shows up
+    private abstract static class RowWriter implements Consumer<ExportRow> {
+        boolean archived;
+        long orders;
+        String currentOrderId;
+
+        @Override
+        public void accept(ExportRow row) {
+            try {
+                if (!row.orderId().equals(currentOrderId)) {
+                    if (currentOrderId != null) {
+                        endOrder();
+                    }
+                    currentOrderId = row.orderId();
+                    orders++;
+                    startOrder(row);
+                }
+                item(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void endPartition() {
+            try {
+                if (currentOrderId != null) {
+                    endOrder();
+                    currentOrderId = null;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        abstract void startOrder(ExportRow row) throws IOException;
+
+        abstract void item(ExportRow row) throws IOException;
+
+        abstract void endOrder() throws IOException;
+
+        // Last record of an export that failed part way; may follow a partly written order
+        abstract void error(String message) throws IOException;
+
+        abstract void flush() throws IOException;
+    }
+
+    private class NdjsonRowWriter extends RowWriter {
+        private final JsonGenerator json;
+
+        NdjsonRowWriter(OutputStream out) throws IOException {
+            this.json = jsonFactory.createGenerator(out);
+            // Each order ends its own line instead of the default space between root values
+            this.json.setRootValueSeparator(null);
+        }
+
+        @Override
+        void startOrder(ExportRow row) throws IOException {
+            json.writeStartObject();
+            json.writeStringField("orderId", row.orderId());
+            json.writeStringField("restaurantId", row.restaurantId());
+            json.writeStringField("customerName", row.customerName());
+            json.writeStringField("status", row.status());
+            json.writeStringField("driverId", row.driverId());
+            json.writeStringField("orderDate", row.orderDate().toString());
+            if (row.totalAmount() == null) {
+                json.writeNullField("totalAmount");
+            } else {
+                json.writeNumberField("totalAmount", row.totalAmount());
+            }
+            json.writeBooleanField("archived", archived);
+            json.writeArrayFieldStart("items");
+        }
+
+        @Override
+        void item(ExportRow row) throws IOException {
+            if (row.foodName() == null && row.quantity() == null && row.price() == null) {
+                return;
+            }
+            json.writeStartObject();
+            json.writeStringField("name", row.foodName());
+            if (row.quantity() == null) {
+                json.writeNullField("quantity");
+            } else {
+                json.writeNumberField("quantity", row.quantity());
+            }
+            if (row.price() == null) {
+                json.writeNullField("price");
+            } else {
+                json.writeNumberField("price", row.price());
+            }
+            json.writeEndObject();
+        }
+
+        @Override
+        void endOrder() throws IOException {
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        void error(String message) throws IOException {
+            // Written raw, since the generator may be inside the order that failed
+            StringWriter record = new StringWriter();
+            try (JsonGenerator error = jsonFactory.createGenerator(record)) {
+                error.writeStartObject();
+                error.writeStringField("error", message);
+                error.writeEndObject();
+            }
+            if (currentOrderId != null) {
+                json.writeRaw('\n');
+            }
+            json.writeRaw(record.toString());
+            json.writeRaw('\n');
+        }
+
+        @Override
+        void flush() throws IOException {
+            json.flush();
+        }
+    }
+
+    private static class CsvRowWriter extends RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(String.join(",", CSV_COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        void startOrder(ExportRow row) {
+        }
+
+        @Override
+        void item(ExportRow row) throws IOException {
+            writer.write(CsvReader.quoteCell(row.orderId()) + ','
+                    + CsvReader.quoteCell(row.restaurantId()) + ','
+                    + CsvReader.quoteCell(row.customerName()) + ','
+                    + CsvReader.quoteCell(row.status()) + ','
+                    + CsvReader.quoteCell(row.driverId()) + ','
+                    + row.orderDate() + ','
+                    + (row.totalAmount() == null ? "" : row.totalAmount()) + ','
+                    + archived + ','
+                    + CsvReader.quoteCell(row.foodName()) + ','
+                    + (row.quantity() == null ? "" : row.quantity()) + ','
+                    + (row.price() == null ? "" : row.price()) + "\r\n");
+        }
+
+        @Override
+        void endOrder() {
+        }
+
+        @Override
+        void error(String message) throws IOException {
+            writer.write("error," + CsvReader.quoteCell(message) + ",".repeat(CSV_COLUMNS.length - 2) + "\r\n");
+        }
+
+        @Override
+        void flush() throws IOException {
+            writer.flush();
+        }
+    }
+}
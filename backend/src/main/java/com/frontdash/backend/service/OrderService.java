@@ -4,19 +4,38 @@ import com.frontdash.backend.entity.*; // Imports CreateOrderRequest from entity
 import com.frontdash.backend.repository.DriverJpaRepository;
 import com.frontdash.backend.repository.OrderRepository;
 import com.frontdash.backend.repository.RestaurantRepository;
+import jakarta.annotation.PostConstruct;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class OrderService {
 
+    // Nearest available drivers tried, in order, when the caller does not pick one
+    private static final int CLAIM_CANDIDATES = 5;
+
+    // Thrown when an Idempotency-Key is reused with a different checkout request
+    public static class IdempotencyConflictException extends RuntimeException {
+        public IdempotencyConflictException(String message) { super(message); }
+    }
+
+    // What an Idempotency-Key resolved to: the order it created and the request that created it
+    private record IdempotentRequest(String orderId, String requestHash) {}
+
     @Autowired
     private OrderRepository orderRepository;
     
@@ -26,27 +45,88 @@ public class OrderService {
     @Autowired
     private DriverJpaRepository driverRepository;
 
+    @Autowired
+    private IdGenerator idGenerator;
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Autowired
+    private GeocodeCache geocodeCache;
+
+    @Autowired
+    private EtaEstimator etaEstimator;
+
+    @Autowired
+    private BusinessMetrics metrics;
+
+    @Autowired
+    private DriverLocationService driverLocationService;
+
+    @Autowired
+    private DeliveryStatsService deliveryStats;
+
+    @Autowired
+    private NotificationDispatcher notifications;
+
+    @Value("${frontdash.orders.idempotency-ttl-minutes:1440}")
+    private long idempotencyTtlMinutes;
+
+    // Recently used Idempotency-Keys; the unique DB column covers restarts and older keys
+    private TtlCache<String, IdempotentRequest> recentOrdersByKey;
+
+    @PostConstruct
+    void initIdempotencyCache() {
+        recentOrdersByKey = new TtlCache<>(TimeUnit.MINUTES.toMillis(idempotencyTtlMinutes), 10_000);
+    }
+
     @Transactional
     public Order createOrder(CreateOrderRequest req) {
+        return createOrder(req, null);
+    }
+
+    @Transactional
+    public Order createOrder(CreateOrderRequest req, String idempotencyKey) {
+        // 0. A retry of an order we already created gets the original back
+        String requestHash = null;
+        if (idempotencyKey != null) {
+            requestHash = requestHash(req);
+            Optional<Order> existing = findByIdempotencyKey(idempotencyKey, requestHash);
+            if (existing.isPresent()) {
+                return existing.get();
+            }
+        }
+
+        // Price the cart from the current menu; stale or unavailable items are rejected before any write
+        PricingEngine.PricedOrder priced = pricingEngine.price(req);
+
         Order order = new Order();
         
         // 1. Generate ID and Basic Info
-        order.setOrderId("ord-" + UUID.randomUUID().toString().substring(0, 8));
+        order.setOrderId(idGenerator.nextOrderId());
+        order.setIdempotencyKey(idempotencyKey);
+        order.setIdempotencyRequestHash(requestHash);
         order.setOrderDate(LocalDateTime.now());
         order.setOrderStatus("PENDING");
         
-        // 2. Map Contact & Financials
+        // 2. Map Contact & Financials (the total is always the server-computed one)
         if (req.contact != null) {
             order.setCustomerName(req.contact.name);
         }
-        if (req.financials != null) {
-            order.setTotalAmount(req.financials.total);
-        }
+        order.setTotalAmount(priced.total());
         
-        // 3. Map Address
+        // 3. Map Address (structured, plus the single-line form) and place it on the map
+        GeoPoint customerLocation = null;
         if (req.delivery != null) {
-            String fullAddress = req.delivery.building + " " + req.delivery.street + ", " + req.delivery.city;
-            order.setDeliveryAddress(fullAddress);
+            DeliveryAddress address = new DeliveryAddress(req.delivery.building, req.delivery.street,
+                    req.delivery.city, req.delivery.state, req.delivery.zip);
+            customerLocation = geocodeCache.lookup(address.getZip(), address.getCity(), address.getState());
+            if (customerLocation != null) {
+                address.setLatitude(customerLocation.latitude());
+                address.setLongitude(customerLocation.longitude());
+            }
+            order.setDelivery(address);
+            order.setDeliveryAddress(address.toSingleLine());
         }
 
         // 4. Link Restaurant
@@ -54,16 +134,104 @@ public class OrderService {
                 .orElseThrow(() -> new RuntimeException("Restaurant not found"));
         order.setRestaurant(restaurant);
 
-        // 5. Add Items (Crucial for Staff to see what to cook!)
-        if (req.items != null) {
-            for (CreateOrderRequest.ItemInfo itemInfo : req.items) {
-                // Ensure OrderItem entity exists and has this constructor
-                OrderItem item = new OrderItem(itemInfo.name, itemInfo.quantity, itemInfo.price);
-                order.addItem(item);
-            }
+        // ETA from the distance and this restaurant's recent prep and travel times
+        order.setEstimatedDeliveryAt(etaEstimator.estimateDeliveryAt(restaurant.getRestaurantId(),
+                locate(restaurant), customerLocation, order.getOrderDate()));
+
+        // 5. Add Items (Crucial for Staff to see what to cook!) with names and prices from the menu
+        int itemCount = 0;
+        for (PricingEngine.PricedLine line : priced.lines()) {
+            OrderItem item = new OrderItem(line.name(), line.quantity(), line.unitPrice());
+            order.addItem(item);
+            itemCount += line.quantity();
         }
 
-        return orderRepository.save(order);
+        // Flush now so a concurrent retry with the same key fails on the unique constraint here
+        Order saved = orderRepository.saveAndFlush(order);
+        if (idempotencyKey != null) {
+            IdempotentRequest created = new IdempotentRequest(saved.getOrderId(), requestHash);
+            AfterCommit.run(() -> recentOrdersByKey.put(idempotencyKey, created));
+        }
+        int committedItems = itemCount;
+        AfterCommit.run(() -> metrics.orderCreated(committedItems));
+        // Receipts are rendered and sent in the background; checkout only hands the order over
+        CreateOrderRequest.ContactInfo contact = req.contact;
+        AfterCommit.run(() -> notifications.orderPlaced(saved, contact));
+        return saved;
+    }
+
+    // The order an Idempotency-Key already created, read fresh; a conflict if the key came with another request
+    @Transactional(readOnly = true)
+    public Optional<Order> findByIdempotencyKey(String idempotencyKey, CreateOrderRequest req) {
+        return findByIdempotencyKey(idempotencyKey, requestHash(req));
+    }
+
+    private Optional<Order> findByIdempotencyKey(String idempotencyKey, String requestHash) {
+        IdempotentRequest known = recentOrdersByKey.get(idempotencyKey);
+        Optional<Order> order;
+        if (known != null) {
+            checkSameRequest(idempotencyKey, known.requestHash(), requestHash);
+            order = orderRepository.findById(known.orderId());
+        } else {
+            order = orderRepository.findByIdempotencyKey(idempotencyKey);
+            order.ifPresent(o -> {
+                checkSameRequest(idempotencyKey, o.getIdempotencyRequestHash(), requestHash);
+                recentOrdersByKey.put(idempotencyKey, new IdempotentRequest(o.getOrderId(), o.getIdempotencyRequestHash()));
+            });
+        }
+        // Load items now so the order can be serialized outside this session
+        order.ifPresent(o -> Hibernate.initialize(o.getItems()));
+        return order;
+    }
+
+    // Orders placed before request hashes were stored have none and are replayed unchecked
+    private static void checkSameRequest(String idempotencyKey, String storedHash, String requestHash) {
+        if (storedHash != null && !storedHash.equals(requestHash)) {
+            throw new IdempotencyConflictException("Idempotency-Key " + idempotencyKey
+                    + " was already used for a different order request");
+        }
+    }
+
+    // Hash of everything in the request that shapes the order; the client's own totals are ignored like at pricing
+    static String requestHash(CreateOrderRequest req) {
+        StringBuilder canonical = new StringBuilder();
+        field(canonical, req.restaurantId);
+        if (req.contact != null) {
+            field(canonical, req.contact.name);
+            field(canonical, req.contact.email);
+            field(canonical, req.contact.phone);
+        }
+        canonical.append('|');
+        if (req.delivery != null) {
+            field(canonical, req.delivery.building);
+            field(canonical, req.delivery.street);
+            field(canonical, req.delivery.city);
+            field(canonical, req.delivery.state);
+            field(canonical, req.delivery.zip);
+        }
+        canonical.append('|');
+        if (req.financials != null) {
+            field(canonical, req.financials.tip);
+        }
+        canonical.append('|');
+        if (req.items != null) {
+            for (CreateOrderRequest.ItemInfo item : req.items) {
+                field(canonical, item == null ? null : item.id);
+                field(canonical, item == null ? null : item.quantity);
+            }
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Length-prefixed so that no two different field lists produce the same text
+    private static void field(StringBuilder canonical, Object value) {
+        String text = value == null ? "" : value.toString();
+        canonical.append(value == null ? -1 : text.length()).append(':').append(text);
     }
 
     public List<Order> getPendingOrders() {
@@ -73,7 +241,11 @@ public class OrderService {
     public String buildOrderSummary(String orderId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
+        return renderSummary(order);
+    }
 
+    // Also used for receipts, from the Order as saved (restaurant and items already loaded)
+    static String renderSummary(Order order) {
         DateTimeFormatter dateFmt = DateTimeFormatter.ofPattern("MM-dd-yyyy");
         DateTimeFormatter timeFmt = DateTimeFormatter.ofPattern("h:mm a");
 
@@ -91,8 +263,11 @@ public class OrderService {
           .append(order.getOrderDate().toLocalTime().truncatedTo(ChronoUnit.MINUTES).format(timeFmt))
           .append("\n");
 
+        LocalDateTime estimate = order.getEstimatedDeliveryAt() != null
+                ? order.getEstimatedDeliveryAt()
+                : order.getOrderDate().plusMinutes(40);
         sb.append("Estimated delivery time: ")
-          .append(order.getOrderDate().plusMinutes(40)
+          .append(estimate
                   .toLocalTime().truncatedTo(ChronoUnit.MINUTES)
                   .format(timeFmt))
           .append("\n\n");
@@ -114,26 +289,145 @@ public class OrderService {
         return sb.toString();
     }
 
+    // Without a driverId the nearest available driver to the restaurant (by last reported location) is taken.
+    // The driver is claimed with a conditional UPDATE, so two assignments can never get the same driver.
+    // Until pickup the order can be given to another driver, which frees the one it had.
     @Transactional
     public Order assignDriver(String orderId, String driverId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
-        Driver driver = driverRepository.findById(driverId)
-                .orElseThrow(() -> new RuntimeException("Driver not found"));
+        String status = order.getOrderStatus();
+        if (!"PENDING".equals(status) && !"ASSIGNED".equals(status)) {
+            throw new RuntimeException("Order " + orderId + " is " + status + "; a driver can only be assigned before pickup");
+        }
+        Driver previous = order.getDriver();
+        if (previous != null && driverId != null && driverId.equals(previous.getDriverId())) {
+            return order;
+        }
+
+        Driver driver = driverId == null || driverId.isBlank()
+                ? claimNearestDriver(order.getRestaurant())
+                : claimDriver(driverId);
 
+        if (previous != null) {
+            previous.setAssignedToOrder(Boolean.FALSE);
+        }
         order.setDriver(driver);
         driver.setAssignedToOrder(Boolean.TRUE);
         order.setOrderStatus("ASSIGNED");
+
+        // A reassignment keeps the time of the first one
+        if (order.getAssignedAt() == null) {
+            order.setAssignedAt(LocalDateTime.now());
+        }
         return orderRepository.save(order);
     }
 
+    // The assigned driver has collected the order from the restaurant
+    @Transactional
+    public Order markPickedUp(String orderId) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
+
+        if (!"ASSIGNED".equals(order.getOrderStatus())) {
+            throw new RuntimeException("Order " + orderId + " is " + order.getOrderStatus() + ", not ASSIGNED");
+        }
+        LocalDateTime pickedUpAt = LocalDateTime.now();
+        order.setOrderStatus("PICKED_UP");
+        order.setPickedUpAt(pickedUpAt);
+        Order saved = orderRepository.save(order);
+
+        // Time from order to pickup feeds the restaurant's rolling prep time
+        String restaurantId = order.getRestaurant().getRestaurantId();
+        double prepMinutes = minutesBetween(order.getOrderDate(), pickedUpAt);
+        AfterCommit.run(() -> etaEstimator.recordPrep(restaurantId, prepMinutes));
+        return saved;
+    }
+
     @Transactional
     public Order markDelivered(DeliverRequest req) {
         Order order = orderRepository.findById(req.orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found: " + req.orderId));
 
+        // A repeated call must not count the delivery twice
+        if ("DELIVERED".equals(order.getOrderStatus())) {
+            return order;
+        }
+        LocalDateTime deliveredAt = LocalDateTime.now();
         order.setOrderStatus("DELIVERED");
+        order.setDeliveredAt(deliveredAt);
+        // The driver can take the next order
+        if (order.getDriver() != null) {
+            order.getDriver().setAssignedToOrder(Boolean.FALSE);
+        }
+
+        // Travel time is measured from pickup when the driver reported it, otherwise estimated
+        // as whatever the order took beyond the kitchen
+        Restaurant restaurant = order.getRestaurant();
+        String restaurantId = restaurant.getRestaurantId();
+        GeoPoint from = locate(restaurant);
+        GeoPoint to = order.getDelivery() != null ? order.getDelivery().toGeoPoint() : null;
+        LocalDateTime placedAt = order.getOrderDate();
+        LocalDateTime pickedUpAt = order.getPickedUpAt();
+
+        Order saved = orderRepository.save(order);
+        String driverId = order.getDriver() != null ? order.getDriver().getDriverId() : null;
+        if (from != null && to != null) {
+            double distanceKm = from.distanceKm(to);
+            AfterCommit.run(() -> etaEstimator.recordTravel(restaurantId, distanceKm, pickedUpAt != null
+                    ? minutesBetween(pickedUpAt, deliveredAt)
+                    : minutesBetween(placedAt, deliveredAt) - etaEstimator.prepMinutes(restaurantId)));
+        }
+        AfterCommit.run(() -> deliveryStats.recordDelivery(restaurantId, driverId, placedAt, pickedUpAt, deliveredAt));
+        return saved;
+    }
+
+    @Transactional
+    public Order setEta(String orderId, int minutes) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new RuntimeException("Order not found: " + orderId));
+
+        order.setEstimatedDeliveryAt(LocalDateTime.now().plusMinutes(minutes));
         return orderRepository.save(order);
     }
+
+    private Driver claimDriver(String driverId) {
+        if (driverRepository.claim(driverId) == 0) {
+            if (!driverRepository.existsById(driverId)) {
+                throw new RuntimeException("Driver not found");
+            }
+            throw new RuntimeException("Driver " + driverId + " is inactive or already on an order");
+        }
+        return driverRepository.findById(driverId)
+                .orElseThrow(() -> new RuntimeException("Driver not found"));
+    }
+
+    // Candidates can be taken by a concurrent assignment between the lookup and the claim, so the next
+    // closest one is tried
+    private Driver claimNearestDriver(Restaurant restaurant) {
+        GeoPoint pickup = locate(restaurant);
+        if (pickup == null) {
+            throw new RuntimeException("Restaurant location unknown; choose a driver explicitly");
+        }
+        List<DriverPosition> candidates = driverLocationService.nearestAvailable(pickup, CLAIM_CANDIDATES);
+        if (candidates.isEmpty()) {
+            throw new RuntimeException("No available driver has reported a location recently");
+        }
+        for (DriverPosition candidate : candidates) {
+            if (driverRepository.claim(candidate.driverId()) == 1) {
+                return driverRepository.findById(candidate.driverId())
+                        .orElseThrow(() -> new RuntimeException("Driver not found"));
+            }
+        }
+        throw new RuntimeException("The nearest drivers were just assigned to other orders; try again");
+    }
+
+    private GeoPoint locate(Restaurant restaurant) {
+        return geocodeCache.lookup(restaurant.getZip(), restaurant.getCity(), restaurant.getState());
+    }
+
+    private static double minutesBetween(LocalDateTime from, LocalDateTime to) {
+        return from == null ? 0 : ChronoUnit.SECONDS.between(from, to) / 60.0;
+    }
 }
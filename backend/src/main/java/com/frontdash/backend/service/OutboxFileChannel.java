@@ -0,0 +1,62 @@
+package com.frontdash.backend.service;
+
+import com.frontdash.backend.entity.Notification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Stand-in for real email and SMS providers: appends every notification to a local outbox file
+ * (one write per batch) and logs one line per batch. Registered last, so a real channel bean for
+ * email or SMS takes over that channel without removing this one.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class OutboxFileChannel implements NotificationChannel {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxFileChannel.class);
+
+    private final Path outbox;
+
+    public OutboxFileChannel(@Value("${frontdash.notifications.outbox-file:notifications/outbox.log}") String outboxFile) {
+        this.outbox = Paths.get(outboxFile).toAbsolutePath();
+    }
+
+    @Override
+    public boolean supports(String channel) {
+        return true;
+    }
+
+    @Override
+    public synchronized void send(List<Notification> batch) throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (Notification notification : batch) {
+            text.append("=== ").append(Instant.now())
+                .append(' ').append(notification.getChannel())
+                .append(" to ").append(notification.getRecipient())
+                .append(" (order ").append(notification.getOrderId())
+                .append(", attempt ").append(notification.getAttempts() + 1).append(")\n")
+                .append("Subject: ").append(notification.getSubject()).append("\n\n")
+                .append(notification.getBody()).append("\n\n");
+        }
+        Files.createDirectories(outbox.getParent());
+        try (Writer out = Files.newBufferedWriter(outbox, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            out.write(text.toString());
+        }
+        log.info("Wrote {} notification(s) to {}", batch.size(), outbox);
+    }
+}
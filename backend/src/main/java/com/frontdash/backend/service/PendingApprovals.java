@@ -0,0 +1,127 @@
+package com.frontdash.backend.service;
+
+import com.frontdash.backend.repository.ApprovalRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pending registration requests in memory (restaurant id -> requested at), for the pending-by-age
+ * counts and the SLA meters: gauges of pending requests per age bucket and of the oldest one, and
+ * a timer of request-to-decision time. Read from the database once, on first use (a metrics scrape
+ * counts), then kept current by ApprovalService.
+ */
+@Component
+public class PendingApprovals {
+
+    // Upper bounds of the age buckets; anything older falls into the last one
+    private static final Duration[] BUCKET_LIMITS = {
+            Duration.ofHours(1), Duration.ofHours(24), Duration.ofDays(3), Duration.ofDays(7)};
+    private static final String[] BUCKET_NAMES = {"under_1h", "1h_to_24h", "1d_to_3d", "3d_to_7d", "over_7d"};
+
+    private final ApprovalRepository repository;
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<String, Long> requestedAt = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    // The repository (and its stored procedures) is only created once something needs the queue
+    public PendingApprovals(@Lazy ApprovalRepository repository, MeterRegistry registry) {
+        this.repository = repository;
+        this.registry = registry;
+        for (int i = 0; i < BUCKET_NAMES.length; i++) {
+            int bucket = i;
+            Gauge.builder("frontdash.approvals.pending", this, p -> p.countsByAge()[bucket])
+                    .description("Pending restaurant registrations by time waiting")
+                    .tag("age", BUCKET_NAMES[i])
+                    .register(registry);
+        }
+        Gauge.builder("frontdash.approvals.oldest_pending", this, p -> p.oldestAge().toSeconds())
+                .description("Time the oldest pending registration has been waiting")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    public void requested(String restaurantId, LocalDateTime at) {
+        ensureLoaded();
+        requestedAt.put(restaurantId, toMillis(at != null ? at : LocalDateTime.now()));
+    }
+
+    public void decided(String restaurantId, String status, LocalDateTime at) {
+        ensureLoaded();
+        Long requested = requestedAt.remove(restaurantId);
+        if (requested != null) {
+            long waited = toMillis(at != null ? at : LocalDateTime.now()) - requested;
+            Timer.builder("frontdash.approvals.decision_time")
+                    .description("Time from registration request to decision")
+                    .tag("decision", status)
+                    .register(registry)
+                    .record(Duration.ofMillis(Math.max(0, waited)));
+        }
+    }
+
+    public int size() {
+        ensureLoaded();
+        return requestedAt.size();
+    }
+
+    public long[] countsByAge() {
+        ensureLoaded();
+        long now = System.currentTimeMillis();
+        long[] counts = new long[BUCKET_NAMES.length];
+        for (long requested : requestedAt.values()) {
+            long age = now - requested;
+            int bucket = 0;
+            while (bucket < BUCKET_LIMITS.length && age >= BUCKET_LIMITS[bucket].toMillis()) {
+                bucket++;
+            }
+            counts[bucket]++;
+        }
+        return counts;
+    }
+
+    public Duration oldestAge() {
+        ensureLoaded();
+        long oldest = requestedAt.values().stream().mapToLong(Long::longValue).min().orElse(System.currentTimeMillis());
+        return Duration.ofMillis(Math.max(0, System.currentTimeMillis() - oldest));
+    }
+
+    public Map<String, Object> summary() {
+        long[] counts = countsByAge();
+        Map<String, Object> byAge = new LinkedHashMap<>();
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            byAge.put(BUCKET_NAMES[i], counts[i]);
+            total += counts[i];
+        }
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("pending", total);
+        summary.put("oldestPendingMinutes", oldestAge().toMinutes());
+        summary.put("byAge", byAge);
+        return summary;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                repository.findPendingRequestTimes().forEach((id, at) -> requestedAt.putIfAbsent(id, toMillis(at)));
+                loaded = true;
+            }
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
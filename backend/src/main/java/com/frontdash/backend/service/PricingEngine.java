@@ -0,0 +1,97 @@
+package com.frontdash.backend.service;
+
+import com.frontdash.backend.entity.CreateOrderRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recomputes an order's subtotal, tax, fees and total from MenuPriceTable instead of trusting
+ * the amounts sent by the client. Works in whole cents with long arithmetic and rounds tax the
+ * same way the checkout page does (half-up to the cent).
+ */
+@Service
+public class PricingEngine {
+
+    // Client and server round tax independently, so allow one cent of drift on the total
+    private static final long TOTAL_TOLERANCE_CENTS = 1;
+
+    public record PricedLine(String menuItemId, String name, int quantity, long unitPriceCents) {
+        public Double unitPrice() { return unitPriceCents / 100.0; }
+    }
+
+    public record PricedOrder(long priceVersion, List<PricedLine> lines, long subtotalCents,
+                              long taxCents, long feeCents, long tipCents, long totalCents) {
+        public Double total() { return totalCents / 100.0; }
+    }
+
+    @Autowired
+    private MenuPriceTable priceTable;
+
+    private final long taxBasisPoints;
+    private final long serviceFeeCents;
+
+    public PricingEngine(@Value("${frontdash.pricing.tax-rate:0.0825}") BigDecimal taxRate,
+                         @Value("${frontdash.pricing.service-fee:3.50}") BigDecimal serviceFee) {
+        this.taxBasisPoints = taxRate.movePointRight(4).longValueExact();
+        this.serviceFeeCents = serviceFee.movePointRight(2).longValueExact();
+    }
+
+    // Throws if any item is unknown, unavailable or priced differently from the current menu
+    public PricedOrder price(CreateOrderRequest req) {
+        if (req.restaurantId == null || req.restaurantId.isBlank()) {
+            throw new RuntimeException("Order has no restaurant");
+        }
+        if (req.items == null || req.items.isEmpty()) {
+            throw new RuntimeException("Order has no items");
+        }
+
+        MenuPriceTable.Snapshot menu = priceTable.get(req.restaurantId);
+        List<PricedLine> lines = new ArrayList<>(req.items.size());
+        long subtotal = 0;
+
+        for (CreateOrderRequest.ItemInfo itemInfo : req.items) {
+            MenuPriceTable.PriceEntry entry = itemInfo.id != null ? menu.get(itemInfo.id) : null;
+            if (entry == null) {
+                throw new RuntimeException("Item is no longer on the menu: " + itemInfo.name);
+            }
+            if (!entry.available()) {
+                throw new RuntimeException("Item is currently unavailable: " + entry.name());
+            }
+            if (itemInfo.quantity == null || itemInfo.quantity < 1) {
+                throw new RuntimeException("Invalid quantity for item: " + entry.name());
+            }
+            if (itemInfo.price != null && toCents(itemInfo.price) != entry.priceCents()) {
+                throw new RuntimeException("Price has changed for item: " + entry.name());
+            }
+            lines.add(new PricedLine(entry.menuItemId(), entry.name(), itemInfo.quantity, entry.priceCents()));
+            subtotal += entry.priceCents() * itemInfo.quantity;
+        }
+
+        long tax = (subtotal * taxBasisPoints + 5_000) / 10_000;
+        long fees = subtotal > 0 ? serviceFeeCents : 0;
+        long tip = 0;
+        if (req.financials != null && req.financials.tip != null) {
+            tip = toCents(req.financials.tip);
+            if (tip < 0) {
+                throw new RuntimeException("Tip cannot be negative");
+            }
+        }
+        long total = subtotal + tax + fees + tip;
+
+        if (req.financials != null && req.financials.total != null
+                && Math.abs(toCents(req.financials.total) - total) > TOTAL_TOLERANCE_CENTS) {
+            throw new RuntimeException("Order total does not match current menu prices");
+        }
+
+        return new PricedOrder(menu.version(), lines, subtotal, tax, fees, tip, total);
+    }
+
+    private static long toCents(Double amount) {
+        return Math.round(amount * 100);
+    }
+}
@@ -0,0 +1,210 @@
+package com.frontdash.backend.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * One sampled request: a tree of timed spans (controller, service, repository, jdbc, ...).
+ * The span being timed on a thread is kept in a ThreadLocal; when no trace is active every
+ * call here is a ThreadLocal read and a null check, so unsampled requests pay almost nothing.
+ */
+public final class RequestTrace {
+
+    // Loops over many rows would otherwise grow one trace without bound
+    static final int MAX_SPANS = 2_000;
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt = System.currentTimeMillis();
+    private final Span root;
+    private final AtomicInteger spanCount = new AtomicInteger(1);
+    private volatile int dropped;
+    private String endpoint;
+    private int status;
+
+    private RequestTrace(String name) {
+        this.root = new Span(this, null, "request", name, null);
+    }
+
+    /** Starts a trace on this thread; the caller must {@link #finish()} it in a finally block. */
+    public static RequestTrace begin(String name) {
+        RequestTrace trace = new RequestTrace(name);
+        CURRENT.set(trace.root);
+        return trace;
+    }
+
+    public static boolean active() {
+        return CURRENT.get() != null;
+    }
+
+    /** Opens a child of the current span, or returns null when this thread is not being traced. */
+    public static Span start(String kind, String name) {
+        return start(kind, name, null);
+    }
+
+    public static Span start(String kind, String name, String detail) {
+        Span parent = CURRENT.get();
+        if (parent == null) {
+            return null;
+        }
+        RequestTrace trace = parent.trace;
+        if (trace.spanCount.incrementAndGet() > MAX_SPANS) {
+            trace.dropped++;
+            return null;
+        }
+        Span span = new Span(trace, parent, kind, name, detail);
+        parent.addChild(span);
+        CURRENT.set(span);
+        return span;
+    }
+
+    /** Closes a span from {@link #start}; null (not traced) is ignored. */
+    public static void end(Span span) {
+        if (span == null) {
+            return;
+        }
+        span.durationNanos = System.nanoTime() - span.startNanos;
+        CURRENT.set(span.parent);
+    }
+
+    /** For callbacks that cannot hold on to their span: ends the current one if it is of this kind. */
+    public static void endCurrent(String kind) {
+        Span span = CURRENT.get();
+        if (span != null && span.parent != null && span.kind.equals(kind)) {
+            end(span);
+        }
+    }
+
+    /** Runs the task under the caller's current span, so work handed to a pool shows up in the caller's trace. */
+    public static Runnable propagate(Runnable task) {
+        Span captured = CURRENT.get();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            Span previous = CURRENT.get();
+            CURRENT.set(captured);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        Span captured = CURRENT.get();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            Span previous = CURRENT.get();
+            CURRENT.set(captured);
+            try {
+                return task.get();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private static void restore(Span previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /** Ends the root span and detaches the trace from this thread. */
+    public void finish(String endpoint, int status) {
+        this.endpoint = endpoint;
+        this.status = status;
+        root.durationNanos = System.nanoTime() - root.startNanos;
+        CURRENT.remove();
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public long getDurationNanos() {
+        return root.durationNanos;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("endpoint", endpoint);
+        out.put("status", status);
+        out.put("startedAt", startedAt);
+        out.put("durationMs", millis(root.durationNanos));
+        out.put("spans", spanCount.get() - dropped);
+        if (dropped > 0) {
+            out.put("droppedSpans", dropped);
+        }
+        out.put("root", root.toMap(root.startNanos));
+        return out;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    public static final class Span {
+
+        private final RequestTrace trace;
+        private final Span parent;
+        private final String kind;
+        private final String name;
+        private final String detail;
+        private final long startNanos = System.nanoTime();
+        // -1 until ended; a span still open when the request finished stays -1
+        private volatile long durationNanos = -1;
+        private List<Span> children;
+
+        private Span(RequestTrace trace, Span parent, String kind, String name, String detail) {
+            this.trace = trace;
+            this.parent = parent;
+            this.kind = kind;
+            this.name = name;
+            this.detail = detail;
+        }
+
+        // Children can arrive from pool threads (see propagate)
+        private synchronized void addChild(Span child) {
+            if (children == null) {
+                children = new ArrayList<>(4);
+            }
+            children.add(child);
+        }
+
+        private synchronized Map<String, Object> toMap(long traceStart) {
+            Map<String, Object> out = new LinkedHashMap<>();
+            out.put("kind", kind);
+            out.put("name", name);
+            if (detail != null) {
+                out.put("detail", detail);
+            }
+            out.put("offsetMs", millis(startNanos - traceStart));
+            out.put("durationMs", durationNanos < 0 ? null : millis(durationNanos));
+            if (children != null) {
+                // Self time is what this span spent outside its (same-thread) children
+                long childNanos = 0;
+                List<Map<String, Object>> nested = new ArrayList<>(children.size());
+                for (Span child : children) {
+                    childNanos += Math.max(child.durationNanos, 0);
+                    nested.add(child.toMap(traceStart));
+                }
+                if (durationNanos >= 0 && childNanos <= durationNanos) {
+                    out.put("selfMs", millis(durationNanos - childNanos));
+                }
+                out.put("children", nested);
+            }
+            return out;
+        }
+    }
+}
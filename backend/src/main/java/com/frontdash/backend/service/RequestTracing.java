@@ -0,0 +1,246 @@
+package com.frontdash.backend.service;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.support.ClassFilters;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationClassFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * In-process request tracing (see RequestTrace): a sampled request gets spans for its controller,
+ * service and repository calls, each JDBC statement and commit, and work it hands to executors.
+ * Finished traces go to TraceStore. Unsampled requests only pay a ThreadLocal check per call,
+ * and their JDBC connections are not wrapped at all.
+ */
+@Configuration(proxyBeanMethods = false)
+public class RequestTracing {
+
+    // Longer statements are cut in the trace view
+    private static final int MAX_SQL_LENGTH = 300;
+
+    @Bean
+    FilterRegistrationBean<OncePerRequestFilter> requestTraceFilter(ObjectProvider<TraceStore> store) {
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                TraceStore traces = store.getObject();
+                if (!traces.shouldSample()) {
+                    chain.doFilter(request, response);
+                    return;
+                }
+                RequestTrace trace = RequestTrace.begin(request.getMethod() + " " + request.getRequestURI());
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    // Group by route pattern (/api/orders/{orderId}), not by the concrete URI
+                    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    trace.finish(request.getMethod() + " " + (pattern != null ? pattern : "(unmapped)"), response.getStatus());
+                    traces.record(trace);
+                }
+            }
+        });
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor requestTracingAdvisor() {
+        ClassFilter layers = ClassFilters.union(new AnnotationClassFilter(RestController.class, true),
+                ClassFilters.union(new AnnotationClassFilter(Service.class, true),
+                        new AnnotationClassFilter(Repository.class, true)));
+        return new DefaultPointcutAdvisor(new ComposablePointcut(layers, new MethodMetrics.PublicMethods()),
+                new SpanInterceptor());
+    }
+
+    // Connections taken inside a sampled request are wrapped so statements and commits become spans
+    @Bean
+    static BeanPostProcessor tracingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof TracingDataSource)
+                        ? new TracingDataSource(dataSource) : bean;
+            }
+        };
+    }
+
+    // Picked up by Boot's applicationTaskExecutor; hand-built pools call RequestTrace.propagate themselves
+    @Bean
+    TaskDecorator requestTraceTaskDecorator() {
+        return RequestTrace::propagate;
+    }
+
+    static final class SpanInterceptor implements MethodInterceptor {
+
+        // "controller"/"service"/"repository" and a readable class name, per bean class
+        private final ClassValue<String[]> labels = new ClassValue<>() {
+            @Override
+            protected String[] computeValue(Class<?> type) {
+                Class<?> named = ClassUtils.getUserClass(type);
+                if (Proxy.isProxyClass(type)) {
+                    // Spring Data repositories: name the repository interface, not the JDK proxy
+                    for (Class<?> candidate : type.getInterfaces()) {
+                        if (AnnotatedElementUtils.hasAnnotation(candidate, Repository.class)) {
+                            named = candidate;
+                            break;
+                        }
+                    }
+                }
+                String kind = AnnotatedElementUtils.hasAnnotation(named, RestController.class) ? "controller"
+                        : AnnotatedElementUtils.hasAnnotation(named, Service.class) ? "service" : "repository";
+                return new String[] {kind, named.getSimpleName() + "."};
+            }
+        };
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            if (!RequestTrace.active()) {
+                return invocation.proceed();
+            }
+            Object target = invocation.getThis();
+            String[] label = labels.get(target != null ? target.getClass() : invocation.getMethod().getDeclaringClass());
+            RequestTrace.Span span = RequestTrace.start(label[0], label[1] + invocation.getMethod().getName());
+            try {
+                return invocation.proceed();
+            } finally {
+                RequestTrace.end(span);
+            }
+        }
+    }
+
+    static final class TracingDataSource extends DelegatingDataSource {
+
+        TracingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return traced(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return traced(super.getConnection(username, password));
+        }
+
+        private static Connection traced(Connection connection) {
+            if (!RequestTrace.active()) {
+                return connection;
+            }
+            return (Connection) Proxy.newProxyInstance(RequestTracing.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, new ConnectionHandler(connection));
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("commit") || name.equals("rollback")) {
+                RequestTrace.Span span = RequestTrace.start("jdbc", name);
+                try {
+                    return call(target, method, args);
+                } finally {
+                    RequestTrace.end(span);
+                }
+            }
+            Object result = call(target, method, args);
+            if (result instanceof Statement statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return Proxy.newProxyInstance(RequestTracing.class.getClassLoader(),
+                        new Class<?>[] {type}, new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String sql;
+
+        StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return call(target, method, args);
+            }
+            // Plain Statement.execute*(sql) carries its SQL as the first argument
+            String text = sql != null ? sql : args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+            RequestTrace.Span span = RequestTrace.start("jdbc", method.getName(), abbreviate(text));
+            try {
+                return call(target, method, args);
+            } finally {
+                RequestTrace.end(span);
+            }
+        }
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static String abbreviate(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        String flat = sql.strip().replaceAll("\\s+", " ");
+        return flat.length() <= MAX_SQL_LENGTH ? flat : flat.substring(0, MAX_SQL_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,57 @@
+package com.frontdash.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads one restaurant into the in-memory caches that customer requests read (menu price table,
+ * discovery index with its open hours) before the first customer asks, e.g. right after the
+ * restaurant is approved. Runs on one background thread; warming is best effort and a restaurant
+ * that is not warmed is simply loaded on first use as before.
+ */
+@Component
+public class RestaurantCacheWarmer {
+
+    private static final Logger log = LoggerFactory.getLogger(RestaurantCacheWarmer.class);
+
+    private final MenuPriceTable priceTable;
+    private final RestaurantDiscoveryIndex discoveryIndex;
+    private final ThreadPoolExecutor worker = new ThreadPoolExecutor(
+        1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1_000),
+        runnable -> {
+            Thread thread = new Thread(runnable, "restaurant-cache-warmer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+    public RestaurantCacheWarmer(MenuPriceTable priceTable, RestaurantDiscoveryIndex discoveryIndex) {
+        this.priceTable = priceTable;
+        this.discoveryIndex = discoveryIndex;
+    }
+
+    public void warmAsync(Collection<String> restaurantIds) {
+        for (String restaurantId : restaurantIds) {
+            try {
+                worker.execute(() -> warm(restaurantId));
+            } catch (RejectedExecutionException e) {
+                log.debug("Cache warm-up queue full; {} will load on first use", restaurantId);
+            }
+        }
+    }
+
+    public void warm(String restaurantId) {
+        try {
+            priceTable.preload(restaurantId);
+            discoveryIndex.refresh(restaurantId);
+        } catch (RuntimeException e) {
+            log.warn("Could not warm caches for restaurant {}: {}", restaurantId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.frontdash.backend.service;
+
+import com.frontdash.backend.entity.Restaurant;
+import com.frontdash.backend.repository.RestaurantHoursBatchRepository.HoursRow;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-part caches behind the owner dashboard. Each part has its own freshness: a time-to-live
+ * sized to how often it changes, and explicit invalidation from the services that change it
+ * (applied after commit). This class has no dependencies so any service can invalidate through it.
+ */
+@Component
+public class RestaurantDashboardCache {
+
+    private static final int MAX_RESTAURANTS = 10_000;
+
+    final TtlCache<String, Restaurant> restaurants = new TtlCache<>(60_000, MAX_RESTAURANTS);
+    final TtlCache<String, List<HoursRow>> hours = new TtlCache<>(300_000, MAX_RESTAURANTS);
+    // Admins decide withdrawals outside the owner's session, so keep this one short
+    final TtlCache<String, String> withdrawalStatus = new TtlCache<>(15_000, MAX_RESTAURANTS);
+    final TtlCache<String, Map<String, Long>> menuCounts = new TtlCache<>(30_000, MAX_RESTAURANTS);
+    // Order totals change with every order, so they are only refreshed by time
+    final TtlCache<String, Map<String, Object>> statistics = new TtlCache<>(60_000, MAX_RESTAURANTS);
+
+    public void invalidateRestaurant(String restaurantId) {
+        AfterCommit.run(() -> restaurants.invalidate(restaurantId));
+    }
+
+    public void invalidateHours(String restaurantId) {
+        AfterCommit.run(() -> hours.invalidate(restaurantId));
+    }
+
+    public void invalidateWithdrawal(String restaurantId) {
+        AfterCommit.run(() -> withdrawalStatus.invalidate(restaurantId));
+    }
+
+    public void invalidateMenu(String restaurantId) {
+        AfterCommit.run(() -> menuCounts.invalidate(restaurantId));
+    }
+}
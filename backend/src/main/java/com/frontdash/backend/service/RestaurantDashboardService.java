@@ -0,0 +1,146 @@
+package com.frontdash.backend.service;
+
+import com.frontdash.backend.entity.Restaurant;
+import com.frontdash.backend.entity.Withdraw;
+import com.frontdash.backend.repository.MenuItemRepository;
+import com.frontdash.backend.repository.RestaurantHoursBatchRepository;
+import com.frontdash.backend.repository.RestaurantHoursBatchRepository.HoursRow;
+import com.frontdash.backend.repository.RestaurantRepository;
+import com.frontdash.backend.repository.WithdrawRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Builds the owner home page in one response: restaurant profile, operating hours, withdrawal
+ * status, menu counts and statistics. Each part comes from its own cache in RestaurantDashboardCache;
+ * only the parts that missed are loaded, in parallel on a small bounded pool.
+ *
+ * The target is a p99 under 20 ms. Every call is recorded in frontdash.dashboard (percentile
+ * histogram with a 20 ms bucket), tagged with whether all parts came from cache.
+ */
+@Service
+public class RestaurantDashboardService {
+
+    // Upper bound for the whole response when some parts have to be loaded
+    private static final long LOAD_TIMEOUT_MS = 2_000;
+    private static final Duration TARGET = Duration.ofMillis(20);
+
+    @Autowired
+    private RestaurantDashboardCache cache;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantHoursBatchRepository hoursBatchRepository;
+
+    @Autowired
+    private WithdrawRepository withdrawRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    private final Timer cacheHits;
+    private final Timer cacheMisses;
+
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final ThreadPoolExecutor loaders = new ThreadPoolExecutor(
+        4, 8, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(256),
+        runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-loader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        },
+        new ThreadPoolExecutor.CallerRunsPolicy());
+
+    public RestaurantDashboardService(MeterRegistry registry) {
+        this.cacheHits = dashboardTimer(registry, "hit");
+        this.cacheMisses = dashboardTimer(registry, "miss");
+    }
+
+    public Optional<Map<String, Object>> getDashboard(String restaurantId) {
+        long start = System.nanoTime();
+        CompletableFuture<Restaurant> restaurant = part(cache.restaurants, restaurantId,
+            id -> restaurantRepository.findById(id).orElse(null));
+        CompletableFuture<List<HoursRow>> hours = part(cache.hours, restaurantId,
+            id -> hoursBatchRepository.findByRestaurantIds(List.of(id)).getOrDefault(id, List.of()));
+        CompletableFuture<String> withdrawal = part(cache.withdrawalStatus, restaurantId,
+            id -> withdrawRepository.findByRestaurantId(id).map(Withdraw::getWithdrawStatus).orElse("none"));
+        CompletableFuture<Map<String, Long>> menu = part(cache.menuCounts, restaurantId,
+            id -> Map.of(
+                "totalMenuItems", menuItemRepository.countByRestaurantId(id),
+                "availableMenuItems", menuItemRepository.countAvailableByRestaurantId(id)));
+        CompletableFuture<Map<String, Object>> stats = part(cache.statistics, restaurantId,
+            statisticsService::getOrderStatistics);
+        boolean allCached = restaurant.isDone() && hours.isDone() && withdrawal.isDone() && menu.isDone() && stats.isDone();
+
+        Restaurant rest = await(restaurant);
+        if (rest == null) {
+            return Optional.empty();
+        }
+
+        Map<String, Object> dashboard = new LinkedHashMap<>();
+        dashboard.put("restaurant", rest);
+        dashboard.put("operatingHours", await(hours));
+        dashboard.put("withdrawalStatus", await(withdrawal));
+        dashboard.put("menu", await(menu));
+        dashboard.put("statistics", await(stats));
+        (allCached ? cacheHits : cacheMisses).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return Optional.of(dashboard);
+    }
+
+    private static Timer dashboardTimer(MeterRegistry registry, String cache) {
+        return Timer.builder("frontdash.dashboard")
+            .description("Owner dashboard response time")
+            .tag("cache", cache)
+            .publishPercentileHistogram()
+            .serviceLevelObjectives(TARGET)
+            .register(registry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        loaders.shutdownNow();
+    }
+
+    // Cached parts complete immediately; misses are loaded on the pool and cached when they arrive
+    private <T> CompletableFuture<T> part(TtlCache<String, T> partCache, String restaurantId, Function<String, T> loader) {
+        T cached = partCache.get(restaurantId);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        Supplier<T> load = () -> partCache.computeIfAbsent(restaurantId, loader);
+        return CompletableFuture.supplyAsync(RequestTrace.propagate(load), loaders);
+    }
+
+    // A part that fails or times out is left out (null) rather than failing the whole page
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get(LOAD_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
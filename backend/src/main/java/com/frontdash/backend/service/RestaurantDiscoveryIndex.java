@@ -0,0 +1,351 @@
+package com.frontdash.backend.service;
+
+import com.frontdash.backend.entity.GeoPoint;
+import com.frontdash.backend.entity.NearbyRestaurant;
+import com.frontdash.backend.entity.Restaurant;
+import com.frontdash.backend.entity.RestaurantHours;
+import com.frontdash.backend.repository.RestaurantHoursRepository;
+import com.frontdash.backend.repository.RestaurantRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory spatial index of restaurants for "near me, open now, by cuisine" discovery.
+ *
+ * Restaurants are bucketed into a fixed lat/lng grid (about 5 km cells). Radius queries only
+ * look at the cells overlapping the search circle, and k-nearest queries walk outward ring by ring
+ * until no closer restaurant can exist. The index is built from the database on first use and then
+ * updated incrementally by RestaurantService, so queries never touch the database.
+ */
+@Component
+public class RestaurantDiscoveryIndex {
+
+    private static final double CELL_DEGREES = 0.05;
+    private static final double KM_PER_DEGREE_LAT = 111.0;
+    private static final int MAX_RINGS = 200; // ~1000 km; k-nearest stops looking beyond this
+    // Cold loads read without the lock and retry if a change lands meanwhile; after this many they read under it
+    private static final int LOCK_FREE_LOAD_ATTEMPTS = 3;
+
+    // Immutable snapshot of what discovery needs to know about one restaurant
+    public record Listing(String restaurantId, String restaurantName, String cuisineType, String city,
+                          String profilePictureRef, GeoPoint location, boolean forceClosed, WeeklyHours hours) {
+
+        public boolean isOpenAt(LocalDateTime time) {
+            return !forceClosed && hours.isOpenAt(time);
+        }
+
+        Listing withHours(WeeklyHours newHours) {
+            return new Listing(restaurantId, restaurantName, cuisineType, city, profilePictureRef,
+                    location, forceClosed, newHours);
+        }
+    }
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private RestaurantHoursRepository restaurantHoursRepository;
+
+    @Autowired
+    private GeocodeCache geocodeCache;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Lets one thread at a time run the cold load; queries wait for it, updates and the lock do not
+    private final Object loadMonitor = new Object();
+    private final Map<String, Listing> byId = new HashMap<>();
+    private final Map<Long, List<Listing>> cells = new HashMap<>();
+    private volatile boolean loaded;
+    // Bumped when a change is requested and again when it is applied, so loadFrom can tell its rows are stale
+    private final AtomicLong changes = new AtomicLong();
+
+    // ===== queries =====
+
+    public List<NearbyRestaurant> withinRadius(GeoPoint center, double radiusKm, String cuisineType,
+                                               boolean openNowOnly, int limit) {
+        ensureLoaded();
+        LocalDateTime now = LocalDateTime.now();
+        List<NearbyRestaurant> hits = new ArrayList<>();
+        int latSpan = (int) Math.ceil(radiusKm / (KM_PER_DEGREE_LAT * CELL_DEGREES));
+        int lngSpan = (int) Math.ceil(radiusKm / (kmPerDegreeLng(center) * CELL_DEGREES));
+        int centerLat = cellOf(center.latitude());
+        int centerLng = cellOf(center.longitude());
+
+        lock.readLock().lock();
+        try {
+            for (int dLat = -latSpan; dLat <= latSpan; dLat++) {
+                for (int dLng = -lngSpan; dLng <= lngSpan; dLng++) {
+                    collect(cells.get(key(centerLat + dLat, centerLng + dLng)), center, radiusKm,
+                            cuisineType, openNowOnly, now, hits);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort(Comparator.comparingDouble(NearbyRestaurant::distanceKm));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    public List<NearbyRestaurant> nearest(GeoPoint center, int k, String cuisineType, boolean openNowOnly) {
+        ensureLoaded();
+        LocalDateTime now = LocalDateTime.now();
+        List<NearbyRestaurant> hits = new ArrayList<>();
+        int centerLat = cellOf(center.latitude());
+        int centerLng = cellOf(center.longitude());
+        // Ring r only holds points at least (r - 1) cells away, so once the k-th hit is closer than that we can stop
+        double ringKm = CELL_DEGREES * Math.min(KM_PER_DEGREE_LAT, kmPerDegreeLng(center));
+
+        lock.readLock().lock();
+        try {
+            for (int ring = 0; ring <= MAX_RINGS; ring++) {
+                if (hits.size() >= k) {
+                    hits.sort(Comparator.comparingDouble(NearbyRestaurant::distanceKm));
+                    if (hits.get(k - 1).distanceKm() <= (ring - 1) * ringKm) {
+                        break;
+                    }
+                }
+                for (int dLat = -ring; dLat <= ring; dLat++) {
+                    for (int dLng = -ring; dLng <= ring; dLng++) {
+                        if (Math.abs(dLat) != ring && Math.abs(dLng) != ring) {
+                            continue; // inner cells were visited by earlier rings
+                        }
+                        collect(cells.get(key(centerLat + dLat, centerLng + dLng)), center, Double.MAX_VALUE,
+                                cuisineType, openNowOnly, now, hits);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort(Comparator.comparingDouble(NearbyRestaurant::distanceKm));
+        return hits.size() > k ? new ArrayList<>(hits.subList(0, k)) : hits;
+    }
+
+    public Listing get(String restaurantId) {
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return byId.get(restaurantId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===== incremental updates (applied after the surrounding transaction commits) =====
+
+    // Profile, address or open/closed flag changed; keeps the hours already indexed
+    public void upsert(Restaurant restaurant) {
+        Listing listing = toListing(restaurant, null);
+        changes.incrementAndGet();
+        AfterCommit.run(() -> write(() -> {
+            Listing previous = byId.get(listing.restaurantId());
+            put(previous != null ? listing.withHours(previous.hours()) : listing);
+        }));
+    }
+
+    // One weekday row was saved; merged into the hours already indexed
+    public void updateDay(String restaurantId, RestaurantHours day) {
+        changes.incrementAndGet();
+        AfterCommit.run(() -> write(() -> {
+            Listing previous = byId.get(restaurantId);
+            if (previous != null) {
+                put(previous.withHours(previous.hours().with(day)));
+            }
+        }));
+    }
+
+    public void updateHours(String restaurantId, List<RestaurantHours> hours) {
+        WeeklyHours weekly = WeeklyHours.of(hours);
+        changes.incrementAndGet();
+        AfterCommit.run(() -> write(() -> {
+            Listing previous = byId.get(restaurantId);
+            if (previous != null) {
+                put(previous.withHours(weekly));
+            }
+        }));
+    }
+
+    public void remove(String restaurantId) {
+        changes.incrementAndGet();
+        AfterCommit.run(() -> write(() -> removeListing(restaurantId)));
+    }
+
+    // Re-reads one restaurant and its hours, e.g. when it is approved, so its first customers see it current
+    public void refresh(String restaurantId) {
+        ensureLoaded();
+        Restaurant restaurant = restaurantRepository.findById(restaurantId).orElse(null);
+        if (restaurant == null) {
+            write(() -> removeListing(restaurantId));
+            return;
+        }
+        Listing listing = toListing(restaurant, restaurantHoursRepository.findByRestaurantId(restaurantId));
+        write(() -> put(listing));
+    }
+
+    // Builds the index from the database if this has not happened yet. The rows are read without the
+    // index lock and installed under it, so updates applied meanwhile are not blocked behind the queries.
+    public void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (loadMonitor) {
+            for (int attempt = 0; !loaded && attempt < LOCK_FREE_LOAD_ATTEMPTS; attempt++) {
+                long changesBefore = changes.get();
+                Map<String, List<RestaurantHours>> hoursByRestaurant = readAllHours();
+                loadFrom(restaurantRepository.findAll(), hoursByRestaurant, changesBefore);
+            }
+            if (loaded) {
+                return;
+            }
+            // Changes kept landing during the read; read once more under the lock so none can interleave
+            lock.writeLock().lock();
+            try {
+                if (!loaded) {
+                    Map<String, List<RestaurantHours>> hoursByRestaurant = readAllHours();
+                    for (Restaurant restaurant : restaurantRepository.findAll()) {
+                        put(toListing(restaurant, hoursByRestaurant.getOrDefault(restaurant.getRestaurantId(), List.of())));
+                    }
+                    loaded = true;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private Map<String, List<RestaurantHours>> readAllHours() {
+        Map<String, List<RestaurantHours>> hoursByRestaurant = new HashMap<>();
+        for (RestaurantHours h : restaurantHoursRepository.findAll()) {
+            hoursByRestaurant.computeIfAbsent(h.getRestaurant().getRestaurantId(), id -> new ArrayList<>()).add(h);
+        }
+        return hoursByRestaurant;
+    }
+
+    public long changeCount() {
+        return changes.get();
+    }
+
+    /**
+     * Installs restaurants and hours read outside the lock (the startup warm-up). Returns false and
+     * installs nothing when the index is already loaded or a change came in after changesBefore
+     * was taken; ensureLoaded then builds it the usual way.
+     */
+    public boolean loadFrom(Collection<Restaurant> restaurants, Map<String, List<RestaurantHours>> hoursByRestaurant,
+                            long changesBefore) {
+        List<Listing> listings = new ArrayList<>(restaurants.size());
+        for (Restaurant restaurant : restaurants) {
+            listings.add(toListing(restaurant, hoursByRestaurant.getOrDefault(restaurant.getRestaurantId(), List.of())));
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded || changes.get() != changesBefore) {
+                return false;
+            }
+            listings.forEach(this::put);
+            loaded = true;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ===== internals =====
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            changes.incrementAndGet();
+            // Before the first load there is nothing to update; the load will read the committed rows
+            if (loaded) {
+                change.run();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void put(Listing listing) {
+        removeListing(listing.restaurantId());
+        byId.put(listing.restaurantId(), listing);
+        if (listing.location() != null) {
+            cells.computeIfAbsent(cellKey(listing.location()), c -> new ArrayList<>()).add(listing);
+        }
+    }
+
+    private void removeListing(String restaurantId) {
+        Listing previous = byId.remove(restaurantId);
+        if (previous != null && previous.location() != null) {
+            long cell = cellKey(previous.location());
+            List<Listing> bucket = cells.get(cell);
+            if (bucket != null) {
+                bucket.removeIf(l -> l.restaurantId().equals(restaurantId));
+                if (bucket.isEmpty()) {
+                    cells.remove(cell);
+                }
+            }
+        }
+    }
+
+    private Listing toListing(Restaurant r, List<RestaurantHours> hours) {
+        GeoPoint location = geocodeCache.lookup(r.getZip(), r.getCity(), r.getState());
+        return new Listing(r.getRestaurantId(), r.getRestaurantName(), r.getCuisineType(), r.getCity(),
+                r.getProfilePictureRef(), location, Boolean.TRUE.equals(r.getForceClosed()),
+                hours != null ? WeeklyHours.of(hours) : WeeklyHours.NONE);
+    }
+
+    private static void collect(List<Listing> bucket, GeoPoint center, double radiusKm, String cuisineType,
+                                boolean openNowOnly, LocalDateTime now, List<NearbyRestaurant> out) {
+        if (bucket == null) {
+            return;
+        }
+        for (Listing listing : bucket) {
+            if (cuisineType != null && !cuisineType.equalsIgnoreCase(listing.cuisineType())) {
+                continue;
+            }
+            boolean open = listing.isOpenAt(now);
+            if (openNowOnly && !open) {
+                continue;
+            }
+            double distance = center.distanceKm(listing.location());
+            if (distance <= radiusKm) {
+                out.add(new NearbyRestaurant(listing.restaurantId(), listing.restaurantName(), listing.cuisineType(),
+                        listing.city(), listing.profilePictureRef(), Math.round(distance * 100) / 100.0, open));
+            }
+        }
+    }
+
+    private static double kmPerDegreeLng(GeoPoint at) {
+        return Math.max(1.0, KM_PER_DEGREE_LAT * Math.cos(Math.toRadians(at.latitude())));
+    }
+
+    private static int cellOf(double degrees) {
+        return (int) Math.floor(degrees / CELL_DEGREES);
+    }
+
+    private static long cellKey(GeoPoint point) {
+        return key(cellOf(point.latitude()), cellOf(point.longitude()));
+    }
+
+    private static long key(int latCell, int lngCell) {
+        return ((long) latCell << 32) | (lngCell & 0xFFFFFFFFL);
+    }
+}
@@ -1,35 +1,102 @@
 package com.frontdash.backend.service;
 
+import com.frontdash.backend.entity.GeoPoint;
+import com.frontdash.backend.entity.NearbyRestaurant;
 import com.frontdash.backend.entity.Restaurant;
 import com.frontdash.backend.entity.RestaurantHours;
+import com.frontdash.backend.entity.RestaurantListing;
+import com.frontdash.backend.entity.RestaurantPage;
+import com.frontdash.backend.entity.RestaurantSummary;
+import com.frontdash.backend.repository.RestaurantHoursBatchRepository;
+import com.frontdash.backend.repository.RestaurantHoursBatchRepository.HoursRow;
 import com.frontdash.backend.repository.RestaurantRepository;
 import com.frontdash.backend.repository.RestaurantHoursRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Time;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 import java.util.Optional;
 
 @Service
 @Transactional
 public class RestaurantService {
 
+    // Fields the listing API can return; requests limited to SUMMARY_FIELDS use the narrow projection
+    public static final List<String> LISTING_FIELDS = List.of(
+        "id", "name", "cuisine", "picture", "street", "city", "state", "zip", "phone", "email", "forceClosed");
+    public static final Set<String> SUMMARY_FIELDS = Set.of("id", "name", "cuisine", "picture");
+
     @Autowired
     private RestaurantRepository restaurantRepository;
 
     @Autowired
     private RestaurantHoursRepository restaurantHoursRepository;
 
+    @Autowired
+    private RestaurantHoursBatchRepository hoursBatchRepository;
+
+    @Autowired
+    private RestaurantDiscoveryIndex discoveryIndex;
+
+    @Autowired
+    private GeocodeCache geocodeCache;
+
+    @Autowired
+    private RestaurantDashboardCache dashboardCache;
+
     // Restaurant CRUD operations
     public List<Restaurant> getAllRestaurants() {
         return restaurantRepository.findAll();
     }
 
+    // Keyset-paginated listing: pass the previous page's nextCursor as "after"
+    @Transactional(readOnly = true)
+    public RestaurantPage listRestaurants(String after, int size, String city, String cuisine,
+                                          String namePrefix, boolean openOnly, Set<String> fields) {
+        LocalDateTime now = LocalDateTime.now();
+        int weekday = now.getDayOfWeek().getValue() % 7; // 0 = Sunday, as in restaurant_hours
+        int yesterday = (weekday + 6) % 7;
+        Time time = Time.valueOf(now.toLocalTime().withNano(0));
+        String namePattern = namePrefix == null ? null : escapeLike(namePrefix) + "%";
+        // Fetch one extra row to know whether another page exists
+        Limit limit = Limit.of(size + 1);
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        String lastId = null;
+        if (SUMMARY_FIELDS.containsAll(fields)) {
+            List<RestaurantSummary> rows = restaurantRepository.findSummaryPage(
+                after, city, cuisine, namePattern, openOnly, weekday, yesterday, time, limit);
+            for (int i = 0; i < Math.min(size, rows.size()); i++) {
+                RestaurantSummary r = rows.get(i);
+                items.add(select(fields, r.restaurantId(), r.restaurantName(), r.cuisineType(), r.profilePictureRef(),
+                    null, null, null, null, null, null, null));
+                lastId = r.restaurantId();
+            }
+            return new RestaurantPage(items, rows.size() > size ? lastId : null);
+        }
+
+        List<RestaurantListing> rows = restaurantRepository.findListingPage(
+            after, city, cuisine, namePattern, openOnly, weekday, yesterday, time, limit);
+        for (int i = 0; i < Math.min(size, rows.size()); i++) {
+            RestaurantListing r = rows.get(i);
+            items.add(select(fields, r.restaurantId(), r.restaurantName(), r.cuisineType(), r.profilePictureRef(),
+                r.street(), r.city(), r.state(), r.zip(), r.phone(), r.email(), r.forceClosed()));
+            lastId = r.restaurantId();
+        }
+        return new RestaurantPage(items, rows.size() > size ? lastId : null);
+    }
+
     public Optional<Restaurant> getRestaurantById(String restaurantId) {
         return restaurantRepository.findById(restaurantId);
     }
@@ -39,11 +106,34 @@ public class RestaurantService {
     }
 
     public Restaurant saveRestaurant(Restaurant restaurant) {
-        return restaurantRepository.save(restaurant);
+        Restaurant saved = restaurantRepository.save(restaurant);
+        discoveryIndex.upsert(saved);
+        dashboardCache.invalidateRestaurant(saved.getRestaurantId());
+        return saved;
     }
 
     public void deleteRestaurant(String restaurantId) {
         restaurantRepository.deleteById(restaurantId);
+        discoveryIndex.remove(restaurantId);
+        dashboardCache.invalidateRestaurant(restaurantId);
+    }
+
+    // Discovery operations (served from the in-memory index, no database round trip)
+    public List<NearbyRestaurant> findNearby(GeoPoint center, double radiusKm, String cuisineType,
+                                             boolean openNowOnly, int limit) {
+        return discoveryIndex.withinRadius(center, radiusKm, cuisineType, openNowOnly, limit);
+    }
+
+    public List<NearbyRestaurant> findNearest(GeoPoint center, int k, String cuisineType, boolean openNowOnly) {
+        return discoveryIndex.nearest(center, k, cuisineType, openNowOnly);
+    }
+
+    // Coordinates win; otherwise the zip/city centroid. Null when nothing usable was given
+    public GeoPoint resolveLocation(Double lat, Double lng, String zip, String city, String state) {
+        if (lat != null && lng != null) {
+            return new GeoPoint(lat, lng);
+        }
+        return geocodeCache.lookup(zip, city, state);
     }
 
     // Restaurant contact info operations (for AccountSettings page)
@@ -52,6 +142,7 @@ public class RestaurantService {
             if (phone != null) restaurant.setPhone(phone);
             if (email != null) restaurant.setEmail(email);
             if (contactPerson != null) restaurant.setHumanContactName(contactPerson);
+            dashboardCache.invalidateRestaurant(restaurantId);
             return restaurantRepository.save(restaurant);
         });
     }
@@ -62,7 +153,10 @@ public class RestaurantService {
             if (city != null) restaurant.setCity(city);
             if (state != null) restaurant.setState(state);
             if (zip != null) restaurant.setZip(zip);
-            return restaurantRepository.save(restaurant);
+            Restaurant saved = restaurantRepository.save(restaurant);
+            discoveryIndex.upsert(saved);
+            dashboardCache.invalidateRestaurant(restaurantId);
+            return saved;
         });
     }
 
@@ -74,67 +168,125 @@ public class RestaurantService {
     public RestaurantHours saveOperatingHours(String restaurantId, RestaurantHours hours) {
         return restaurantRepository.findById(restaurantId).map(restaurant -> {
             hours.setRestaurant(restaurant);
-            return restaurantHoursRepository.save(hours);
+            RestaurantHours saved = restaurantHoursRepository.save(hours);
+            discoveryIndex.updateDay(restaurantId, saved);
+            dashboardCache.invalidateHours(restaurantId);
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Restaurant not found with id: " + restaurantId));
     }
 
     public void saveAllOperatingHours(String restaurantId, List<RestaurantHours> hoursList) {
-        Restaurant restaurant = restaurantRepository.findById(restaurantId)
-            .orElseThrow(() -> new RuntimeException("Restaurant not found with id: " + restaurantId));
-        
-        // Get existing hours
-        List<RestaurantHours> existingHours = restaurantHoursRepository.findByRestaurantId(restaurantId);
-        Map<Integer, RestaurantHours> existingHoursByWeekday = existingHours.stream()
-            .collect(Collectors.toMap(RestaurantHours::getWeekday, Function.identity()));
-    
-        for (RestaurantHours newHours : hoursList) {
-            RestaurantHours existing = existingHoursByWeekday.get(newHours.getWeekday());
-            if (existing != null) {
-                // Update existing
-                existing.setOpensAt(newHours.getOpensAt());
-                existing.setClosesAt(newHours.getClosesAt());
-                existing.setIsClosed(newHours.getIsClosed());
-                restaurantHoursRepository.save(existing);
-            } else {
-                // Create new
-                RestaurantHours hours = new RestaurantHours();
-               hours.setRestaurant(restaurant);
-               hours.setWeekday(newHours.getWeekday());
-                hours.setOpensAt(newHours.getOpensAt());
-                hours.setClosesAt(newHours.getClosesAt());
-                hours.setIsClosed(newHours.getIsClosed());
-                restaurantHoursRepository.save(hours);
+        saveOperatingHoursBulk(Map.of(restaurantId, hoursList));
+    }
+
+    // Replaces the weekly hours of one or many restaurants. The new hours are diffed in memory against
+    // what is stored, then written as one multi-row upsert plus one bulk delete.
+    public void saveOperatingHoursBulk(Map<String, List<RestaurantHours>> hoursByRestaurant) {
+        for (Map.Entry<String, List<RestaurantHours>> entry : hoursByRestaurant.entrySet()) {
+            validateWeek(entry.getKey(), entry.getValue());
+        }
+
+        Map<String, List<HoursRow>> stored = hoursBatchRepository.findByRestaurantIds(hoursByRestaurant.keySet());
+
+        // Restaurants with no stored hours may not exist at all; check those (usually none) in one query
+        Set<String> unknown = new HashSet<>(hoursByRestaurant.keySet());
+        unknown.removeAll(stored.keySet());
+        if (!unknown.isEmpty()) {
+            unknown.removeAll(hoursBatchRepository.findExistingRestaurantIds(unknown));
+            if (!unknown.isEmpty()) {
+                throw new RuntimeException("Restaurant not found with id: " + String.join(", ", unknown));
             }
         }
-    
-        // Delete hours for weekdays that are no longer in the list
-        Set<Integer> newWeekdays = hoursList.stream()
-            .map(RestaurantHours::getWeekday)
-            .collect(Collectors.toSet());
-    
-        for (RestaurantHours existing : existingHours) {
-            if (!newWeekdays.contains(existing.getWeekday())) {
-                restaurantHoursRepository.delete(existing);
+
+        List<HoursRow> changed = new ArrayList<>();
+        List<HoursRow> removed = new ArrayList<>();
+        for (Map.Entry<String, List<RestaurantHours>> entry : hoursByRestaurant.entrySet()) {
+            String restaurantId = entry.getKey();
+            Map<Integer, HoursRow> current = new HashMap<>();
+            for (HoursRow row : stored.getOrDefault(restaurantId, List.of())) {
+                current.put(row.weekday(), row);
+            }
+            for (RestaurantHours hours : entry.getValue()) {
+                HoursRow row = HoursRow.of(restaurantId, hours);
+                HoursRow existing = current.remove(row.weekday());
+                if (existing == null || !sameHours(existing, row)) {
+                    changed.add(row);
+                }
             }
+            // Whatever is left was not in the new list
+            removed.addAll(current.values());
         }
+
+        if (!changed.isEmpty()) {
+            hoursBatchRepository.upsert(changed);
+        }
+        if (!removed.isEmpty()) {
+            hoursBatchRepository.delete(removed);
+        }
+        hoursByRestaurant.forEach(discoveryIndex::updateHours);
+        hoursByRestaurant.keySet().forEach(dashboardCache::invalidateHours);
     }
 
     public void deleteOperatingHours(Long hoursId) {
-        restaurantHoursRepository.deleteById(hoursId);
+        restaurantHoursRepository.findById(hoursId).ifPresent(hours -> {
+            restaurantHoursRepository.delete(hours);
+            dashboardCache.invalidateHours(hours.getRestaurant().getRestaurantId());
+        });
     }
 
     // Profile picture operations
     public Optional<Restaurant> updateProfilePicture(String restaurantId, String pictureRef) {
         return restaurantRepository.findById(restaurantId).map(restaurant -> {
             restaurant.setProfilePictureRef(pictureRef);
-            return restaurantRepository.save(restaurant);
+            Restaurant saved = restaurantRepository.save(restaurant);
+            discoveryIndex.upsert(saved);
+            dashboardCache.invalidateRestaurant(restaurantId);
+            return saved;
         });
     }
 
     public Optional<Restaurant> removeProfilePicture(String restaurantId) {
         return restaurantRepository.findById(restaurantId).map(restaurant -> {
             restaurant.setProfilePictureRef(null);
-            return restaurantRepository.save(restaurant);
+            Restaurant saved = restaurantRepository.save(restaurant);
+            discoveryIndex.upsert(saved);
+            dashboardCache.invalidateRestaurant(restaurantId);
+            return saved;
         });
     }
+
+    // Builds one listing row holding only the requested fields, in LISTING_FIELDS order
+    private static Map<String, Object> select(Set<String> fields, Object... values) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (int i = 0; i < LISTING_FIELDS.size(); i++) {
+            String field = LISTING_FIELDS.get(i);
+            if (fields.contains(field)) {
+                row.put(field, values[i]);
+            }
+        }
+        return row;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private static void validateWeek(String restaurantId, List<RestaurantHours> hoursList) {
+        Set<Integer> seen = new HashSet<>();
+        for (RestaurantHours hours : hoursList) {
+            Integer weekday = hours.getWeekday();
+            if (weekday == null || weekday < 0 || weekday > 6) {
+                throw new RuntimeException("Weekday must be 0-6 for restaurant " + restaurantId);
+            }
+            if (!seen.add(weekday)) {
+                throw new RuntimeException("Duplicate weekday " + weekday + " for restaurant " + restaurantId);
+            }
+        }
+    }
+
+    private static boolean sameHours(HoursRow a, HoursRow b) {
+        return a.isClosed() == b.isClosed()
+            && Objects.equals(a.opensAt(), b.opensAt())
+            && Objects.equals(a.closesAt(), b.closesAt());
+    }
 }
\ No newline at end of file
@@ -1,12 +1,15 @@
 package com.frontdash.backend.service;
 
+import com.frontdash.backend.entity.StaffCredentials;
+import com.frontdash.backend.entity.StaffRecord;
 import com.frontdash.backend.repository.StaffManagementRepository;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
 import java.util.UUID;
 
 @Service
+@Lazy
 public class StaffManagementService {
     private final StaffManagementRepository repo;
 
@@ -14,21 +17,29 @@ public class StaffManagementService {
         this.repo = repo;
     }
 
-    public Map<String, Object> createStaff(String userId,
-                                           int roleId,
-                                           String firstName,
-                                           String lastName,
-                                           String email,
-                                           String phone,
-                                           String username) {
-        String id = (userId == null || userId.isBlank()) ? UUID.randomUUID().toString() : userId;
-        String uname = (username == null || username.isBlank())
-                ? (email != null ? email.toLowerCase() : ("user_" + id))
+    public StaffCredentials createStaff(String userId,
+                                        int roleId,
+                                        String firstName,
+                                        String lastName,
+                                        String email,
+                                        String phone,
+                                        String username) {
+        String id = userIdOrDefault(userId);
+        return repo.createStaff(id, roleId, firstName, lastName, email, phone, usernameOrDefault(username, email, id));
+    }
+
+    // Defaults shared with bulk onboarding (BulkOnboardingService)
+    static String userIdOrDefault(String userId) {
+        return (userId == null || userId.isBlank()) ? UUID.randomUUID().toString() : userId;
+    }
+
+    static String usernameOrDefault(String username, String email, String userId) {
+        return (username == null || username.isBlank())
+                ? (email != null ? email.toLowerCase() : ("user_" + userId))
                 : username;
-        return repo.createStaff(id, roleId, firstName, lastName, email, phone, uname);
     }
 
-    public Map<String, Object> inactivateStaff(String userId) {
+    public StaffRecord inactivateStaff(String userId) {
         return repo.inactivateStaff(userId);
     }
 }
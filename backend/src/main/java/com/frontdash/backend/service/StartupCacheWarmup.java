@@ -0,0 +1,223 @@
+package com.frontdash.backend.service;
+
+import com.frontdash.backend.entity.MenuItem;
+import com.frontdash.backend.entity.Restaurant;
+import com.frontdash.backend.entity.RestaurantHours;
+import com.frontdash.backend.repository.MenuItemRepository;
+import com.frontdash.backend.repository.RestaurantHoursRepository;
+import com.frontdash.backend.repository.RestaurantRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Fills the caches customer requests read before the application reports ready. It streams all
+ * menu items into MenuPriceTable, and all restaurants and hours into RestaurantDiscoveryIndex.
+ * Each read goes through a server-side cursor (fetch size 1000) in its own read-only transaction,
+ * and the three reads run in parallel.
+ *
+ * Runs as the last ApplicationRunner, and Spring Boot only publishes readiness
+ * (ApplicationReadyEvent, /actuator/health/readiness) after the runners return. So readiness waits
+ * until warm-up is done or budget-ms is used up; loaders still running then finish in the
+ * background. Load time per cache is logged and recorded as frontdash.startup.warmup{cache}.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class StartupCacheWarmup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupCacheWarmup.class);
+
+    // Entities read so far are detached every this many rows so the persistence context stays small
+    private static final int CLEAR_EVERY = 1_000;
+
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final RestaurantHoursRepository hoursRepository;
+    private final MenuPriceTable priceTable;
+    private final RestaurantDiscoveryIndex discoveryIndex;
+    private final MeterRegistry registry;
+    private final TransactionTemplate readOnly;
+    private final boolean enabled;
+    private final long budgetMs;
+    private final int threads;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public StartupCacheWarmup(RestaurantRepository restaurantRepository,
+                              MenuItemRepository menuItemRepository,
+                              RestaurantHoursRepository hoursRepository,
+                              MenuPriceTable priceTable,
+                              RestaurantDiscoveryIndex discoveryIndex,
+                              MeterRegistry registry,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${frontdash.warmup.enabled:true}") boolean enabled,
+                              @Value("${frontdash.warmup.budget-ms:30000}") long budgetMs,
+                              @Value("${frontdash.warmup.threads:3}") int threads) {
+        this.restaurantRepository = restaurantRepository;
+        this.menuItemRepository = menuItemRepository;
+        this.hoursRepository = hoursRepository;
+        this.priceTable = priceTable;
+        this.discoveryIndex = discoveryIndex;
+        this.registry = registry;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.enabled = enabled;
+        this.budgetMs = budgetMs;
+        this.threads = threads;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor loaders = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "cache-warmup-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+        // Taken before any read, so a change that lands while reading makes the stale result be dropped
+        long menuChanges = priceTable.changeCount();
+        long indexChanges = discoveryIndex.changeCount();
+        Map<String, CompletableFuture<?>> caches = new LinkedHashMap<>();
+        CompletableFuture<Integer> menus = CompletableFuture.supplyAsync(
+                () -> timed("menus", () -> loadMenus(menuChanges), n -> n), loaders);
+        CompletableFuture<List<Restaurant>> restaurants = CompletableFuture.supplyAsync(
+                () -> timed("restaurants", this::loadRestaurants, List::size), loaders);
+        CompletableFuture<Map<String, List<RestaurantHours>>> hours = CompletableFuture.supplyAsync(
+                () -> timed("hours", this::loadHours, Map::size), loaders);
+        CompletableFuture<Boolean> discovery = restaurants.thenCombineAsync(hours, (r, h) -> timed("discovery",
+                () -> discoveryIndex.loadFrom(r, h, indexChanges), loaded -> loaded ? r.size() : 0), loaders);
+        caches.put("menus", menus);
+        caches.put("restaurants", restaurants);
+        caches.put("hours", hours);
+        caches.put("discovery", discovery);
+        // Loaders past the budget keep running, so the pool only goes away once everything is done
+        CompletableFuture.allOf(menus, discovery).whenComplete((done, error) -> loaders.shutdown());
+
+        try {
+            CompletableFuture.allOf(menus, discovery).get(budgetMs, TimeUnit.MILLISECONDS);
+            log.info("Cache warm-up finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (TimeoutException e) {
+            List<String> pending = new ArrayList<>();
+            caches.forEach((name, future) -> {
+                if (!future.isDone()) {
+                    pending.add(name);
+                }
+            });
+            log.warn("Cache warm-up budget of {} ms used up, reporting ready; still loading in the background: {}",
+                    budgetMs, pending);
+        } catch (ExecutionException e) {
+            // Whatever did not load is loaded on first use, as without warm-up
+            log.warn("Cache warm-up failed after {} ms: {}", (System.nanoTime() - start) / 1_000_000,
+                    e.getCause().toString());
+        }
+    }
+
+    // Menu items arrive ordered by restaurant, so each restaurant's menu is complete when the id changes
+    private int loadMenus(long changesBefore) {
+        int[] restaurants = new int[1];
+        readOnly.executeWithoutResult(tx -> {
+            try (Stream<MenuItem> items = menuItemRepository.streamAllOrderByRestaurant()) {
+                String[] current = new String[1];
+                List<MenuItem> menu = new ArrayList<>();
+                int[] read = new int[1];
+                items.forEach(item -> {
+                    String restaurantId = item.getRestaurant().getRestaurantId();
+                    if (!restaurantId.equals(current[0])) {
+                        if (current[0] != null && priceTable.putIfUnchanged(current[0], menu, changesBefore)) {
+                            restaurants[0]++;
+                        }
+                        current[0] = restaurantId;
+                        menu.clear();
+                    }
+                    menu.add(item);
+                    if (++read[0] % CLEAR_EVERY == 0) {
+                        entityManager.clear();
+                    }
+                });
+                if (current[0] != null && priceTable.putIfUnchanged(current[0], menu, changesBefore)) {
+                    restaurants[0]++;
+                }
+            }
+        });
+        return restaurants[0];
+    }
+
+    private List<Restaurant> loadRestaurants() {
+        return readOnly.execute(tx -> {
+            List<Restaurant> restaurants = new ArrayList<>();
+            try (Stream<Restaurant> rows = restaurantRepository.streamAll()) {
+                rows.forEach(restaurant -> {
+                    restaurants.add(restaurant);
+                    if (restaurants.size() % CLEAR_EVERY == 0) {
+                        entityManager.clear();
+                    }
+                });
+            }
+            return restaurants;
+        });
+    }
+
+    private Map<String, List<RestaurantHours>> loadHours() {
+        return readOnly.execute(tx -> {
+            Map<String, List<RestaurantHours>> byRestaurant = new HashMap<>();
+            int[] read = new int[1];
+            try (Stream<RestaurantHours> rows = hoursRepository.streamAllOrderByRestaurant()) {
+                rows.forEach(h -> {
+                    byRestaurant.computeIfAbsent(h.getRestaurant().getRestaurantId(), id -> new ArrayList<>()).add(h);
+                    if (++read[0] % CLEAR_EVERY == 0) {
+                        entityManager.clear();
+                    }
+                });
+            }
+            return byRestaurant;
+        });
+    }
+
+    private <T> T timed(String cache, Supplier<T> load, ToIntFunction<T> count) {
+        long start = System.nanoTime();
+        T result = load.get();
+        long nanos = System.nanoTime() - start;
+        Timer.builder("frontdash.startup.warmup")
+                .description("Time to load each cache during startup warm-up")
+                .tag("cache", cache)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        log.info("Warm-up: {} loaded ({} restaurants) in {} ms", cache, count.applyAsInt(result), nanos / 1_000_000);
+        return result;
+    }
+}
@@ -0,0 +1,84 @@
+package com.frontdash.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prints where startup time went once the application is ready: time per startup phase
+ * (summed over its steps) and the slowest bean creations. Needs the BufferingApplicationStartup
+ * installed in FrontdashBackendApplication.main; does nothing otherwise.
+ */
+@Component
+public class StartupTimingsReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimingsReporter.class);
+
+    @Autowired
+    private ApplicationStartup applicationStartup;
+
+    @Value("${frontdash.startup.report-top:10}")
+    private int reportTop;
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        if (reportTop <= 0 || !(applicationStartup instanceof BufferingApplicationStartup buffering)) {
+            return;
+        }
+        List<StartupTimeline.TimelineEvent> events = buffering.getBufferedTimeline().getEvents();
+
+        // Phases nest (spring.context.refresh contains bean creation), so these do not add up
+        Map<String, long[]> phases = new LinkedHashMap<>();
+        for (StartupTimeline.TimelineEvent e : events) {
+            long[] totals = phases.computeIfAbsent(e.getStartupStep().getName(), name -> new long[2]);
+            totals[0] += e.getDuration().toNanos();
+            totals[1]++;
+        }
+
+        StringBuilder out = new StringBuilder("Startup timings (ready in ")
+                .append(millis(event.getTimeTaken())).append(" ms, ").append(events.size()).append(" steps)\n");
+        phases.entrySet().stream()
+                .filter(phase -> !phase.getKey().equals("spring.beans.instantiate"))
+                .sorted(Comparator.comparingLong((Map.Entry<String, long[]> phase) -> phase.getValue()[0]).reversed())
+                .limit(reportTop)
+                .forEach(phase -> out.append(String.format("  %8d ms  %s (x%d)%n",
+                        phase.getValue()[0] / 1_000_000, phase.getKey(), phase.getValue()[1])));
+
+        // Bean times include the beans they pulled in as dependencies
+        out.append("Slowest beans:\n");
+        events.stream()
+                .filter(e -> e.getStartupStep().getName().equals("spring.beans.instantiate"))
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(reportTop)
+                .forEach(e -> out.append(String.format("  %8d ms  %s%n",
+                        millis(e.getDuration()), beanName(e.getStartupStep()))));
+        log.info(out.toString().stripTrailing());
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (tag.getKey().equals("beanName")) {
+                return tag.getValue();
+            }
+        }
+        return step.getName();
+    }
+
+    private static long millis(Duration duration) {
+        return duration != null ? duration.toMillis() : -1;
+    }
+}
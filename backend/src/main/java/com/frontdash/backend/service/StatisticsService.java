@@ -2,11 +2,14 @@ package com.frontdash.backend.service;
 
 import com.frontdash.backend.entity.Restaurant;
 import com.frontdash.backend.repository.MenuItemRepository;
+import com.frontdash.backend.repository.OrderRepository;
 import com.frontdash.backend.repository.RestaurantRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -21,6 +24,9 @@ public class StatisticsService {
     @Autowired
     private WithdrawalService withdrawalService;
 
+    @Autowired
+    private OrderRepository orderRepository;
+
     public Map<String, Object> getRestaurantStatistics(String restaurantId) {
         Map<String, Object> stats = new HashMap<>();
         
@@ -29,8 +35,8 @@ public class StatisticsService {
             .orElseThrow(() -> new RuntimeException("Restaurant not found"));
         
         // Menu statistics
-        long totalMenuItems = menuItemRepository.countByRestaurant(restaurant);
-        long availableMenuItems = menuItemRepository.findByRestaurantAndIsAvailableTrue(restaurant).size();
+        long totalMenuItems = menuItemRepository.countByRestaurantId(restaurantId);
+        long availableMenuItems = menuItemRepository.countAvailableByRestaurantId(restaurantId);
         
         // Withdrawal status
         String withdrawalStatus = withdrawalService.getWithdrawalStatus(restaurantId);
@@ -41,13 +47,21 @@ public class StatisticsService {
         stats.put("availableMenuItems", availableMenuItems);
         stats.put("withdrawalStatus", withdrawalStatus);
         stats.put("forceClosed", restaurant.getForceClosed());
+        stats.putAll(getOrderStatistics(restaurantId));
         
-        // Placeholder statistics (replace with real data from your stats tables)
-        stats.put("totalOrders", 150);
-        stats.put("revenue", 12500.00);
-        stats.put("popularItem", "Margherita Pizza");
-        stats.put("customerRating", 4.5);
-        
+        return stats;
+    }
+
+    // Order figures only (the dashboard already has the restaurant, menu counts and withdrawal status).
+    // Covers orders in the live table; archived orders are not counted.
+    public Map<String, Object> getOrderStatistics(String restaurantId) {
+        Map<String, Object> stats = new HashMap<>();
+        List<String> mostOrdered = orderRepository.findMostOrderedItemNames(restaurantId, Limit.of(1));
+        stats.put("totalOrders", orderRepository.countByRestaurantRestaurantId(restaurantId));
+        stats.put("revenue", orderRepository.sumTotalAmountByRestaurantId(restaurantId));
+        stats.put("popularItem", mostOrdered.isEmpty() ? null : mostOrdered.get(0));
+        // No ratings are collected yet
+        stats.put("customerRating", null);
         return stats;
     }
 }
\ No newline at end of file
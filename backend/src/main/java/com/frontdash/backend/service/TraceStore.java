@@ -0,0 +1,109 @@
+package com.frontdash.backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sampling decision plus the slowest N finished traces per endpoint, kept in memory for
+ * /api/admin/traces. Sampling is off (rate 0) unless configured or switched on at runtime.
+ */
+@Component
+public class TraceStore {
+
+    private final int keepPerEndpoint;
+    private volatile double sampleRate;
+    private final ConcurrentHashMap<String, Slowest> byEndpoint = new ConcurrentHashMap<>();
+    private final AtomicLong sampled = new AtomicLong();
+
+    public TraceStore(@Value("${frontdash.tracing.sample-rate:0}") double sampleRate,
+                      @Value("${frontdash.tracing.slowest-per-endpoint:10}") int keepPerEndpoint) {
+        setSampleRate(sampleRate);
+        this.keepPerEndpoint = Math.max(1, keepPerEndpoint);
+    }
+
+    public boolean shouldSample() {
+        double rate = sampleRate;
+        return rate > 0 && (rate >= 1 || ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        if (!(sampleRate >= 0 && sampleRate <= 1)) {
+            throw new RuntimeException("Sample rate must be between 0 and 1");
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    public void record(RequestTrace trace) {
+        sampled.incrementAndGet();
+        byEndpoint.computeIfAbsent(trace.getEndpoint(), endpoint -> new Slowest(keepPerEndpoint)).offer(trace);
+    }
+
+    public long getSampledCount() {
+        return sampled.get();
+    }
+
+    /** Endpoint -> its kept traces, slowest first. */
+    public Map<String, List<RequestTrace>> slowest() {
+        Map<String, List<RequestTrace>> out = new TreeMap<>();
+        byEndpoint.forEach((endpoint, slowest) -> out.put(endpoint, slowest.snapshot()));
+        return out;
+    }
+
+    public void clear() {
+        byEndpoint.clear();
+    }
+
+    // Fixed-size slots; a new trace replaces the fastest kept one once the slots are full
+    private static final class Slowest {
+
+        private final RequestTrace[] slots;
+        private int size;
+        private long fastestNanos;
+
+        Slowest(int capacity) {
+            this.slots = new RequestTrace[capacity];
+        }
+
+        synchronized void offer(RequestTrace trace) {
+            long nanos = trace.getDurationNanos();
+            if (size < slots.length) {
+                slots[size++] = trace;
+            } else if (nanos > fastestNanos) {
+                slots[indexOfFastest()] = trace;
+            } else {
+                return;
+            }
+            fastestNanos = slots[indexOfFastest()].getDurationNanos();
+        }
+
+        private int indexOfFastest() {
+            int fastest = 0;
+            for (int i = 1; i < size; i++) {
+                if (slots[i].getDurationNanos() < slots[fastest].getDurationNanos()) {
+                    fastest = i;
+                }
+            }
+            return fastest;
+        }
+
+        synchronized List<RequestTrace> snapshot() {
+            List<RequestTrace> out = new ArrayList<>(Arrays.asList(slots).subList(0, size));
+            out.sort(Comparator.comparingLong(RequestTrace::getDurationNanos).reversed());
+            return out;
+        }
+    }
+}
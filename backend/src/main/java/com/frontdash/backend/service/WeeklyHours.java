@@ -0,0 +1,93 @@
+package com.frontdash.backend.service;
+
+import com.frontdash.backend.entity.RestaurantHours;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Compact, immutable copy of a restaurant's weekly opening hours for "open now" checks.
+ * Weekdays follow restaurant_hours: 0-6 = Sunday-Saturday. Times are minutes after midnight;
+ * a closing time at or before the opening time means the restaurant closes after midnight.
+ */
+public final class WeeklyHours {
+
+    private static final short NO_HOURS = -1;
+
+    public static final WeeklyHours NONE = new WeeklyHours(emptyDays(), emptyDays());
+
+    private final short[] opens;
+    private final short[] closes;
+
+    private WeeklyHours(short[] opens, short[] closes) {
+        this.opens = opens;
+        this.closes = closes;
+    }
+
+    public static WeeklyHours of(List<RestaurantHours> hours) {
+        short[] opens = emptyDays();
+        short[] closes = emptyDays();
+        for (RestaurantHours h : hours) {
+            Integer day = h.getWeekday();
+            if (day == null || day < 0 || day > 6 || Boolean.TRUE.equals(h.getIsClosed())
+                    || h.getOpensAt() == null || h.getClosesAt() == null) {
+                continue;
+            }
+            opens[day] = minuteOfDay(h.getOpensAt().toLocalTime());
+            closes[day] = minuteOfDay(h.getClosesAt().toLocalTime());
+        }
+        return new WeeklyHours(opens, closes);
+    }
+
+    // Copy with one day replaced by the given row (same rules as of())
+    public WeeklyHours with(RestaurantHours h) {
+        Integer day = h.getWeekday();
+        if (day == null || day < 0 || day > 6) {
+            return this;
+        }
+        short[] newOpens = opens.clone();
+        short[] newCloses = closes.clone();
+        if (Boolean.TRUE.equals(h.getIsClosed()) || h.getOpensAt() == null || h.getClosesAt() == null) {
+            newOpens[day] = NO_HOURS;
+            newCloses[day] = NO_HOURS;
+        } else {
+            newOpens[day] = minuteOfDay(h.getOpensAt().toLocalTime());
+            newCloses[day] = minuteOfDay(h.getClosesAt().toLocalTime());
+        }
+        return new WeeklyHours(newOpens, newCloses);
+    }
+
+    public boolean isOpenAt(LocalDateTime time) {
+        int day = time.getDayOfWeek().getValue() % 7;
+        int minute = time.getHour() * 60 + time.getMinute();
+        if (isOpenSameDay(day, minute)) {
+            return true;
+        }
+        // Still inside yesterday's hours if they run past midnight
+        int yesterday = (day + 6) % 7;
+        return opens[yesterday] != NO_HOURS && closes[yesterday] <= opens[yesterday] && minute < closes[yesterday];
+    }
+
+    private boolean isOpenSameDay(int day, int minute) {
+        short open = opens[day];
+        short close = closes[day];
+        if (open == NO_HOURS) {
+            return false;
+        }
+        if (close > open) {
+            return minute >= open && minute < close;
+        }
+        return minute >= open; // closes after midnight
+    }
+
+    private static short minuteOfDay(LocalTime time) {
+        return (short) (time.getHour() * 60 + time.getMinute());
+    }
+
+    private static short[] emptyDays() {
+        short[] days = new short[7];
+        java.util.Arrays.fill(days, NO_HOURS);
+        return days;
+    }
+}
@@ -22,6 +22,9 @@ public class WithdrawalService {
     @Autowired
     private RestaurantRepository restaurantRepository;
 
+    @Autowired
+    private RestaurantDashboardCache dashboardCache;
+
     // Withdrawal request operations
     public List<Withdraw> getAllWithdrawalRequests() {
         return withdrawRepository.findAll();
@@ -49,6 +52,7 @@ public class WithdrawalService {
         withdrawRequest.setWithdrawStatus("pending");
         withdrawRequest.setRequestedAt(LocalDateTime.now());
 
+        dashboardCache.invalidateWithdrawal(restaurantId);
         return withdrawRepository.save(withdrawRequest);
     }
 
@@ -56,6 +60,7 @@ public class WithdrawalService {
         return withdrawRepository.findByRestaurantId(restaurantId).map(withdraw -> {
             if ("pending".equals(withdraw.getWithdrawStatus())) {
                 withdrawRepository.delete(withdraw);
+                dashboardCache.invalidateWithdrawal(restaurantId);
                 return withdraw;
             } else {
                 throw new RuntimeException("Cannot cancel a request that is not pending");
@@ -69,6 +74,7 @@ public class WithdrawalService {
             if ("pending".equals(withdraw.getWithdrawStatus())) {
                 withdraw.setWithdrawStatus("approved");
                 withdraw.setDecisionAt(LocalDateTime.now());
+                dashboardCache.invalidateWithdrawal(restaurantId);
                 return withdrawRepository.save(withdraw);
             } else {
                 throw new RuntimeException("Can only approve pending requests");
@@ -82,6 +88,7 @@ public class WithdrawalService {
                 withdraw.setWithdrawStatus("denied");
                 withdraw.setDenyReason(reason);
                 withdraw.setDecisionAt(LocalDateTime.now());
+                dashboardCache.invalidateWithdrawal(restaurantId);
                 return withdrawRepository.save(withdraw);
             } else {
                 throw new RuntimeException("Can only deny pending requests");
@@ -0,0 +1,91 @@
+package com.frontdash.backend.test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares onboarding N drivers through N POST /api/drivers calls against one POST /api/drivers/bulk
+ * (chunked stored-procedure calls), then removes the benchmark drivers with /api/drivers/bulk/inactivate.
+ * Needs a running backend. Usage (all arguments optional):
+ *   java ... BulkOnboardingBenchmark [baseUrl] [drivers]
+ */
+public class BulkOnboardingBenchmark {
+
+    private static final Pattern DRIVER_ID = Pattern.compile("\"driver_id\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int drivers = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+
+        System.out.println("\n=== FRONTDASH: BULK ONBOARDING BENCHMARK ===");
+        System.out.println(" " + drivers + " drivers against " + baseUrl + "\n");
+
+        HttpClient http = HttpClient.newHttpClient();
+        List<String> created = new ArrayList<>();
+
+        // Warm up both paths so the first measured call does not pay for class loading
+        created.addAll(driverIds(post(http, baseUrl + "/api/drivers", "application/json",
+                "{\"firstName\":\"Warm\",\"lastName\":\"Up\"}")));
+        created.addAll(driverIds(post(http, baseUrl + "/api/drivers/bulk", "text/csv",
+                "firstName,lastName\r\nWarm,Up\r\n")));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < drivers; i++) {
+            created.addAll(driverIds(post(http, baseUrl + "/api/drivers", "application/json",
+                    "{\"firstName\":\"Single\",\"lastName\":\"Bench" + i + "\"}")));
+        }
+        report("one request per driver", drivers, System.nanoTime() - start);
+
+        StringBuilder csv = new StringBuilder("firstName,lastName\r\n");
+        for (int i = 0; i < drivers; i++) {
+            csv.append("Bulk,Bench").append(i).append("\r\n");
+        }
+        start = System.nanoTime();
+        List<String> bulk = driverIds(post(http, baseUrl + "/api/drivers/bulk", "text/csv", csv.toString()));
+        report("one bulk CSV request", drivers, System.nanoTime() - start);
+        if (bulk.size() != drivers) {
+            System.out.println(" WARNING: bulk created " + bulk.size() + " of " + drivers + " drivers");
+        }
+        created.addAll(bulk);
+
+        StringBuilder ids = new StringBuilder("id\r\n");
+        created.forEach(id -> ids.append(id).append("\r\n"));
+        start = System.nanoTime();
+        post(http, baseUrl + "/api/drivers/bulk/inactivate", "text/csv", ids.toString());
+        report("bulk inactivate (cleanup)", created.size(), System.nanoTime() - start);
+
+        System.out.println("\n=== BENCHMARK COMPLETE ===\n");
+    }
+
+    private static String post(HttpClient http, String url, String contentType, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", contentType)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(url + " answered " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private static List<String> driverIds(String json) {
+        List<String> ids = new ArrayList<>();
+        Matcher m = DRIVER_ID.matcher(json);
+        while (m.find()) {
+            ids.add(m.group(1));
+        }
+        return ids;
+    }
+
+    private static void report(String label, int rows, long nanos) {
+        double seconds = nanos / 1e9;
+        System.out.printf(" %-28s %,8.0f rows/s  (%d rows in %.2f s)%n", label, rows / seconds, rows, seconds);
+    }
+}
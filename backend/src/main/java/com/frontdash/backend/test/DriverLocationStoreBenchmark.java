@@ -0,0 +1,105 @@
+package com.frontdash.backend.test;
+
+import com.frontdash.backend.service.DriverLocationStore;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Update throughput and garbage produced by DriverLocationStore, without HTTP or a database:
+ * threads feed random positions for the given number of drivers for a few seconds while one thread
+ * runs nearest-driver queries, and the history ring is drained the way the flush job does.
+ * Usage (all arguments optional):
+ *   java ... DriverLocationStoreBenchmark [drivers] [threads] [seconds]
+ */
+public class DriverLocationStoreBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int drivers = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        System.out.println("\n=== FRONTDASH: DRIVER LOCATION STORE BENCHMARK ===");
+        System.out.println(" " + drivers + " drivers, " + threads + " writer threads, " + seconds + " s\n");
+
+        DriverLocationStore store = new DriverLocationStore(drivers, 30_000, 65_536);
+        String[] ids = new String[drivers];
+        for (int i = 0; i < drivers; i++) {
+            ids[i] = "drv-bench-" + i;
+            store.register(ids[i]);
+        }
+
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        AtomicLong updates = new AtomicLong();
+        AtomicLong queries = new AtomicLong();
+        AtomicLong drained = new AtomicLong();
+        Thread[] workers = new Thread[threads + 2];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long count = 0;
+                while (System.nanoTime() < deadline) {
+                    for (int i = 0; i < 1_000; i++) {
+                        store.update(ids[random.nextInt(drivers)], 42.2 + random.nextDouble() * 0.3,
+                                -71.2 + random.nextDouble() * 0.3, System.currentTimeMillis());
+                    }
+                    count += 1_000;
+                }
+                updates.addAndGet(count);
+            });
+        }
+        workers[threads] = new Thread(() -> {
+            String[] nearestIds = new String[20];
+            double[] distances = new double[20];
+            while (System.nanoTime() < deadline) {
+                store.nearest(42.35, -71.06, System.currentTimeMillis() - 120_000, nearestIds, distances);
+                queries.incrementAndGet();
+            }
+        });
+        workers[threads + 1] = new Thread(() -> {
+            while (System.nanoTime() < deadline) {
+                drained.addAndGet(store.drainHistory(1_000, (driverId, latitude, longitude, recordedAt) -> { }));
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        long gcCountBefore = gcCount();
+        long gcTimeBefore = gcTime();
+        long start = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf(" updates             %,14.0f /s%n", updates.get() / elapsed);
+        System.out.printf(" nearest(20) queries %,14.0f /s%n", queries.get() / elapsed);
+        System.out.printf(" history points      %,14d drained, %,d dropped%n", drained.get(), store.getDroppedHistory());
+        System.out.printf(" GC                  %,14d collections, %d ms%n", gcCount() - gcCountBefore, gcTime() - gcTimeBefore);
+        System.out.println("\n=== BENCHMARK COMPLETE ===\n");
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(gc.getCollectionCount(), 0);
+        }
+        return total;
+    }
+
+    private static long gcTime() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(gc.getCollectionTime(), 0);
+        }
+        return total;
+    }
+}
@@ -1,101 +1,76 @@
 package com.frontdash.backend.test;
 
-import com.frontdash.backend.entity.*;
-import com.frontdash.backend.repository.DriverJpaRepository;
-import com.frontdash.backend.repository.MenuItemRepository;
-import com.frontdash.backend.repository.RestaurantHoursRepository;
-import com.frontdash.backend.repository.RestaurantRepository;
-import com.frontdash.backend.repository.StaffRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.sql.Time;
+import java.sql.Timestamp;
 import java.time.DayOfWeek;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
-
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Instructor fixture data. Only runs with the "seed" profile (--spring.profiles.active=seed);
+ * rows are collected in memory and written with one JDBC batch per table.
+ *
+ * Runs before every other runner, so StartupCacheWarmup loads the seeded rows instead of an empty database.
+ */
 @Component
+@Profile("seed")
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class InstructorTestDataLoader implements CommandLineRunner {
 
-    @Autowired private RestaurantRepository restaurantRepository;
-    @Autowired private RestaurantHoursRepository restaurantHoursRepository;
-    @Autowired private MenuItemRepository menuItemRepository;
-    @Autowired private DriverJpaRepository driverRepository;
-    @Autowired private StaffRepository staffRepository;
+    private static final Logger log = LoggerFactory.getLogger(InstructorTestDataLoader.class);
+
+    @Autowired private JdbcTemplate jdbc;
+
+    private final List<Object[]> staff = new ArrayList<>();
+    private final List<Object[]> restaurants = new ArrayList<>();
+    private final List<Object[]> hours = new ArrayList<>();
+    private final List<Object[]> menuItems = new ArrayList<>();
+    private final List<Object[]> drivers = new ArrayList<>();
 
     private int menuSeq = 1;
 
     @Override
     @Transactional
     public void run(String... args) {
-        long count = restaurantRepository.count();
-        System.out.println("InstructorTestDataLoader: restaurants in DB before seed = " + count);
-
-        // IMPORTANT: don’t keep seeding if data already exists
-        if (count > 0) {
-            System.out.println("InstructorTestDataLoader: skipping seed (restaurants already exist).");
+        // IMPORTANT: don’t keep seeding if data already exists (one index probe instead of a COUNT)
+        if (!jdbc.queryForList("SELECT 1 FROM restaurants LIMIT 1").isEmpty()) {
+            log.info("Skipping seed (restaurants already exist)");
             return;
         }
 
-        System.out.println("InstructorTestDataLoader: seeding instructor test data...");
+        log.info("Seeding instructor test data...");
+        long start = System.nanoTime();
 
         // --- Default owner staff ---
-        Staff defaultOwner = new Staff();
-        defaultOwner.setStaffId("admin-001");
-        defaultOwner.setFirstName("Default");
-        defaultOwner.setLastName("Owner");
-        defaultOwner.setRoleId(1);
-        defaultOwner.setEmail("admin@example.com");
-        defaultOwner.setPhone("0000000000");
-        defaultOwner.setActive(true);
-        staffRepository.save(defaultOwner);
+        String defaultOwner = "admin-001";
+        addStaff(defaultOwner, 1, "Default", "Owner", "admin@example.com", "0000000000", true);
 
         // --------- RESTAURANTS + ADDRESSES ---------
-        Restaurant allChicken = new Restaurant();
-        allChicken.setRestaurantId("REST-ACM");
-        allChicken.setRestaurantName("All Chicken Meals");
-        allChicken.setStreet("234 Lake Street");
-        allChicken.setCity("Boston");
-        allChicken.setState("MA");
-        allChicken.setZip("02132");
-        allChicken.setPhone("6174783785");          // no dashes in DB
-        allChicken.setEmail("allchicken@example.com");
-        allChicken.setHumanContactName("Laura Wimbleton");
-        allChicken.setCuisineType("Chicken");
-        allChicken.setForceClosed(false);
-        allChicken.setOwnerId(defaultOwner.getStaffId());
-        restaurantRepository.save(allChicken);
-
-        Restaurant pizzaOnly = new Restaurant();
-        pizzaOnly.setRestaurantId("REST-PO");
-        pizzaOnly.setRestaurantName("Pizza Only");
-        pizzaOnly.setStreet("719 Hobatt Road");
-        pizzaOnly.setCity("Chestnut Hill");
-        pizzaOnly.setState("MA");
-        pizzaOnly.setZip("02129");
-        pizzaOnly.setPhone("8574772773");
-        pizzaOnly.setEmail("pizzaonly@example.com");
-        pizzaOnly.setHumanContactName("Russel Beverton");
-        pizzaOnly.setCuisineType("Pizza");
-        pizzaOnly.setForceClosed(false);
-        pizzaOnly.setOwnerId(defaultOwner.getStaffId());
-        restaurantRepository.save(pizzaOnly);
-
-        Restaurant bestBurgers = new Restaurant();
-        bestBurgers.setRestaurantId("REST-BB");
-        bestBurgers.setRestaurantName("Best Burgers");
-        bestBurgers.setStreet("28093 Park Avenue");
-        bestBurgers.setCity("Newton Corner");
-        bestBurgers.setState("MA");
-        bestBurgers.setZip("02125");
-        bestBurgers.setPhone("7814670073");
-        bestBurgers.setEmail("bestburgers@example.com");
-        bestBurgers.setHumanContactName("Eager Alloysis");
-        bestBurgers.setCuisineType("Burgers");
-        bestBurgers.setForceClosed(false);
-        bestBurgers.setOwnerId(defaultOwner.getStaffId());
-        restaurantRepository.save(bestBurgers);
+        String allChicken = addRestaurant("REST-ACM", "All Chicken Meals", "Chicken",
+                "234 Lake Street", "Boston", "MA", "02132",
+                "6174783785", "allchicken@example.com", "Laura Wimbleton", defaultOwner);   // no dashes in DB
+
+        String pizzaOnly = addRestaurant("REST-PO", "Pizza Only", "Pizza",
+                "719 Hobatt Road", "Chestnut Hill", "MA", "02129",
+                "8574772773", "pizzaonly@example.com", "Russel Beverton", defaultOwner);
+
+        String bestBurgers = addRestaurant("REST-BB", "Best Burgers", "Burgers",
+                "28093 Park Avenue", "Newton Corner", "MA", "02125",
+                "7814670073", "bestburgers@example.com", "Eager Alloysis", defaultOwner);
 
         // --------- HOURS ---------
         // helper method for less repetition
@@ -143,115 +118,104 @@ public class InstructorTestDataLoader implements CommandLineRunner {
         createDriver("Lucy",   "Gordon",  false);
 
         // --------- STAFF ---------
-        createStaff("Amanda",  "Richard", "richard01", "amanda.richard@example.com", true);
-        createStaff("Arthur",  "Cox",     "cox02",     "arthur.cox@example.com",     true);
-        createStaff("Charles", "Deckon",  "deckon03",  "charles.deckon@example.com", true);
-        createStaff("Francis", "Cox",     "cox04",     "francis.cox@example.com",    true);
-        createStaff("Sarah",   "Mullard", "mullard05", "sarah.mullard@example.com",  true);
-
-        System.out.println("InstructorTestDataLoader: done seeding.");
+        addStaff("richard01", 0, "Amanda",  "Richard", "amanda.richard@example.com", null, true);
+        addStaff("cox02",     0, "Arthur",  "Cox",     "arthur.cox@example.com",     null, true);
+        addStaff("deckon03",  0, "Charles", "Deckon",  "charles.deckon@example.com", null, true);
+        addStaff("cox04",     0, "Francis", "Cox",     "francis.cox@example.com",    null, true);
+        addStaff("mullard05", 0, "Sarah",   "Mullard", "sarah.mullard@example.com",  null, true);
+
+        // Parents first so the foreign keys are satisfied
+        jdbc.batchUpdate("INSERT INTO users (user_id, role_id, first_name, last_name, email, phone, active, created_at)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)", staff);
+        jdbc.batchUpdate("INSERT INTO restaurants (restaurant_id, owner_id, restaurant_name, cuisine_type, email, phone,"
+                + " human_contact_name, street, city, state, zip, force_closed) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                restaurants);
+        jdbc.batchUpdate("INSERT INTO restaurant_hours (restaurant_id, weekday, opens_at, closes_at, is_closed)"
+                + " VALUES (?, ?, ?, ?, ?)", hours);
+        jdbc.batchUpdate("INSERT INTO menu_items (menu_item_id, restaurant_id, category, food_name, food_description,"
+                + " price, is_available) VALUES (?, ?, ?, ?, ?, ?, ?)", menuItems);
+        jdbc.batchUpdate("INSERT INTO drivers (driver_id, first_name, last_name, assigned_to_order, active, created_at)"
+                + " VALUES (?, ?, ?, ?, ?, ?)", drivers);
+
+        log.info("Done seeding in {} ms", (System.nanoTime() - start) / 1_000_000);
     }
 
     // ===== helper methods =====
 
-    private void createHours(Restaurant r,
+    private void addStaff(String userId, int roleId, String first, String last,
+                          String email, String phone, boolean active) {
+        staff.add(new Object[] {userId, roleId, first, last, email, phone, active ? 1 : 0,
+                Timestamp.valueOf(LocalDateTime.now())});
+    }
+
+    private String addRestaurant(String id, String name, String cuisine,
+                                 String street, String city, String state, String zip,
+                                 String phone, String email, String contact, String ownerId) {
+        restaurants.add(new Object[] {id, ownerId, name, cuisine, email, phone,
+                contact, street, city, state, zip, false});
+        return id;
+    }
+
+    private void createHours(String restaurantId,
                              String mon, String tue, String wed, String thu,
                              String fri, String sat, String sun) {
 
-        createHoursForDay(r, DayOfWeek.MONDAY,    mon);
-        createHoursForDay(r, DayOfWeek.TUESDAY,   tue);
-        createHoursForDay(r, DayOfWeek.WEDNESDAY, wed);
-        createHoursForDay(r, DayOfWeek.THURSDAY,  thu);
-        createHoursForDay(r, DayOfWeek.FRIDAY,    fri);
-        createHoursForDay(r, DayOfWeek.SATURDAY,  sat);
-        createHoursForDay(r, DayOfWeek.SUNDAY,    sun);
+        createHoursForDay(restaurantId, DayOfWeek.MONDAY,    mon);
+        createHoursForDay(restaurantId, DayOfWeek.TUESDAY,   tue);
+        createHoursForDay(restaurantId, DayOfWeek.WEDNESDAY, wed);
+        createHoursForDay(restaurantId, DayOfWeek.THURSDAY,  thu);
+        createHoursForDay(restaurantId, DayOfWeek.FRIDAY,    fri);
+        createHoursForDay(restaurantId, DayOfWeek.SATURDAY,  sat);
+        createHoursForDay(restaurantId, DayOfWeek.SUNDAY,    sun);
     }
 
-    private void createHoursForDay(Restaurant r, DayOfWeek day, String spec) {
-        RestaurantHours h = new RestaurantHours();
-        h.setRestaurant(r);
+    private void createHoursForDay(String restaurantId, DayOfWeek day, String spec) {
         // DB stores weekday 0-6 (Sunday-Saturday)
-        h.setWeekday(day == DayOfWeek.SUNDAY ? 0 : day.getValue());
+        int weekday = day == DayOfWeek.SUNDAY ? 0 : day.getValue();
 
         if ("CLOSED".equalsIgnoreCase(spec)) {
-            h.setOpensAt(null);
-            h.setClosesAt(null);
-            h.setIsClosed(true);
+            hours.add(new Object[] {restaurantId, weekday, null, null, true});
         } else {
             // spec like "9:00-21:00"
             String[] parts = spec.split("-");
-            java.time.LocalTime open = parseTime(parts[0]);
-            java.time.LocalTime close = parseTime(parts[1]);
-
-            h.setOpensAt(java.sql.Time.valueOf(open));
-            h.setClosesAt(java.sql.Time.valueOf(close));
-            h.setIsClosed(false);
+            LocalTime open = parseTime(parts[0]);
+            LocalTime close = parseTime(parts[1]);
+            hours.add(new Object[] {restaurantId, weekday, Time.valueOf(open), Time.valueOf(close), false});
         }
-
-        restaurantHoursRepository.save(h);
     }
 
-    private java.time.LocalTime parseTime(String raw) {
+    private LocalTime parseTime(String raw) {
         String s = raw.trim();
 
         // Handle "24:00" as end-of-day
         if (s.equals("24:00") || s.equals("24:00:00")) {
-            return java.time.LocalTime.of(23, 59);
+            return LocalTime.of(23, 59);
         }
 
         String[] parts = s.split(":");
         if (parts.length == 2) {
             int h = Integer.parseInt(parts[0]);
             int m = Integer.parseInt(parts[1]);
-            return java.time.LocalTime.of(h, m);
+            return LocalTime.of(h, m);
         } else if (parts.length == 3) {
             int h = Integer.parseInt(parts[0]);
             int m = Integer.parseInt(parts[1]);
             int sec = Integer.parseInt(parts[2]);
-            return java.time.LocalTime.of(h, m, sec);
+            return LocalTime.of(h, m, sec);
         }
 
         // Fallback parsing
-        return java.time.LocalTime.parse(s, java.time.format.DateTimeFormatter.ofPattern("H:mm"));
+        return LocalTime.parse(s, java.time.format.DateTimeFormatter.ofPattern("H:mm"));
     }
 
-    private void createMenuItem(Restaurant r, String foodName,
+    private void createMenuItem(String restaurantId, String foodName,
                                 String description, double price, boolean available) {
-
-        MenuItem mi = new MenuItem();
-        mi.setMenuItemId(r.getRestaurantId() + "-ITEM-" + (menuSeq++));
-        mi.setRestaurant(r);
-        mi.setFoodName(foodName);
-        mi.setFoodDescription(description);
-        mi.setPrice(BigDecimal.valueOf(price));
-        mi.setIsAvailable(available);
-        mi.setCategory("Main");
-        menuItemRepository.save(mi);
+        menuItems.add(new Object[] {restaurantId + "-ITEM-" + (menuSeq++), restaurantId, "Main",
+                foodName, description, BigDecimal.valueOf(price), available});
     }
 
     private void createDriver(String first, String last, boolean active) {
-        Driver d = new Driver();
-        // if your entity uses driverId string, generate or use drv-XXX
-        d.setDriverId(first.toLowerCase() + "-" + last.toLowerCase());
-        d.setFirstName(first);
-        d.setLastName(last);
-        d.setActive(active);
-        d.setAssignedToOrder(false);
-        d.setCreatedAt(java.time.LocalDateTime.now());
-        driverRepository.save(d);
-    }
-
-    private void createStaff(String first, String last, String username,
-                             String email, boolean active) {
-        Staff s = new Staff();
-        s.setStaffId(username);           // or generate UUID
-        s.setFirstName(first);
-        s.setLastName(last);
-        s.setPhone(null);
-        s.setEmail(email);
-        s.setRoleId(0);
-        s.setActive(active);
-        // you can also set a default password hash if needed
-        staffRepository.save(s);
+        drivers.add(new Object[] {first.toLowerCase() + "-" + last.toLowerCase(), first, last,
+                false, active, Timestamp.valueOf(LocalDateTime.now())});
     }
 }
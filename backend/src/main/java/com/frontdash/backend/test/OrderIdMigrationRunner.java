@@ -0,0 +1,117 @@
+package com.frontdash.backend.test;
+
+import com.frontdash.backend.service.IdGenerator;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+
+/**
+ * One-off migration that re-keys legacy random order IDs ("ord-xxxxxxxx") to the
+ * time-ordered format produced by IdGenerator, based on each order's order_date.
+ *
+ * Old -> new pairs are kept in order_id_rekey so support can still look up old IDs.
+ * Only the DataSource and IdGenerator are started (no web server, JPA, Flyway, schedulers or
+ * startup runners), using the same application.properties and frontdash.ids.node-id as the app.
+ * Run once with the application stopped (or during a maintenance window):
+ *   mvnw spring-boot:run -Dspring-boot.run.main-class=com.frontdash.backend.test.OrderIdMigrationRunner
+ *       -Dspring-boot.run.arguments=--frontdash.ids.node-id=0
+ */
+public class OrderIdMigrationRunner {
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration(DataSourceAutoConfiguration.class)
+    @Import(IdGenerator.class)
+    static class MigrationContext {
+    }
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String NEW_FORMAT = "^ord-[0-9a-z]{13}$";
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("\n=== FRONTDASH: ORDER ID MIGRATION ===\n");
+
+        ConfigurableApplicationContext ctx = new SpringApplicationBuilder(MigrationContext.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+
+        IdGenerator ids = ctx.getBean(IdGenerator.class);
+        DataSource dataSource = ctx.getBean(DataSource.class);
+
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try (Statement st = conn.createStatement()) {
+                st.execute("CREATE TABLE IF NOT EXISTS order_id_rekey ("
+                        + " old_id VARCHAR(255) PRIMARY KEY,"
+                        + " new_id VARCHAR(255) NOT NULL UNIQUE,"
+                        + " migrated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6))");
+            }
+
+            // 1. Build the old -> new mapping in batches, ordered by order date
+            int mapped = 0;
+            long lastMillis = Long.MIN_VALUE;
+            int sequence = 0;
+            try (PreparedStatement select = conn.prepareStatement(
+                         "SELECT order_id, order_date FROM orders"
+                                 + " WHERE order_id NOT REGEXP ? AND order_id NOT IN (SELECT old_id FROM order_id_rekey)"
+                                 + " ORDER BY order_date, order_id");
+                 PreparedStatement insert = conn.prepareStatement(
+                         "INSERT INTO order_id_rekey (old_id, new_id) VALUES (?, ?)")) {
+                select.setString(1, NEW_FORMAT);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        Timestamp orderDate = rs.getTimestamp("order_date");
+                        long millis = orderDate != null ? orderDate.getTime() : System.currentTimeMillis();
+                        sequence = millis == lastMillis ? sequence + 1 : 0;
+                        lastMillis = millis;
+
+                        insert.setString(1, rs.getString("order_id"));
+                        insert.setString(2, ids.idAt(IdGenerator.ORDER_PREFIX, millis, sequence));
+                        insert.addBatch();
+                        if (++mapped % BATCH_SIZE == 0) {
+                            insert.executeBatch();
+                        }
+                    }
+                }
+                insert.executeBatch();
+            }
+            conn.commit();
+            System.out.println(" - Legacy order IDs mapped: " + mapped);
+
+            // 2. Swap the keys on orders and order_items in one transaction
+            try (Statement st = conn.createStatement()) {
+                st.execute("SET FOREIGN_KEY_CHECKS = 0");
+                int items = st.executeUpdate("UPDATE order_items oi JOIN order_id_rekey m ON oi.order_id = m.old_id"
+                        + " SET oi.order_id = m.new_id");
+                int orders = st.executeUpdate("UPDATE orders o JOIN order_id_rekey m ON o.order_id = m.old_id"
+                        + " SET o.order_id = m.new_id");
+                st.execute("SET FOREIGN_KEY_CHECKS = 1");
+                conn.commit();
+                System.out.println(" - Orders re-keyed: " + orders + ", order items re-pointed: " + items);
+
+                // 3. Rebuild the clustered index so pages are packed in key order again
+                conn.setAutoCommit(true);
+                st.execute("OPTIMIZE TABLE orders");
+                st.execute("OPTIMIZE TABLE order_items");
+                System.out.println(" - Rebuilt orders and order_items");
+            } catch (Exception e) {
+                conn.rollback();
+                throw e;
+            }
+
+            System.out.println("\n=== MIGRATION COMPLETE ===\n");
+        } finally {
+            ctx.close();
+        }
+    }
+}
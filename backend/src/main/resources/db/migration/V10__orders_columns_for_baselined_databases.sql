@@ -0,0 +1,15 @@
+-- Orders columns that V1 creates but that databases baselined at V2 never got (they skip V1): the
+-- structured delivery address and coordinates, the delivery ETA and the checkout Idempotency-Key
+-- with its unique key. Definitions match V1; columns and keys that already exist (fresh databases,
+-- or added earlier by Hibernate's ddl-auto=update) are left alone.
+
+CALL fd_add_column_if_missing('orders', 'delivery_building', 'VARCHAR(32) NULL');
+CALL fd_add_column_if_missing('orders', 'delivery_street', 'VARCHAR(255) NULL');
+CALL fd_add_column_if_missing('orders', 'delivery_city', 'VARCHAR(100) NULL');
+CALL fd_add_column_if_missing('orders', 'delivery_state', 'VARCHAR(32) NULL');
+CALL fd_add_column_if_missing('orders', 'delivery_zip', 'VARCHAR(10) NULL');
+CALL fd_add_column_if_missing('orders', 'delivery_lat', 'DOUBLE NULL');
+CALL fd_add_column_if_missing('orders', 'delivery_lng', 'DOUBLE NULL');
+CALL fd_add_column_if_missing('orders', 'estimated_delivery_at', 'DATETIME(6) NULL');
+CALL fd_add_column_if_missing('orders', 'idempotency_key', 'VARCHAR(64) NULL');
+CALL fd_add_unique_key_if_missing('orders', 'uk_orders_idempotency_key', 'idempotency_key');
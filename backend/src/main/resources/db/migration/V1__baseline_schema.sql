@@ -0,0 +1,134 @@
+-- Baseline schema: the tables Hibernate's ddl-auto=update used to create, plus the
+-- logins/approval tables that only the stored procedures touch.
+-- Existing databases are baselined past this script (spring.flyway.baseline-version).
+
+CREATE TABLE IF NOT EXISTS users (
+    user_id     VARCHAR(255) NOT NULL,
+    role_id     INT          NOT NULL,
+    first_name  VARCHAR(255) NOT NULL,
+    last_name   VARCHAR(255) NOT NULL,
+    email       VARCHAR(255) NOT NULL,
+    phone       VARCHAR(255),
+    active      TINYINT      DEFAULT 1,
+    created_at  DATETIME(6),
+    PRIMARY KEY (user_id),
+    UNIQUE KEY uk_users_email (email)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS logins (
+    username         VARCHAR(64)  NOT NULL,
+    user_id          VARCHAR(255) NOT NULL,
+    password_sha256  CHAR(64)     NOT NULL,
+    must_change      TINYINT(1)   NOT NULL DEFAULT 1,
+    created_at       DATETIME(6)  NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (username),
+    KEY idx_logins_user (user_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS restaurants (
+    restaurant_id        VARCHAR(255) NOT NULL,
+    owner_id             VARCHAR(255),
+    restaurant_name      VARCHAR(255) NOT NULL,
+    cuisine_type         VARCHAR(255),
+    email                VARCHAR(255) NOT NULL,
+    phone                VARCHAR(255) NOT NULL,
+    human_contact_name   VARCHAR(255),
+    street               VARCHAR(255),
+    city                 VARCHAR(255),
+    state                VARCHAR(255),
+    zip                  VARCHAR(255),
+    force_closed         BIT,
+    profile_picture_ref  VARCHAR(255),
+    PRIMARY KEY (restaurant_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS restaurant_hours (
+    hours_id       BIGINT       NOT NULL AUTO_INCREMENT,
+    restaurant_id  VARCHAR(255) NOT NULL,
+    weekday        INT          NOT NULL,
+    opens_at       TIME,
+    closes_at      TIME,
+    is_closed      BIT,
+    PRIMARY KEY (hours_id),
+    UNIQUE KEY uk_restaurant_hours_weekday (restaurant_id, weekday),
+    CONSTRAINT fk_restaurant_hours_restaurant FOREIGN KEY (restaurant_id) REFERENCES restaurants (restaurant_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS menu_items (
+    menu_item_id      VARCHAR(255)   NOT NULL,
+    restaurant_id     VARCHAR(255)   NOT NULL,
+    category          VARCHAR(255),
+    food_name         VARCHAR(255)   NOT NULL,
+    food_description  TEXT,
+    price             DECIMAL(10, 2) NOT NULL,
+    is_available      BIT,
+    item_picture_ref  VARCHAR(255),
+    allergens         TEXT,
+    PRIMARY KEY (menu_item_id),
+    CONSTRAINT fk_menu_items_restaurant FOREIGN KEY (restaurant_id) REFERENCES restaurants (restaurant_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS drivers (
+    driver_id          VARCHAR(255) NOT NULL,
+    first_name         VARCHAR(255),
+    last_name          VARCHAR(255),
+    assigned_to_order  TINYINT(1),
+    active             TINYINT(1),
+    created_at         DATETIME(6),
+    PRIMARY KEY (driver_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS orders (
+    order_id               VARCHAR(255) NOT NULL,
+    customer_name          VARCHAR(255),
+    delivery_address       VARCHAR(255),
+    delivery_building      VARCHAR(32),
+    delivery_street        VARCHAR(255),
+    delivery_city          VARCHAR(100),
+    delivery_state         VARCHAR(32),
+    delivery_zip           VARCHAR(10),
+    delivery_lat           DOUBLE,
+    delivery_lng           DOUBLE,
+    estimated_delivery_at  DATETIME(6),
+    status                 VARCHAR(255),
+    order_date             DATETIME(6),
+    total_amount           DOUBLE,
+    idempotency_key        VARCHAR(64),
+    restaurant_id          VARCHAR(255),
+    driver_id              VARCHAR(255),
+    PRIMARY KEY (order_id),
+    UNIQUE KEY uk_orders_idempotency_key (idempotency_key),
+    CONSTRAINT fk_orders_restaurant FOREIGN KEY (restaurant_id) REFERENCES restaurants (restaurant_id),
+    CONSTRAINT fk_orders_driver FOREIGN KEY (driver_id) REFERENCES drivers (driver_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS order_items (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    food_name  VARCHAR(255),
+    quantity   INT,
+    price      DOUBLE,
+    order_id   VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (order_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS withdraw (
+    restaurant_id         VARCHAR(255) NOT NULL,
+    withdraw_description  TEXT,
+    withdraw_status       VARCHAR(255),
+    deny_reason           TEXT,
+    requested_at          DATETIME(6),
+    decision_at           DATETIME(6),
+    PRIMARY KEY (restaurant_id),
+    CONSTRAINT fk_withdraw_restaurant FOREIGN KEY (restaurant_id) REFERENCES restaurants (restaurant_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS approval (
+    restaurant_id    VARCHAR(255) NOT NULL,
+    approval_status  VARCHAR(16)  NOT NULL DEFAULT 'pending',
+    requested_at     DATETIME(6)  NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    decided_at       DATETIME(6),
+    decided_by       VARCHAR(255),
+    PRIMARY KEY (restaurant_id),
+    CONSTRAINT fk_approval_restaurant FOREIGN KEY (restaurant_id) REFERENCES restaurants (restaurant_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,129 @@
+-- Stored routines called by the JDBC repositories (DriverRepository, StaffManagementRepository,
+-- ApprovalRepository, AuthRepository) and MenuItemRepository.createMenuItem.
+-- Procedures are called through StoredProcedure, which maps the first row of the first result set,
+-- so each procedure ends with exactly one single-row SELECT. verify_login_sha256 is a function,
+-- read with SELECT verify_login_sha256(?, ?).
+
+DROP PROCEDURE IF EXISTS sp_create_driver;
+DROP PROCEDURE IF EXISTS sp_inactivate_driver;
+DROP PROCEDURE IF EXISTS sp_create_staff;
+DROP PROCEDURE IF EXISTS sp_inactivate_staff;
+DROP PROCEDURE IF EXISTS sp_request_registration;
+DROP PROCEDURE IF EXISTS sp_decide_registration;
+DROP PROCEDURE IF EXISTS sp_owner_create_menu_item;
+DROP FUNCTION IF EXISTS verify_login_sha256;
+
+DELIMITER $$
+
+CREATE PROCEDURE sp_create_driver(IN p_first_name VARCHAR(255), IN p_last_name VARCHAR(255))
+BEGIN
+    DECLARE v_driver_id VARCHAR(255)
+        DEFAULT CONCAT('drv-', LOWER(LEFT(REPLACE(UUID(), '-', ''), 12)));
+
+    INSERT INTO drivers (driver_id, first_name, last_name, assigned_to_order, active, created_at)
+    VALUES (v_driver_id, p_first_name, p_last_name, 0, 1, NOW(6));
+
+    SELECT driver_id, first_name, last_name, active, created_at
+    FROM drivers WHERE driver_id = v_driver_id;
+END$$
+
+CREATE PROCEDURE sp_inactivate_driver(IN p_driver_id VARCHAR(255))
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM drivers WHERE driver_id = p_driver_id) THEN
+        SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = 'Driver not found';
+    END IF;
+    IF EXISTS (SELECT 1 FROM drivers WHERE driver_id = p_driver_id AND assigned_to_order = 1) THEN
+        SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = 'Driver is assigned to an order';
+    END IF;
+
+    UPDATE drivers SET active = 0 WHERE driver_id = p_driver_id;
+
+    SELECT driver_id, first_name, last_name, active FROM drivers WHERE driver_id = p_driver_id;
+END$$
+
+-- Creates the staff row and its login; the temporary password is returned once and only its hash is kept
+CREATE PROCEDURE sp_create_staff(IN p_user_id VARCHAR(255), IN p_role_id INT,
+                                 IN p_first_name VARCHAR(255), IN p_last_name VARCHAR(255),
+                                 IN p_email VARCHAR(255), IN p_phone VARCHAR(255),
+                                 IN p_username VARCHAR(64))
+BEGIN
+    DECLARE v_password VARCHAR(16) DEFAULT LEFT(SHA2(CONCAT(UUID(), RAND()), 256), 12);
+
+    IF EXISTS (SELECT 1 FROM logins WHERE username = p_username) THEN
+        SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = 'Username already exists';
+    END IF;
+
+    INSERT INTO users (user_id, role_id, first_name, last_name, email, phone, active, created_at)
+    VALUES (p_user_id, p_role_id, p_first_name, p_last_name, p_email, p_phone, 1, NOW(6));
+
+    INSERT INTO logins (username, user_id, password_sha256, must_change)
+    VALUES (p_username, p_user_id, SHA2(v_password, 256), 1);
+
+    SELECT p_user_id AS user_id, p_username AS username, v_password AS temp_password;
+END$$
+
+CREATE PROCEDURE sp_inactivate_staff(IN p_user_id VARCHAR(255))
+BEGIN
+    UPDATE users SET active = 0 WHERE user_id = p_user_id;
+    IF ROW_COUNT() = 0 AND NOT EXISTS (SELECT 1 FROM users WHERE user_id = p_user_id) THEN
+        SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = 'Staff member not found';
+    END IF;
+
+    SELECT user_id, first_name, last_name, active FROM users WHERE user_id = p_user_id;
+END$$
+
+CREATE PROCEDURE sp_request_registration(IN p_restaurant_id VARCHAR(255))
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM restaurants WHERE restaurant_id = p_restaurant_id) THEN
+        SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = 'Restaurant not found';
+    END IF;
+
+    INSERT INTO approval (restaurant_id, approval_status, requested_at)
+    VALUES (p_restaurant_id, 'pending', NOW(6))
+    ON DUPLICATE KEY UPDATE approval_status = 'pending', requested_at = NOW(6),
+                            decided_at = NULL, decided_by = NULL;
+
+    SELECT restaurant_id, approval_status, requested_at FROM approval WHERE restaurant_id = p_restaurant_id;
+END$$
+
+CREATE PROCEDURE sp_decide_registration(IN p_restaurant_id VARCHAR(255), IN p_status VARCHAR(16),
+                                        IN p_admin_id VARCHAR(255))
+BEGIN
+    IF p_status NOT IN ('approved', 'rejected') THEN
+        SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = 'Status must be approved or rejected';
+    END IF;
+
+    UPDATE approval
+    SET approval_status = p_status, decided_at = NOW(6), decided_by = p_admin_id
+    WHERE restaurant_id = p_restaurant_id AND approval_status = 'pending';
+    IF ROW_COUNT() = 0 THEN
+        SIGNAL SQLSTATE '45000' SET MESSAGE_TEXT = 'No pending registration for this restaurant';
+    END IF;
+
+    SELECT restaurant_id, approval_status, decided_at, decided_by FROM approval WHERE restaurant_id = p_restaurant_id;
+END$$
+
+CREATE PROCEDURE sp_owner_create_menu_item(IN p_restaurant_id VARCHAR(255), IN p_category VARCHAR(255),
+                                           IN p_name VARCHAR(255), IN p_description TEXT,
+                                           IN p_price DOUBLE, IN p_available BIT)
+BEGIN
+    INSERT INTO menu_items (menu_item_id, restaurant_id, category, food_name, food_description, price, is_available)
+    VALUES (CONCAT('itm-', LOWER(LEFT(REPLACE(UUID(), '-', ''), 12))), p_restaurant_id, p_category,
+            p_name, p_description, p_price, COALESCE(p_available, 1));
+END$$
+
+CREATE FUNCTION verify_login_sha256(p_username VARCHAR(64), p_plain VARCHAR(255))
+RETURNS INT
+READS SQL DATA
+BEGIN
+    RETURN EXISTS (
+        SELECT 1
+        FROM logins l
+        JOIN users u ON u.user_id = l.user_id
+        WHERE l.username = p_username
+          AND l.password_sha256 = SHA2(p_plain, 256)
+          AND COALESCE(u.active, 1) = 1
+    );
+END$$
+
+DELIMITER ;
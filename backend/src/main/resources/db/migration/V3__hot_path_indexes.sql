@@ -0,0 +1,25 @@
+-- Indexes for the repository finders and hot predicates (fd_add_index_if_missing: see beforeMigrate.sql).
+
+-- Orders: staff queue / archival by status, per-restaurant history (keyset on order_date, order_id)
+CALL fd_add_index_if_missing('orders', 'idx_orders_status_date', 'status, order_date');
+CALL fd_add_index_if_missing('orders', 'idx_orders_restaurant_date', 'restaurant_id, order_date, order_id');
+CALL fd_add_index_if_missing('orders', 'idx_orders_driver', 'driver_id');
+CALL fd_add_index_if_missing('order_items', 'idx_order_items_order', 'order_id');
+
+-- Menu: by category (+ availability), available-only listing and counts
+CALL fd_add_index_if_missing('menu_items', 'idx_menu_items_restaurant_category', 'restaurant_id, category, is_available');
+CALL fd_add_index_if_missing('menu_items', 'idx_menu_items_restaurant_available', 'restaurant_id, is_available');
+
+-- Restaurants: owner lookup, listing filters (resume after restaurant_id), name prefix, email checks
+CALL fd_add_index_if_missing('restaurants', 'idx_restaurants_owner', 'owner_id');
+CALL fd_add_index_if_missing('restaurants', 'idx_restaurants_city', 'city, restaurant_id');
+CALL fd_add_index_if_missing('restaurants', 'idx_restaurants_cuisine', 'cuisine_type, restaurant_id');
+CALL fd_add_index_if_missing('restaurants', 'idx_restaurants_name', 'restaurant_name');
+CALL fd_add_index_if_missing('restaurants', 'idx_restaurants_email', 'email');
+
+-- Withdrawal and registration queues, oldest first
+CALL fd_add_index_if_missing('withdraw', 'idx_withdraw_status_requested', 'withdraw_status, requested_at');
+CALL fd_add_index_if_missing('approval', 'idx_approval_status_requested', 'approval_status, requested_at');
+
+-- Staff by role
+CALL fd_add_index_if_missing('users', 'idx_users_role', 'role_id');
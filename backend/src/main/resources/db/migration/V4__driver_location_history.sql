@@ -0,0 +1,12 @@
+-- Downsampled driver positions written in batches by DriverLocationService (latest positions live in memory).
+-- No foreign key on driver_id: this is an append-only, high-volume log and rows outlive inactivated drivers.
+
+CREATE TABLE IF NOT EXISTS driver_location_history (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    driver_id    VARCHAR(255) NOT NULL,
+    latitude     DOUBLE       NOT NULL,
+    longitude    DOUBLE       NOT NULL,
+    recorded_at  DATETIME(3)  NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_driver_location_history_driver (driver_id, recorded_at)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
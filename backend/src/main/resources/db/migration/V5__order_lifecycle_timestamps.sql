@@ -0,0 +1,10 @@
+-- Lifecycle timestamps on orders: set by OrderService when a driver is assigned, picks up and delivers.
+-- Existing rows keep NULLs (their history was never recorded). Archive tables pick the columns up
+-- when OrderArchiveRepository next copies into them.
+
+CALL fd_add_column_if_missing('orders', 'assigned_at', 'DATETIME(6) NULL');
+CALL fd_add_column_if_missing('orders', 'picked_up_at', 'DATETIME(6) NULL');
+CALL fd_add_column_if_missing('orders', 'delivered_at', 'DATETIME(6) NULL');
+
+-- DeliveryStatsService reloads recent deliveries at startup with a range scan on this index
+CREATE INDEX idx_orders_delivered_at ON orders (delivered_at);
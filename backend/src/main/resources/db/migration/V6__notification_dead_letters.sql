@@ -0,0 +1,17 @@
+-- Notifications that NotificationDispatcher gave up on after max-attempts; kept for inspection and replay
+-- from /api/admin/notifications/dead-letters.
+
+CREATE TABLE IF NOT EXISTS notification_dead_letter (
+    id          BIGINT        NOT NULL AUTO_INCREMENT,
+    order_id    VARCHAR(255),
+    channel     VARCHAR(16)   NOT NULL,
+    recipient   VARCHAR(255)  NOT NULL,
+    subject     VARCHAR(255),
+    body        TEXT,
+    attempts    INT           NOT NULL,
+    last_error  VARCHAR(1000),
+    created_at  DATETIME(3)   NOT NULL,
+    failed_at   DATETIME(3)   NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_notification_dead_letter_failed (failed_at)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,3 @@
+-- Order exports by date range over all restaurants (OrderExportService) scan this index on the live
+-- table; archive tables get the same index when OrderArchiveRepository creates them.
+CREATE INDEX idx_orders_date ON orders (order_date, order_id);
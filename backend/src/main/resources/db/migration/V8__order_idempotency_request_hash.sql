@@ -0,0 +1,5 @@
+-- Hash of the checkout request an Idempotency-Key was first used with. A retry with the same key
+-- but a different request is rejected instead of getting the earlier order back. Orders placed
+-- before this column existed keep NULL and are replayed without the check.
+
+CALL fd_add_column_if_missing('orders', 'idempotency_request_hash', 'CHAR(64) NULL');
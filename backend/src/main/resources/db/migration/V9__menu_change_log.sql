@@ -0,0 +1,18 @@
+-- Menu versions and recent item changes for GET /api/menu/restaurant/{id}/changes (MenuChangeLog).
+-- Kept in the database so every instance hands out the same versions. menu_version holds the
+-- current version per restaurant; bumping it locks that row until commit, so versions are
+-- committed in order. menu_change_log has one row per version (oldest rows are pruned).
+
+CREATE TABLE IF NOT EXISTS menu_version (
+    restaurant_id  VARCHAR(255)  NOT NULL,
+    version        BIGINT        NOT NULL,
+    PRIMARY KEY (restaurant_id)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
+
+CREATE TABLE IF NOT EXISTS menu_change_log (
+    restaurant_id  VARCHAR(255)  NOT NULL,
+    version        BIGINT        NOT NULL,
+    change_type    VARCHAR(16)   NOT NULL,
+    menu_item_id   VARCHAR(255),
+    PRIMARY KEY (restaurant_id, version)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4;
@@ -0,0 +1,4 @@
+-- Drops the helpers beforeMigrate.sql created, so they do not stay in the schema
+DROP PROCEDURE IF EXISTS fd_add_column_if_missing;
+DROP PROCEDURE IF EXISTS fd_add_index_if_missing;
+DROP PROCEDURE IF EXISTS fd_add_unique_key_if_missing;
@@ -0,0 +1,70 @@
+-- Helper procedures for the versioned migrations, created before every migrate run and dropped
+-- again by afterMigrate.sql. Each one only changes the schema when the change is missing, so the
+-- migrations also work on databases baselined from a hand-made or Hibernate-generated schema.
+
+DROP PROCEDURE IF EXISTS fd_add_column_if_missing;
+DROP PROCEDURE IF EXISTS fd_add_index_if_missing;
+DROP PROCEDURE IF EXISTS fd_add_unique_key_if_missing;
+
+DELIMITER $$
+
+-- Skipped when the table already has a column with that name
+CREATE PROCEDURE fd_add_column_if_missing(IN p_table VARCHAR(64), IN p_column VARCHAR(64), IN p_definition VARCHAR(255))
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.COLUMNS
+                   WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = p_table AND COLUMN_NAME = p_column) THEN
+        SET @fd_ddl = CONCAT('ALTER TABLE ', p_table, ' ADD COLUMN ', p_column, ' ', p_definition);
+        PREPARE stmt FROM @fd_ddl;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END$$
+
+-- Skipped when an index with that name exists, or when an existing index already starts with the same
+-- columns (e.g. created earlier by Hibernate under another name). Also skipped when the table lacks
+-- one of the columns.
+CREATE PROCEDURE fd_add_index_if_missing(IN p_table VARCHAR(64), IN p_index VARCHAR(64), IN p_columns VARCHAR(255))
+BEGIN
+    DECLARE v_wanted VARCHAR(255) DEFAULT REPLACE(p_columns, ' ', '');
+
+    IF (SELECT COUNT(*) FROM information_schema.COLUMNS
+        WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = p_table
+          AND FIND_IN_SET(COLUMN_NAME, v_wanted) > 0)
+       = LENGTH(v_wanted) - LENGTH(REPLACE(v_wanted, ',', '')) + 1
+    AND NOT EXISTS (
+        SELECT 1
+        FROM (SELECT INDEX_NAME, GROUP_CONCAT(COLUMN_NAME ORDER BY SEQ_IN_INDEX) AS cols
+              FROM information_schema.STATISTICS
+              WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = p_table
+              GROUP BY INDEX_NAME) existing
+        WHERE existing.INDEX_NAME = p_index
+           OR existing.cols = v_wanted
+           OR existing.cols LIKE CONCAT(v_wanted, ',%')
+    ) THEN
+        SET @fd_ddl = CONCAT('CREATE INDEX ', p_index, ' ON ', p_table, ' (', p_columns, ')');
+        PREPARE stmt FROM @fd_ddl;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END$$
+
+-- Skipped when a key with that name, or any unique key on exactly these columns, already exists
+CREATE PROCEDURE fd_add_unique_key_if_missing(IN p_table VARCHAR(64), IN p_key VARCHAR(64), IN p_columns VARCHAR(255))
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1
+        FROM (SELECT INDEX_NAME, MIN(NON_UNIQUE) AS non_unique, GROUP_CONCAT(COLUMN_NAME ORDER BY SEQ_IN_INDEX) AS cols
+              FROM information_schema.STATISTICS
+              WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = p_table
+              GROUP BY INDEX_NAME) existing
+        WHERE existing.INDEX_NAME = p_key
+           OR (existing.non_unique = 0 AND existing.cols = REPLACE(p_columns, ' ', ''))
+    ) THEN
+        SET @fd_ddl = CONCAT('ALTER TABLE ', p_table, ' ADD CONSTRAINT ', p_key, ' UNIQUE (', p_columns, ')');
+        PREPARE stmt FROM @fd_ddl;
+        EXECUTE stmt;
+        DEALLOCATE PREPARE stmt;
+    END IF;
+END$$
+
+DELIMITER ;
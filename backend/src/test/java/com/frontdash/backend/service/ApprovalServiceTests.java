@@ -0,0 +1,98 @@
+package com.frontdash.backend.service;
+
+import com.frontdash.backend.entity.ApprovalPage;
+import com.frontdash.backend.entity.ApprovalRecord;
+import com.frontdash.backend.repository.ApprovalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ApprovalServiceTests {
+
+	private static final LocalDateTime T0 = LocalDateTime.of(2026, 10, 1, 9, 0);
+
+	private final ApprovalRepository repo = mock(ApprovalRepository.class);
+	private final ApprovalService service = new ApprovalService(repo, mock(PendingApprovals.class),
+			mock(RestaurantCacheWarmer.class), mock(PlatformTransactionManager.class));
+
+	private final List<ApprovalRecord> pending = new ArrayList<>();
+
+	// Stands in for the keyset query: pending rows after (requestedAt, restaurantId), oldest first
+	@BeforeEach
+	void keysetRepository() {
+		when(repo.findPending(any(), any(), anyInt())).thenAnswer(invocation -> {
+			LocalDateTime afterRequestedAt = invocation.getArgument(0);
+			String afterId = invocation.getArgument(1);
+			int limit = invocation.getArgument(2);
+			return pending.stream()
+					.sorted(Comparator.comparing(ApprovalRecord::requestedAt).thenComparing(ApprovalRecord::restaurantId))
+					.filter(r -> afterRequestedAt == null || r.requestedAt().isAfter(afterRequestedAt)
+							|| r.requestedAt().isEqual(afterRequestedAt) && r.restaurantId().compareTo(afterId) > 0)
+					.limit(limit)
+					.toList();
+		});
+	}
+
+	@Test
+	void pagesVisitEveryPendingRowOnceIncludingTies() {
+		// Three restaurants requested in the same second, so the id has to break the tie
+		pending.add(record("REST-C", T0));
+		pending.add(record("REST-A", T0));
+		pending.add(record("REST-B", T0));
+		pending.add(record("REST-D", T0.plusMinutes(1)));
+		pending.add(record("REST-E", T0.plusMinutes(2)));
+
+		List<String> seen = new ArrayList<>();
+		List<String> cursors = new ArrayList<>();
+		String after = null;
+		do {
+			ApprovalPage page = service.getPendingPage(after, 2);
+			page.items().forEach(r -> seen.add(r.restaurantId()));
+			after = page.nextCursor();
+			cursors.add(after);
+		} while (after != null);
+
+		assertEquals(List.of("REST-A", "REST-B", "REST-C", "REST-D", "REST-E"), seen);
+		assertEquals(List.of(T0 + "_REST-B", T0.plusMinutes(1) + "_REST-D"), cursors.subList(0, 2));
+		assertNull(cursors.get(2));
+	}
+
+	@Test
+	void exactlyFullLastPageHasNoCursor() {
+		pending.add(record("REST-A", T0));
+		pending.add(record("REST-B", T0.plusMinutes(1)));
+
+		ApprovalPage page = service.getPendingPage(null, 2);
+
+		assertEquals(2, page.items().size());
+		assertNull(page.nextCursor());
+		// One row past the page tells whether there is a next one
+		verify(repo).findPending(isNull(), isNull(), eq(3));
+	}
+
+	@Test
+	void malformedCursorIsRejected() {
+		assertThrows(RuntimeException.class, () -> service.getPendingPage("REST-A", 2));
+		assertThrows(RuntimeException.class, () -> service.getPendingPage("yesterday_REST-A", 2));
+	}
+
+	private static ApprovalRecord record(String restaurantId, LocalDateTime requestedAt) {
+		return new ApprovalRecord(restaurantId, "pending", requestedAt, null, null);
+	}
+}
@@ -0,0 +1,115 @@
+package com.frontdash.backend.service;
+
+import com.frontdash.backend.entity.DriverRecord;
+import com.frontdash.backend.repository.DriverRepository;
+import com.frontdash.backend.repository.StaffManagementRepository;
+import com.frontdash.backend.service.BulkOnboardingService.BulkResult;
+import com.frontdash.backend.service.BulkOnboardingService.RowOutcome;
+import com.frontdash.backend.service.MenuImportService.Format;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BulkOnboardingServiceTests {
+
+	private final DriverRepository driverRepository = mock(DriverRepository.class);
+	private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+	private final BulkOnboardingService service = new BulkOnboardingService(driverRepository,
+			mock(StaffManagementRepository.class), transactionManager);
+
+	// Sizes of the batches the procedure was called with, in call order
+	private final List<Integer> calls = new ArrayList<>();
+
+	@BeforeEach
+	void procedureRefusesLastNameRefused() {
+		when(driverRepository.createDrivers(any())).thenAnswer(invocation -> {
+			List<Object[]> rows = invocation.getArgument(0);
+			calls.add(rows.size());
+			List<DriverRecord> created = new ArrayList<>();
+			for (Object[] row : rows) {
+				if ("Refused".equals(row[1])) {
+					throw new DataIntegrityViolationException("driver refused");
+				}
+				created.add(new DriverRecord("drv-" + row[0], (String) row[0], (String) row[1], true, null));
+			}
+			return created;
+		});
+	}
+
+	@Test
+	void failedChunkIsRedoneRowByRow() {
+		BulkResult result = service.createDrivers(upload("firstName,lastName\nAda,Lovelace\nBob,Refused\n,Nameless\nCy,Young\n"),
+				Format.CSV);
+
+		assertEquals(4, result.rowsRead());
+		assertEquals(2, result.succeeded());
+		assertEquals(2, result.failed());
+		assertNull(result.error());
+		// One call for the chunk of three valid rows, then one per row
+		assertEquals(List.of(3, 1, 1, 1), calls);
+		assertOutcome(result.rows().get(0), 1, "created", null);
+		assertOutcome(result.rows().get(1), 2, "failed", "driver refused");
+		assertOutcome(result.rows().get(2), 3, "failed", "firstName is required");
+		assertOutcome(result.rows().get(3), 4, "created", null);
+	}
+
+	@Test
+	void fullChunksAreSentAsTheyFill() {
+		StringBuilder upload = new StringBuilder("firstName,lastName\n");
+		for (int i = 0; i < BulkOnboardingService.CHUNK_SIZE + 5; i++) {
+			upload.append("Driver").append(i).append(",Smith\n");
+		}
+
+		BulkResult result = service.createDrivers(upload(upload.toString()), Format.CSV);
+
+		assertEquals(BulkOnboardingService.CHUNK_SIZE + 5, result.succeeded());
+		assertEquals(List.of(BulkOnboardingService.CHUNK_SIZE, 5), calls);
+	}
+
+	@Test
+	void rowsBeforeAParseErrorAreStillSentAndReported() {
+		BulkResult result = service.createDrivers(upload("firstName,lastName\nAda,Lovelace\nCy,Young\n\"Bob,Smith\n"),
+				Format.CSV);
+
+		assertEquals(2, result.succeeded());
+		assertEquals(0, result.failed());
+		assertTrue(result.error().startsWith("Unterminated quoted field"), result.error());
+		assertEquals(List.of(2), calls);
+		assertEquals(2, result.rows().size());
+		assertFalse(result.truncated());
+	}
+
+	@Test
+	void jsonRowsThatAreNotObjectsFailOnTheirOwn() {
+		BulkResult result = service.createDrivers(upload("[{\"firstName\":\"Ada\",\"lastName\":\"Lovelace\"}, 42]"),
+				Format.JSON);
+
+		assertEquals(1, result.succeeded());
+		assertOutcome(result.rows().get(1), 2, "failed", "row must be a JSON object");
+	}
+
+	private static void assertOutcome(RowOutcome outcome, long row, String status, String error) {
+		assertEquals(row, outcome.row());
+		assertEquals(status, outcome.status());
+		assertEquals(error, outcome.error());
+	}
+
+	private static InputStream upload(String text) {
+		return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+	}
+}
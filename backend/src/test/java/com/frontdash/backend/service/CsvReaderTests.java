@@ -0,0 +1,38 @@
+package com.frontdash.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CsvReaderTests {
+
+	@Test
+	void formulaCellsAreExportedAsText() {
+		assertEquals("'=SUM(A1:A9)", CsvReader.quoteCell("=SUM(A1:A9)"));
+		assertEquals("'+1", CsvReader.quoteCell("+1"));
+		assertEquals("'-1", CsvReader.quoteCell("-1"));
+		assertEquals("'@cmd", CsvReader.quoteCell("@cmd"));
+		assertEquals("\"'=HYPERLINK(\"\"x\"\",\"\"y\"\")\"", CsvReader.quoteCell("=HYPERLINK(\"x\",\"y\")"));
+		assertEquals("Fried chicken", CsvReader.quoteCell("Fried chicken"));
+		assertEquals("", CsvReader.quoteCell(null));
+	}
+
+	@Test
+	void exportedCellsReadBackUnchanged() throws Exception {
+		List<String> values = List.of("=1+1", "-spicy-", "plain", "'quoted", "a,b");
+		StringBuilder line = new StringBuilder();
+		for (String value : values) {
+			line.append(line.length() == 0 ? "" : ",").append(CsvReader.quoteCell(value));
+		}
+
+		CsvReader csv = new CsvReader(new StringReader(line + "\r\n"));
+		List<String> record = csv.next();
+
+		assertEquals(values, record.stream().map(CsvReader::unquoteCell).toList());
+		assertNull(csv.next());
+	}
+}
@@ -0,0 +1,90 @@
+package com.frontdash.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DriverLocationStoreTests {
+
+	@Test
+	void updatesNeedASlotAndLateUpdatesAreIgnored() {
+		DriverLocationStore store = new DriverLocationStore(2, 30_000, 16);
+		double[] position = new double[3];
+
+		assertFalse(store.update("d1", 42.0, -71.0, 1_000));
+		assertTrue(store.register("d1"));
+		assertFalse(store.latest("d1", position));
+
+		assertTrue(store.update("d1", 42.0, -71.0, 2_000));
+		assertTrue(store.update("d1", 43.0, -72.0, 1_500));
+		assertTrue(store.latest("d1", position));
+		assertArrayEquals(new double[] {42.0, -71.0, 2_000}, position);
+	}
+
+	@Test
+	void registerFailsWhenFull() {
+		DriverLocationStore store = new DriverLocationStore(2, 30_000, 16);
+
+		assertTrue(store.register("d1"));
+		assertTrue(store.register("d2"));
+		assertTrue(store.register("d1"));
+		assertFalse(store.register("d3"));
+		assertEquals(2, store.trackedDrivers());
+	}
+
+	@Test
+	void nearestIsOrderedAndSkipsStalePositions() {
+		DriverLocationStore store = new DriverLocationStore(8, 30_000, 16);
+		// Roughly 3, 2, 1 and 0.5 km north of the origin; "stale" last reported before the cutoff
+		report(store, "far", 42.027, 5_000);
+		report(store, "middle", 42.018, 5_000);
+		report(store, "near", 42.009, 5_000);
+		report(store, "stale", 42.0045, 1_000);
+
+		String[] ids = new String[2];
+		double[] distances = new double[2];
+		int found = store.nearest(42.0, -71.0, 2_000, ids, distances);
+
+		assertEquals(2, found);
+		assertArrayEquals(new String[] {"near", "middle"}, ids);
+		assertEquals(1.0, distances[0], 0.05);
+		assertEquals(2.0, distances[1], 0.05);
+	}
+
+	@Test
+	void historyIsSampledPerIntervalAndDrainedOldestFirst() {
+		DriverLocationStore store = new DriverLocationStore(4, 30_000, 16);
+		report(store, "d1", 42.0, 0);
+		report(store, "d1", 42.1, 10_000);
+		report(store, "d1", 42.2, 30_000);
+
+		List<Long> times = new ArrayList<>();
+		assertEquals(2, store.drainHistory(10, (id, lat, lng, at) -> times.add(at)));
+		assertEquals(List.of(0L, 30_000L), times);
+		assertEquals(0, store.drainHistory(10, (id, lat, lng, at) -> times.add(at)));
+	}
+
+	@Test
+	void fullHistoryRingDropsTheOldestPoints() {
+		DriverLocationStore store = new DriverLocationStore(4, 0, 2);
+		report(store, "d1", 42.0, 1);
+		report(store, "d1", 42.0, 2);
+		report(store, "d1", 42.0, 3);
+
+		List<Long> times = new ArrayList<>();
+		store.drainHistory(10, (id, lat, lng, at) -> times.add(at));
+		assertEquals(List.of(2L, 3L), times);
+		assertEquals(1, store.getDroppedHistory());
+	}
+
+	private static void report(DriverLocationStore store, String driverId, double latitude, long recordedAt) {
+		store.register(driverId);
+		store.update(driverId, latitude, -71.0, recordedAt);
+	}
+}
@@ -0,0 +1,73 @@
+package com.frontdash.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencySketchTests {
+
+	@Test
+	void emptySketchReportsOnlyTheCount() {
+		LatencySketch sketch = new LatencySketch();
+
+		assertEquals(0, sketch.percentile(0.99));
+		assertEquals(Map.of("count", 0L), sketch.summary());
+	}
+
+	@Test
+	void smallValuesAreExact() {
+		LatencySketch sketch = new LatencySketch();
+		for (int seconds = 1; seconds <= 20; seconds++) {
+			sketch.record(seconds);
+		}
+
+		assertEquals(10, sketch.percentile(0.50));
+		assertEquals(18, sketch.percentile(0.90));
+		assertEquals(20, sketch.percentile(1.0));
+	}
+
+	@Test
+	void largeValuesStayWithinBucketError() {
+		LatencySketch sketch = new LatencySketch();
+		for (int seconds = 1; seconds <= 3600; seconds++) {
+			sketch.record(seconds);
+		}
+
+		for (double q : new double[] {0.50, 0.90, 0.95, 0.99}) {
+			double exact = Math.ceil(q * 3600);
+			double error = Math.abs(sketch.percentile(q) - exact) / exact;
+			assertTrue(error <= 0.035, "p" + q + " was " + sketch.percentile(q) + ", expected about " + exact);
+		}
+	}
+
+	@Test
+	void mergeMatchesRecordingEverythingInOneSketch() {
+		LatencySketch all = new LatencySketch();
+		LatencySketch even = new LatencySketch();
+		LatencySketch odd = new LatencySketch();
+		for (int seconds = 0; seconds < 5000; seconds += 7) {
+			all.record(seconds);
+			(seconds % 2 == 0 ? even : odd).record(seconds);
+		}
+
+		even.merge(odd);
+
+		assertEquals(all.getCount(), even.getCount());
+		assertEquals(all.summary(), even.summary());
+	}
+
+	@Test
+	void outOfRangeValuesAreClamped() {
+		LatencySketch sketch = new LatencySketch();
+		sketch.record(-5);
+		sketch.record(LatencySketch.MAX_SECONDS * 10);
+
+		assertEquals(0, sketch.percentile(0.01));
+		assertEquals(LatencySketch.MAX_SECONDS, sketch.percentile(1.0));
+		assertEquals(0.0, sketch.summary().get("minMinutes"));
+		assertEquals(LatencySketch.MAX_SECONDS / 60.0, sketch.summary().get("maxMinutes"));
+	}
+}
@@ -0,0 +1,131 @@
+package com.frontdash.backend.service;
+
+import com.frontdash.backend.repository.OrderArchiveRepository;
+import com.frontdash.backend.repository.OrderArchiveRepository.ExportRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderExportServiceTests {
+
+	private static final LocalDate FROM = LocalDate.of(2026, 10, 1);
+	private static final LocalDate TO = LocalDate.of(2026, 10, 31);
+	private static final LocalDateTime PLACED = LocalDateTime.of(2026, 10, 5, 12, 0);
+
+	private final OrderArchiveRepository repo = mock(OrderArchiveRepository.class);
+	private final OrderExportService service = new OrderExportService(repo, mock(PlatformTransactionManager.class));
+
+	// Rows each partition (archive month, or null for the live table) streams, and the partitions read
+	private final Map<String, List<ExportRow>> partitions = new HashMap<>();
+	private final List<String> read = new ArrayList<>();
+
+	@BeforeEach
+	void partitionedRepository() {
+		when(repo.findArchiveMonths()).thenReturn(List.of("202611", "202610", "202609"));
+		doAnswer(invocation -> {
+			String month = invocation.getArgument(0);
+			Consumer<ExportRow> consumer = invocation.getArgument(5);
+			read.add(month);
+			partitions.getOrDefault(month, List.of()).forEach(consumer);
+			return null;
+		}).when(repo).forEachForExport(any(), any(), any(), isNull(), anyInt(), any());
+
+		partitions.put("202610", List.of(
+				row("ord-a", "Ann", "Nuggets", 3, 5.99),
+				row("ord-a", "Ann", "Combo", 1, 23.99)));
+		partitions.put(OrderArchiveRepository.LIVE, List.of(
+				row("ord-b", "Bob", null, null, null),
+				row("ord-c", "=HYPERLINK(\"x\")", "Wings", 2, 8.5)));
+	}
+
+	@Test
+	void ndjsonHasOneLinePerOrderWithItsItems() throws Exception {
+		String out = export(OrderExportService.Format.NDJSON);
+
+		assertEquals(Arrays.asList("202610", OrderArchiveRepository.LIVE), read);
+		String[] lines = out.split("\n");
+		assertEquals(3, lines.length);
+		assertTrue(lines[0].startsWith("{\"orderId\":\"ord-a\""), lines[0]);
+		assertTrue(lines[0].endsWith("\"archived\":true,\"items\":[{\"name\":\"Nuggets\",\"quantity\":3,\"price\":5.99},"
+				+ "{\"name\":\"Combo\",\"quantity\":1,\"price\":23.99}]}"), lines[0]);
+		assertTrue(lines[1].startsWith("{\"orderId\":\"ord-b\""), lines[1]);
+		assertTrue(lines[1].endsWith("\"archived\":false,\"items\":[]}"), lines[1]);
+		assertTrue(lines[2].contains("\"customerName\":\"=HYPERLINK(\\\"x\\\")\""), lines[2]);
+	}
+
+	@Test
+	void csvHasOneLinePerItemAndNeutralisesFormulas() throws Exception {
+		String out = export(OrderExportService.Format.CSV);
+
+		String[] lines = out.split("\r\n");
+		assertEquals(5, lines.length);
+		assertTrue(lines[0].startsWith("orderId,restaurantId,customerName"), lines[0]);
+		assertEquals("ord-a,REST-ACM,Ann,DELIVERED,drv-1," + PLACED + ",10.0,true,Nuggets,3,5.99", lines[1]);
+		assertEquals("ord-a,REST-ACM,Ann,DELIVERED,drv-1," + PLACED + ",10.0,true,Combo,1,23.99", lines[2]);
+		assertEquals("ord-b,REST-ACM,Bob,DELIVERED,drv-1," + PLACED + ",10.0,false,,,", lines[3]);
+		assertEquals("ord-c,REST-ACM,\"'=HYPERLINK(\"\"x\"\")\",DELIVERED,drv-1," + PLACED + ",10.0,false,Wings,2,8.5",
+				lines[4]);
+	}
+
+	@Test
+	void failureAfterRowsWereSentEndsWithAnErrorRecord() {
+		doAnswer(invocation -> {
+			Consumer<ExportRow> consumer = invocation.getArgument(5);
+			consumer.accept(row("ord-d", "Dee", "Fries", 1, 3.0));
+			throw new IllegalStateException("connection lost");
+		}).when(repo).forEachForExport(isNull(), any(), any(), isNull(), anyInt(), any());
+
+		ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+		assertThrows(IllegalStateException.class,
+				() -> service.exportOrders(FROM, TO, null, OrderExportService.Format.NDJSON, ndjson));
+		String[] lines = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+		assertEquals("{\"error\":\"Export failed after 2 orders; the output is incomplete\"}", lines[lines.length - 1]);
+
+		ByteArrayOutputStream csv = new ByteArrayOutputStream();
+		assertThrows(IllegalStateException.class,
+				() -> service.exportOrders(FROM, TO, null, OrderExportService.Format.CSV, csv));
+		lines = csv.toString(StandardCharsets.UTF_8).split("\r\n");
+		assertEquals("error,Export failed after 2 orders; the output is incomplete,,,,,,,,,", lines[lines.length - 1]);
+	}
+
+	@Test
+	void formatNamesMustMatchExactly() {
+		assertEquals(OrderExportService.Format.NDJSON, OrderExportService.Format.of("ndjson"));
+		assertEquals(OrderExportService.Format.CSV, OrderExportService.Format.of("csv"));
+		assertThrows(RuntimeException.class, () -> OrderExportService.Format.of("json"));
+		assertThrows(RuntimeException.class, () -> OrderExportService.Format.of("text/csv"));
+		assertThrows(RuntimeException.class, () -> OrderExportService.Format.of(null));
+	}
+
+	private String export(OrderExportService.Format format) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		service.exportOrders(FROM, TO, null, format, out);
+		return out.toString(StandardCharsets.UTF_8);
+	}
+
+	private static ExportRow row(String orderId, String customerName, String foodName, Integer quantity, Double price) {
+		return new ExportRow(orderId, "REST-ACM", customerName, "DELIVERED", "drv-1", PLACED, 10.0,
+				foodName, quantity, price);
+	}
+}
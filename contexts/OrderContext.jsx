@@ -88,6 +88,7 @@ function mapOrderToBackendRequest(order) {
       subtotal: order.charges.subtotal,
       tax: order.charges.tax,
       fees: order.charges.fees,
+      tip: order.charges.tip,
       total: order.charges.total,
     },
     items: order.items.map((item) => ({
@@ -207,6 +208,7 @@ export function OrderProvider({ children }) {
       const now = new Date().toISOString();
       const order = {
         id: orderId,
+        idempotencyKey: crypto.randomUUID(),
         status: ORDER_STATUS.NEW,
         restaurantId: payload.restaurantId,
         restaurantName: payload.restaurantName,
@@ -249,7 +251,11 @@ export function OrderProvider({ children }) {
         const backendPayload = mapOrderToBackendRequest(createdOrder);
         const resp = await fetch(`${API_BASE}/api/orders`, {
           method: 'POST',
-          headers: { 'Content-Type': 'application/json' },
+          headers: {
+            'Content-Type': 'application/json',
+            // Same key on every retry so the backend never creates a duplicate order
+            'Idempotency-Key': createdOrder.idempotencyKey,
+          },
           body: JSON.stringify(backendPayload),
         });
 
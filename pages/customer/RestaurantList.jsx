@@ -85,8 +85,10 @@ export default function RestaurantList() {
                   
                   // IMAGE LOGIC: Use DB image if exists, otherwise use Unsplash
                   // We add 'index' to the URL to prevent all images looking identical
-                  const imageUrl = restaurant.profilePictureRef 
-                    ? restaurant.profilePictureRef 
+                  // Uploaded pictures are stored as content hashes; list cards use the small thumbnail
+                  const ref = restaurant.profilePictureRef;
+                  const imageUrl = ref
+                    ? (/^[0-9a-f]{64}$/.test(ref) ? `http://localhost:8080/api/images/${ref}/thumb` : ref)
                     : `https://images.unsplash.com/photo-1504674900247-0877df9cc836?auto=format&fit=crop&w=800&q=80`; 
 
                   return (